@@ -0,0 +1,59 @@
+package bench;
+
+import core.ArrayPSO;
+import core.Particle;
+import core.SimplePSO;
+import functions.Function4;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compara la memoria reservada por {@link SimplePSO} y {@link ArrayPSO} para la misma
+ * configuración y semilla, y comprueba que ambos devuelven la misma solución.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.AllocationComparison [partículas] [iteraciones]}
+ * </p>
+ */
+public class AllocationComparison {
+    public static void main(String[] args) {
+        int particles = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long seed = 42L;
+        var problem = new Function4();
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        // Calentamiento para que ambos motores estén compilados por el JIT
+        for (int k = 0; k < 3; k++) {
+            SimplePSO s = new SimplePSO(particles, iterations / 4 + 1, 0.7, 1.4, 1.4, problem);
+            s.setSeed(seed);
+            s.run();
+            ArrayPSO a = new ArrayPSO(particles, iterations / 4 + 1, 0.7, 1.4, 1.4, problem);
+            a.setSeed(seed);
+            a.run();
+        }
+
+        SimplePSO simple = new SimplePSO(particles, iterations, 0.7, 1.4, 1.4, problem);
+        simple.setSeed(seed);
+        long b0 = mx.getThreadAllocatedBytes(tid);
+        long t0 = System.nanoTime();
+        Particle r1 = simple.run();
+        long t1 = System.nanoTime();
+        long b1 = mx.getThreadAllocatedBytes(tid);
+
+        ArrayPSO array = new ArrayPSO(particles, iterations, 0.7, 1.4, 1.4, problem);
+        array.setSeed(seed);
+        long b2 = mx.getThreadAllocatedBytes(tid);
+        long t2 = System.nanoTime();
+        Particle r2 = array.run();
+        long t3 = System.nanoTime();
+        long b3 = mx.getThreadAllocatedBytes(tid);
+
+        long steps = (long) particles * iterations;
+        System.out.println("Motor;Tiempo (ms);Bytes reservados;Bytes/paso");
+        System.out.printf("SimplePSO;%.1f;%d;%.2f%n", (t1 - t0) / 1e6, b1 - b0, (double) (b1 - b0) / steps);
+        System.out.printf("ArrayPSO;%.1f;%d;%.2f%n", (t3 - t2) / 1e6, b3 - b2, (double) (b3 - b2) / steps);
+        System.out.println("Mismo resultado: " + r1.equals(r2) + " " + r1);
+    }
+}
@@ -0,0 +1,127 @@
+package bench;
+
+import core.ParetoArchive;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de inserción en el archivo de Pareto: {@link ParetoArchive} (ND-tree y rejilla
+ * de hipercubos) frente a un archivo lineal que compara cada candidato con todas las
+ * soluciones y trunca por distancia de hacinamiento (crowding distance), como en NSGA-II.
+ * <p>
+ * Los candidatos imitan una ejecución: puntos cerca de un frente esférico, con un ruido
+ * que decrece a lo largo de la secuencia, de modo que al principio la mayoría son
+ * dominados y al final casi todos entran en el archivo y desplazan a otros. Cada
+ * invocación inserta la secuencia entera en un archivo vacío; el tiempo es por inserción.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchiveBenchmark {
+    private static final int POINTS = 20_000;
+
+    @Param({ "2", "3" })
+    public int objectives;
+
+    @Param({ "100", "1000" })
+    public int capacity;
+
+    private double[] candidates;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rand = new Random(1);
+        candidates = new double[POINTS * objectives];
+        for (int i = 0; i < POINTS; i++) {
+            double norm = 0;
+            for (int k = 0; k < objectives; k++) {
+                double v = rand.nextDouble();
+                candidates[i * objectives + k] = v;
+                norm += v * v;
+            }
+            double radius = (1 + rand.nextDouble() * Math.exp(-5.0 * i / POINTS)) / Math.sqrt(norm);
+            for (int k = 0; k < objectives; k++) candidates[i * objectives + k] *= radius;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public int ndTree() {
+        ParetoArchive archive = new ParetoArchive(objectives, capacity, 30, new Random(2));
+        for (int i = 0; i < POINTS; i++) archive.add(i, 0, candidates, i * objectives);
+        return archive.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public int linear() {
+        LinearArchive archive = new LinearArchive(objectives, capacity);
+        for (int i = 0; i < POINTS; i++) archive.add(candidates, i * objectives);
+        return archive.size;
+    }
+
+    /** Archivo de referencia: lista plana, comparación con todas las soluciones. */
+    static final class LinearArchive {
+        final int m;
+        final int capacity;
+        final double[] fs;
+        int size;
+        private final Integer[] order;
+        private final double[] crowding;
+
+        LinearArchive(int m, int capacity) {
+            this.m = m;
+            this.capacity = capacity;
+            this.fs = new double[(capacity + 1) * m];
+            this.order = new Integer[capacity + 1];
+            this.crowding = new double[capacity + 1];
+        }
+
+        void add(double[] f, int off) {
+            for (int i = 0; i < size; ) {
+                boolean le = true, ge = true;
+                for (int k = 0; k < m; k++) {
+                    double a = fs[i * m + k], b = f[off + k];
+                    le &= a <= b;
+                    ge &= a >= b;
+                }
+                if (le) return;
+                if (ge) {
+                    System.arraycopy(fs, --size * m, fs, i * m, m);
+                } else {
+                    i++;
+                }
+            }
+            System.arraycopy(f, off, fs, size++ * m, m);
+            if (size > capacity) {
+                int worst = mostCrowded();
+                System.arraycopy(fs, --size * m, fs, worst * m, m);
+            }
+        }
+
+        private int mostCrowded() {
+            Arrays.fill(crowding, 0, size, 0);
+            for (int k = 0; k < m; k++) {
+                int obj = k;
+                for (int i = 0; i < size; i++) order[i] = i;
+                Arrays.sort(order, 0, size, (a, b) -> Double.compare(fs[a * m + obj], fs[b * m + obj]));
+                double span = fs[order[size - 1] * m + k] - fs[order[0] * m + k];
+                crowding[order[0]] = crowding[order[size - 1]] = Double.POSITIVE_INFINITY;
+                if (span <= 0) continue;
+                for (int i = 1; i < size - 1; i++) {
+                    crowding[order[i]] += (fs[order[i + 1] * m + k] - fs[order[i - 1] * m + k]) / span;
+                }
+            }
+            int worst = 0;
+            for (int i = 1; i < size; i++) if (crowding[i] < crowding[worst]) worst = i;
+            return worst;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package bench;
+
+import core.AsyncPSO;
+import core.ParallelPSO;
+import core.Particle;
+import core.Problem;
+import core.RunResult;
+import core.StopCondition;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compara el PSO síncrono ({@link ParallelPSO} en modo SYNC, una tarea por partícula)
+ * con {@link AsyncPSO} sobre un problema con latencia simulada: rendimiento en
+ * evaluaciones por segundo y tiempo hasta alcanzar el valor objetivo. Ambos usan un
+ * pool con el mismo número de hilos.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.AsyncComparison [hilos] [latencia ms] [función] [objetivo]}
+ * </p>
+ */
+public class AsyncComparison {
+
+    /**
+     * Envuelve un problema y bloquea cada evaluación un tiempo aleatorio: una latencia
+     * base más una cola exponencial, como un simulador externo que a veces tarda mucho.
+     */
+    static final class SlowProblem implements Problem {
+        private final Problem inner;
+        private final double meanMillis;
+
+        SlowProblem(Problem inner, double meanMillis) {
+            this.inner = inner;
+            this.meanMillis = meanMillis;
+        }
+
+        @Override
+        public double evaluate(Particle p) {
+            // Mitad fija y mitad exponencial: misma media, colas largas
+            double millis = meanMillis * (0.5 - 0.5 * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+            try {
+                long nanos = (long) (millis * 1e6);
+                Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return inner.evaluate(p);
+        }
+
+        @Override public double xMin() { return inner.xMin(); }
+        @Override public double xMax() { return inner.xMax(); }
+        @Override public double yMin() { return inner.yMin(); }
+        @Override public double yMax() { return inner.yMax(); }
+    }
+
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        double latency = args.length > 1 ? Double.parseDouble(args[1]) : 2.0;
+        String function = args.length > 2 ? args[2] : "Function2";
+        double target = args.length > 3 ? Double.parseDouble(args[3]) : 1e-6;
+        int particles = 32, iterations = 100, runs = 3;
+        Problem problem = new SlowProblem(FunctionBenchmark.create(function), latency);
+
+        System.out.println("Motor;Ejecución;Evaluaciones;ms;Evaluaciones/s;ms hasta objetivo;Valor final");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int r = 0; r < runs; r++) {
+                ParallelPSO sync = new ParallelPSO(particles, iterations, 0.7, 1.4, 1.4, Double.NaN, problem,
+                        ParallelPSO.Mode.SYNC, pool, 1);
+                sync.setSeed(r);
+                long t0 = System.nanoTime();
+                long[] reached = { -1 };
+                Particle best = sync.run((iteration, swarm) -> {
+                    if (reached[0] < 0 && swarm.bestValue() <= target) reached[0] = System.nanoTime() - t0;
+                });
+                long syncNanos = System.nanoTime() - t0;
+                long syncEvals = (long) particles * (iterations + 1);
+                print("Síncrono", r, syncEvals, syncNanos, reached[0], FunctionBenchmark.create(function).evaluate(best));
+
+                AsyncPSO async = new AsyncPSO(particles, iterations, 0.7, 1.4, 1.4, problem, pool, threads);
+                async.setSeed(r);
+                RunResult all = async.run();
+                print("Asíncrono", r, all.evaluations(), all.elapsedNanos(), -1, all.bestValue());
+                async.setStopCondition(StopCondition.targetFitness(target));
+                RunResult toTarget = async.run();
+                long hit = toTarget.bestValue() <= target ? toTarget.elapsedNanos() : -1;
+                print("Asíncrono (hasta objetivo)", r, toTarget.evaluations(), toTarget.elapsedNanos(), hit,
+                        toTarget.bestValue());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void print(String engine, int run, long evals, long nanos, long toTarget, double value) {
+        System.out.printf("%s;%d;%d;%.0f;%.0f;%s;%.3g%n", engine, run, evals, nanos / 1e6, evals / (nanos / 1e9),
+                toTarget < 0 ? "-" : String.format("%.0f", toTarget / 1e6), value);
+    }
+}
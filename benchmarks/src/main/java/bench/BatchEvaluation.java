@@ -0,0 +1,80 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import functions.*;
+
+import java.util.Random;
+
+/**
+ * Compara el rendimiento de {@link Problem#evaluate(Particle)} llamado punto a punto
+ * con la evaluación por lotes {@link Problem#evaluate(double[], double[], double[], int, int)}
+ * para cada función de prueba, y la diferencia máxima entre ambos caminos.
+ * <p>
+ * Con el perfil {@code -Pvector} y {@code --add-modules jdk.incubator.vector}, el nivel
+ * {@code EXACT} de Function1, Function4 y Function5 usa los núcleos de la Vector API, cuyos
+ * senos, cosenos y exponenciales pueden diferir de {@link Math} en el último bit; el resto
+ * de funciones da exactamente lo mismo (diferencia 0).
+ * </p>
+ * <p>
+ * Uso: {@code java --add-modules jdk.incubator.vector -cp benchmarks/target/benchmarks.jar bench.BatchEvaluation [puntos] [repeticiones]}
+ * (sin {@code --add-modules} se mide el bucle escalar)
+ * </p>
+ */
+public class BatchEvaluation {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int reps = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Problem[] problems = {
+                new Function1(), new Function2(), new Function3(), new Function4(), new Function5(),
+                new Function6(), new Function7(), new Function8(), new Function9(), new Function10()
+        };
+
+        boolean vector = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        System.out.println("# jdk.incubator.vector: " + (vector ? "sí" : "no"));
+        System.out.println("Función;Escalar (Mevals/s);Lotes (Mevals/s);Aceleración;Diferencia máxima");
+        for (Problem problem : problems) {
+            Random rand = new Random(1);
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = problem.xMin() + rand.nextDouble() * (problem.xMax() - problem.xMin());
+                ys[i] = problem.yMin() + rand.nextDouble() * (problem.yMax() - problem.yMin());
+            }
+            double[] scalarOut = new double[n];
+            double[] batchOut = new double[n];
+
+            // Calentamiento de ambos caminos
+            for (int r = 0; r < reps / 4; r++) {
+                scalar(problem, xs, ys, scalarOut);
+                problem.evaluate(xs, ys, batchOut, 0, n);
+            }
+
+            long t0 = System.nanoTime();
+            for (int r = 0; r < reps; r++) {
+                scalar(problem, xs, ys, scalarOut);
+            }
+            long t1 = System.nanoTime();
+            for (int r = 0; r < reps; r++) {
+                problem.evaluate(xs, ys, batchOut, 0, n);
+            }
+            long t2 = System.nanoTime();
+
+            double maxDiff = 0;
+            for (int i = 0; i < n; i++) {
+                maxDiff = Math.max(maxDiff, Math.abs(scalarOut[i] - batchOut[i]));
+            }
+            double evals = (double) n * reps;
+            double scalarRate = evals / ((t1 - t0) / 1e3);
+            double batchRate = evals / ((t2 - t1) / 1e3);
+            System.out.printf("%s;%.1f;%.1f;%.2fx;%.1e%n", problem.getClass().getSimpleName(),
+                    scalarRate, batchRate, batchRate / scalarRate, maxDiff);
+        }
+    }
+
+    private static void scalar(Problem problem, double[] xs, double[] ys, double[] out) {
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = problem.evaluate(new Particle(xs[i], ys[i], 0, 0));
+        }
+    }
+}
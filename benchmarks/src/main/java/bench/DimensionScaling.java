@@ -0,0 +1,42 @@
+package bench;
+
+import core.ProblemND;
+import core.SwarmPSO;
+import functions.Function3ND;
+import functions.Function4ND;
+import functions.Function5ND;
+
+/**
+ * Mide el coste de {@link SwarmPSO} al crecer la dimensión (hasta d=1000 con 200
+ * partículas) para comprobar que el tiempo por iteración escala linealmente con d.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.DimensionScaling [partículas] [iteraciones]}
+ * </p>
+ */
+public class DimensionScaling {
+    public static void main(String[] args) {
+        int particles = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int[] dims = { 10, 30, 100, 300, 1000 };
+
+        System.out.println("Función;Dimensión;ms/iteración;ns/(partícula*dimensión);Mejor valor");
+        for (int k = 0; k < 3; k++) {
+            for (int d : dims) {
+                ProblemND problem = switch (k) {
+                    case 0 -> new Function3ND(d);
+                    case 1 -> new Function4ND(d);
+                    default -> new Function5ND(d);
+                };
+                SwarmPSO pso = new SwarmPSO(particles, iterations, 0.7, 1.4, 1.4, problem);
+                pso.setSeed(42L);
+                pso.run(); // calentamiento
+                pso.setSeed(42L);
+                long t0 = System.nanoTime();
+                pso.run();
+                long elapsed = System.nanoTime() - t0;
+                System.out.printf("%s;%d;%.3f;%.2f;%.4f%n", problem.getClass().getSimpleName(), d,
+                        elapsed / 1e6 / iterations, (double) elapsed / iterations / particles / d, pso.getBestValue());
+            }
+        }
+    }
+}
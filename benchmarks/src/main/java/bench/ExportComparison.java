@@ -0,0 +1,70 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import core.SimplePSO;
+import ui.AnimationExporter;
+import ui.FunctionPlotter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Coste de grabar una ejecución con {@link AnimationExporter}: tiempo del optimizador
+ * sin grabar y con cada política de contrapresión, frames escritos y descartados,
+ * tiempo de espera del optimizador y memoria ocupada al terminar (que no debe crecer
+ * con el número de iteraciones).
+ * <p>
+ * Uso: {@code java -Djava.awt.headless=true -cp benchmarks/target/benchmarks.jar bench.ExportComparison [formato] [iteraciones...]}
+ * </p>
+ */
+public class ExportComparison {
+    public static void main(String[] args) throws IOException {
+        AnimationExporter.Format format = args.length > 0 ? AnimationExporter.Format.valueOf(args[0])
+                : AnimationExporter.Format.PNG_SEQUENCE;
+        int[] iterations = { 50, 200 };
+        if (args.length > 1) {
+            iterations = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) iterations[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        Problem problem = FunctionBenchmark.create("Function5");
+        FunctionPlotter plotter = new FunctionPlotter((x, y) -> problem.evaluate(new Particle(x, y, 0, 0)),
+                problem.xMin(), problem.xMax(), problem.yMin(), problem.yMax(), 400, 300);
+        plotter.render();
+
+        System.out.println("Iteraciones;Política;ms optimizador;ms total;Escritos;Descartados;ms esperando;MiB heap");
+        for (int iters : iterations) {
+            long t0 = System.nanoTime();
+            newPSO(iters, problem).run();
+            System.out.printf("%d;sin grabar;%.0f;%.0f;0;0;0;%d%n", iters, (System.nanoTime() - t0) / 1e6,
+                    (System.nanoTime() - t0) / 1e6, usedHeapMiB());
+
+            for (AnimationExporter.Backpressure policy : AnimationExporter.Backpressure.values()) {
+                Path target = Files.createTempDirectory("pso-anim").resolve(
+                        format == AnimationExporter.Format.GIF ? "run.gif" : "frames");
+                AnimationExporter exporter = new AnimationExporter(plotter, target, format, 490, 370, 4, policy, 1, 50);
+                long start = System.nanoTime();
+                newPSO(iters, problem).run(exporter);
+                long optimizer = System.nanoTime() - start;
+                exporter.close();
+                System.out.printf("%d;%s;%.0f;%.0f;%d;%d;%.0f;%d%n", iters, policy, optimizer / 1e6,
+                        (System.nanoTime() - start) / 1e6, exporter.framesWritten(), exporter.framesDropped(),
+                        exporter.blockedNanos() / 1e6, usedHeapMiB());
+            }
+        }
+    }
+
+    private static SimplePSO newPSO(int iterations, Problem problem) {
+        SimplePSO pso = new SimplePSO(200, iterations, 0.7, 1.5, 1.5, problem);
+        pso.setSeed(1);
+        return pso;
+    }
+
+    private static long usedHeapMiB() {
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return (rt.totalMemory() - rt.freeMemory()) >> 20;
+    }
+}
@@ -0,0 +1,76 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import formula.Formula;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de una fórmula compilada con {@link Formula#compile} frente a la misma
+ * función escrita a mano ({@code FunctionN}) y frente al intérprete que recorre el
+ * árbol ({@link Formula#interpret}), punto a punto y por lotes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaBenchmark {
+    private static final int POINTS = 1024;
+
+    @Param({ "Function1", "Function4" })
+    public String function;
+
+    @Param({ "handwritten", "compiled", "interpreted" })
+    public String implementation;
+
+    private Problem problem;
+    private Particle[] points;
+    private double[] xs, ys, out;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Problem reference = FunctionBenchmark.create(function);
+        String text = switch (function) {
+            case "Function1" -> "(x-3.14)^2 + (y-2.72)^2 + sin(3x+1.41) + sin(4y-1.73)";
+            case "Function4" -> "20 + (x^2 - 10cos(2pi x)) + (y^2 - 10cos(2pi y))";
+            default -> throw new IllegalArgumentException("Función sin fórmula: " + function);
+        };
+        Formula formula = Formula.parse(text);
+        problem = switch (implementation) {
+            case "handwritten" -> reference;
+            case "compiled" -> formula.compile(reference.xMin(), reference.xMax(), reference.yMin(), reference.yMax());
+            case "interpreted" -> formula.interpret(reference.xMin(), reference.xMax(), reference.yMin(), reference.yMax());
+            default -> throw new IllegalArgumentException("Implementación desconocida: " + implementation);
+        };
+        Random rand = new Random(1);
+        points = new Particle[POINTS];
+        xs = new double[POINTS];
+        ys = new double[POINTS];
+        out = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = problem.xMin() + rand.nextDouble() * (problem.xMax() - problem.xMin());
+            ys[i] = problem.yMin() + rand.nextDouble() * (problem.yMax() - problem.yMin());
+            points[i] = new Particle(xs[i], ys[i], 0, 0);
+        }
+    }
+
+    @Benchmark
+    public double evaluate() {
+        Particle p = points[next];
+        next = (next + 1) & (POINTS - 1);
+        return problem.evaluate(p);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] evaluateBatch() {
+        problem.evaluate(xs, ys, out, 0, POINTS);
+        return out;
+    }
+}
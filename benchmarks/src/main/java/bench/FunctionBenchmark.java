@@ -0,0 +1,75 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import functions.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de {@link Problem#evaluate(Particle)} para cada función de prueba,
+ * sobre un conjunto fijo de puntos aleatorios dentro de su dominio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionBenchmark {
+    private static final int POINTS = 1024;
+
+    @Param({ "Function1", "Function2", "Function3", "Function4", "Function5",
+             "Function6", "Function7", "Function8", "Function9", "Function10" })
+    public String function;
+
+    private Problem problem;
+    private Particle[] points;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        problem = create(function);
+        Random rand = new Random(1);
+        points = new Particle[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            double x = problem.xMin() + rand.nextDouble() * (problem.xMax() - problem.xMin());
+            double y = problem.yMin() + rand.nextDouble() * (problem.yMax() - problem.yMin());
+            points[i] = new Particle(x, y, 0, 0);
+        }
+    }
+
+    @Benchmark
+    public double evaluate() {
+        Particle p = points[next];
+        next = (next + 1) & (POINTS - 1);
+        return problem.evaluate(p);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void evaluateAll(Blackhole bh) {
+        for (Particle p : points) {
+            bh.consume(problem.evaluate(p));
+        }
+    }
+
+    static Problem create(String name) {
+        return switch (name) {
+            case "Function1" -> new Function1();
+            case "Function2" -> new Function2();
+            case "Function3" -> new Function3();
+            case "Function4" -> new Function4();
+            case "Function5" -> new Function5();
+            case "Function6" -> new Function6();
+            case "Function7" -> new Function7();
+            case "Function8" -> new Function8();
+            case "Function9" -> new Function9();
+            case "Function10" -> new Function10();
+            default -> throw new IllegalArgumentException("Función desconocida: " + name);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import core.MOPSO;
+import core.MultiObjectiveProblem;
+import core.ParetoArchive;
+import functions.Function10;
+import functions.Function2;
+
+/**
+ * Hipervolumen a lo largo de una ejecución de {@link MOPSO} con Function2 frente a
+ * Function10 (dominio común [-3, 3] x [-2, 2]).
+ * <p>
+ * El punto de referencia es el nadir del frente que forman los puntos no dominados de
+ * una rejilla de 400 x 400 sobre el dominio, más un 10 % de su rango, así que el
+ * hipervolumen se puede comparar entre ejecuciones. Imprime, cada {@code cada} iteraciones, el tamaño del archivo, el
+ * hipervolumen y el tiempo transcurrido (el cálculo del hipervolumen no se cuenta).
+ * </p>
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.HypervolumeTrace [partículas] [iteraciones] [capacidad] [cada]}
+ * </p>
+ */
+public class HypervolumeTrace {
+    public static void main(String[] args) {
+        int particles = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int every = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        MultiObjectiveProblem problem = MultiObjectiveProblem.of(new Function2(), new Function10());
+        double[] reference = referencePoint(problem, 400);
+        System.out.printf("# Referencia: (%.4f, %.4f)%n", reference[0], reference[1]);
+
+        MOPSO mopso = new MOPSO(particles, iterations, 0.4, 1.5, 1.5, Double.NaN, capacity, 30, problem);
+        mopso.setSeed(7);
+        long[] excluded = new long[1];
+        long t0 = System.nanoTime();
+        System.out.println("Iteración;Tamaño del archivo;Hipervolumen;ms");
+        ParetoArchive front = mopso.run((iteration, archive) -> {
+            if (iteration % every != 0 && iteration != 1) return;
+            long s = System.nanoTime();
+            double elapsed = (s - t0 - excluded[0]) / 1e6;
+            System.out.printf("%d;%d;%.6f;%.1f%n", iteration, archive.size(), archive.hypervolume(reference), elapsed);
+            excluded[0] += System.nanoTime() - s;
+        });
+        System.out.printf("# Total: %.1f ms, %d soluciones%n", (System.nanoTime() - t0 - excluded[0]) / 1e6, front.size());
+    }
+
+    /** Nadir del frente de la rejilla (filtrado con el propio archivo) más un 10 % de su rango. */
+    private static double[] referencePoint(MultiObjectiveProblem problem, int n) {
+        int m = problem.objectives();
+        ParetoArchive front = new ParetoArchive(m, n * n);
+        double[] out = new double[m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double x = problem.xMin() + (problem.xMax() - problem.xMin()) * i / (n - 1);
+                double y = problem.yMin() + (problem.yMax() - problem.yMin()) * j / (n - 1);
+                problem.evaluate(x, y, out, 0);
+                front.add(x, y, out, 0);
+            }
+        }
+        double[] reference = new double[m];
+        for (int k = 0; k < m; k++) {
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < front.size(); i++) {
+                lo = Math.min(lo, front.objective(i, k));
+                hi = Math.max(hi, front.objective(i, k));
+            }
+            reference[k] = hi + 0.1 * (hi - lo);
+        }
+        return reference;
+    }
+}
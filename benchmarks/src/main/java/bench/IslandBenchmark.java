@@ -0,0 +1,50 @@
+package bench;
+
+import core.IslandPSO;
+import core.Problem;
+import functions.Function10;
+import functions.Function4;
+import functions.Function9;
+
+/**
+ * Tiempo de reloj hasta alcanzar un valor objetivo con {@link IslandPSO} frente a un
+ * único enjambre del mismo tamaño total (una sola isla), promediado sobre varias semillas.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.IslandBenchmark [islas] [partículas totales] [repeticiones]}
+ * </p>
+ */
+public class IslandBenchmark {
+    public static void main(String[] args) {
+        int islands = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        int total = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int reps = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int iterations = 2000;
+
+        Problem[] problems = { new Function4(), new Function9(), new Function10() };
+        double[] targets = { 1e-6, 0.05, -1.0316 };
+
+        System.out.println("Función;Configuración;Objetivo;Éxitos;Tiempo medio (ms);Iteraciones medias");
+        for (int p = 0; p < problems.length; p++) {
+            for (IslandPSO.Topology topology : new IslandPSO.Topology[] { null,
+                    IslandPSO.Topology.RING, IslandPSO.Topology.FULLY_CONNECTED, IslandPSO.Topology.RANDOM }) {
+                int k = topology == null ? 1 : islands;
+                IslandPSO pso = new IslandPSO(k, total / k, iterations, 0.7, 1.4, 1.4, problems[p],
+                        topology == null ? IslandPSO.Topology.RING : topology, 20);
+                pso.setTargetValue(targets[p]);
+                int successes = 0;
+                long nanos = 0;
+                long iters = 0;
+                for (int r = 0; r < reps; r++) {
+                    pso.setSeed(r);
+                    IslandPSO.Result result = pso.run();
+                    if (result.targetReached()) successes++;
+                    nanos += result.elapsedNanos();
+                    iters += result.iterations();
+                }
+                String config = topology == null ? "1 enjambre x " + total : k + " islas x " + (total / k) + " " + topology;
+                System.out.printf("%s;%s;%s;%d/%d;%.1f;%.0f%n", problems[p].getClass().getSimpleName(), config,
+                        targets[p], successes, reps, nanos / 1e6 / reps, (double) iters / reps);
+            }
+        }
+    }
+}
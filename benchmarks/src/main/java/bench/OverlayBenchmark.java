@@ -0,0 +1,85 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import functions.Function5;
+import org.openjdk.jmh.annotations.*;
+import ui.FunctionPlotter;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo por frame de la animación del enjambre: {@link FunctionPlotter#renderFrame}
+ * (fondo en caché más partículas estampadas) frente a repintar todo con Java2D en cada
+ * frame, como hacía antes {@code paintComponent}. Con 10 000 partículas un frame debe
+ * tardar bastante menos de 16 ms para mantener 60 fps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OverlayBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int particles;
+
+    private static final int WIDTH = 800, HEIGHT = 600;
+
+    private FunctionPlotter plotter;
+    private Problem problem;
+    private Particle[][] frames;
+    private int next;
+    private BufferedImage target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        problem = new Function5();
+        FunctionPlotter.Function2D f = (x, y) -> problem.evaluate(new Particle(x, y, 0, 0));
+        plotter = new FunctionPlotter(f, problem.xMin(), problem.xMax(), problem.yMin(), problem.yMax(), WIDTH, HEIGHT);
+        plotter.render();
+        // Varios frames distintos para que cada repintado tenga posiciones nuevas
+        Random rand = new Random(42);
+        frames = new Particle[8][particles];
+        for (Particle[] frame : frames) {
+            for (int i = 0; i < particles; i++) {
+                frame[i] = new Particle(problem.xMin() + rand.nextDouble() * (problem.xMax() - problem.xMin()),
+                        problem.yMin() + rand.nextDouble() * (problem.yMax() - problem.yMin()), 0, 0);
+            }
+        }
+        target = new BufferedImage(WIDTH + 90, HEIGHT + 70, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    public BufferedImage cachedBackground() {
+        Particle[] frame = frames[next++ & 7];
+        plotter.updateParticles(frame, frame[0]);
+        return plotter.renderFrame(target.getWidth(), target.getHeight());
+    }
+
+    @Benchmark
+    public BufferedImage fullRepaint() {
+        // Lo esencial del repintado anterior: mapa de calor escalado y un fillOval por partícula
+        Particle[] frame = frames[next++ & 7];
+        plotter.updateParticles(frame, frame[0]);
+        Graphics g = target.getGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, target.getWidth(), target.getHeight());
+        g.drawImage(plotter.getImage(), 70, 20, WIDTH, HEIGHT, null);
+        double sx = (WIDTH - 1) / (problem.xMax() - problem.xMin());
+        double sy = (HEIGHT - 1) / (problem.yMax() - problem.yMin());
+        for (Particle p : frame) {
+            int xi = 70 + (int) Math.round((p.x() - problem.xMin()) * sx);
+            int yj = 20 + (int) Math.round((problem.yMax() - p.y()) * sy);
+            g.setColor(new Color(0, 0, 0, 180));
+            g.fillOval(xi - 3, yj - 3, 6, 6);
+        }
+        g.dispose();
+        return target;
+    }
+}
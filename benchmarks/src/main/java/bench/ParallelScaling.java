@@ -0,0 +1,82 @@
+package bench;
+
+import core.ParallelPSO;
+import core.Particle;
+import core.Problem;
+import functions.Function4;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mide cómo escala {@link ParallelPSO} de 1 a N hilos con una función objetivo cara
+ * (Rastrigin con trabajo artificial por evaluación) y comprueba que el modo síncrono
+ * da el mismo resultado con cualquier número de hilos.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.ParallelScaling [partículas] [iteraciones] [trabajo por evaluación]}
+ * </p>
+ */
+public class ParallelScaling {
+    public static void main(String[] args) {
+        int particles = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int work = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        Problem problem = new ExpensiveProblem(new Function4(), work);
+
+        Particle reference = null;
+        double baseline = 0;
+        System.out.println("Hilos;Modo;Tiempo (ms);Aceleración;Resultado");
+        // Potencias de dos y, al final, todos los núcleos disponibles
+        for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (ParallelPSO.Mode mode : ParallelPSO.Mode.values()) {
+                ParallelPSO pso = new ParallelPSO(particles, iterations, 0.7, 1.4, 1.4, Double.NaN,
+                        problem, mode, pool, 0);
+                pso.setSeed(42L);
+                pso.run(); // calentamiento
+                pso.setSeed(42L);
+                long t0 = System.nanoTime();
+                Particle best = pso.run();
+                double ms = (System.nanoTime() - t0) / 1e6;
+                String check;
+                if (mode == ParallelPSO.Mode.SYNC) {
+                    if (reference == null) {
+                        reference = best;
+                        baseline = ms;
+                    }
+                    check = best.equals(reference) ? "idéntico" : "DISTINTO";
+                } else {
+                    check = String.valueOf(problem.evaluate(best));
+                }
+                System.out.printf("%d;%s;%.1f;%.2fx;%s%n", threads, mode, ms, baseline / ms, check);
+            }
+            pool.shutdown();
+        }
+    }
+
+    /** Envoltorio que simula una función objetivo costosa repitiendo trabajo de CPU. */
+    static final class ExpensiveProblem implements Problem {
+        private final Problem inner;
+        private final int work;
+
+        ExpensiveProblem(Problem inner, int work) {
+            this.inner = inner;
+            this.work = work;
+        }
+
+        @Override
+        public double evaluate(Particle p) {
+            double acc = 0;
+            for (int k = 0; k < work; k++) {
+                acc += Math.sin(p.x() + k);
+            }
+            // El trabajo extra no altera el valor, pero el JIT no puede eliminarlo
+            return inner.evaluate(p) + (acc == Double.MAX_VALUE ? 1 : 0);
+        }
+
+        @Override public double xMin() { return inner.xMin(); }
+        @Override public double xMax() { return inner.xMax(); }
+        @Override public double yMin() { return inner.yMin(); }
+        @Override public double yMax() { return inner.yMax(); }
+    }
+}
@@ -0,0 +1,41 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import functions.Function4;
+import org.openjdk.jmh.annotations.*;
+import ui.FunctionPlotter;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de {@link FunctionPlotter#render()} (evaluación de la rejilla y mapa de
+ * calor) a varias resoluciones cuadradas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PlotterBenchmark {
+
+    @Param({ "200", "800", "2000" })
+    public int resolution;
+
+    private FunctionPlotter plotter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Problem problem = new Function4();
+        FunctionPlotter.Function2D f = (x, y) -> problem.evaluate(new Particle(x, y, 0, 0));
+        plotter = new FunctionPlotter(f, problem.xMin(), problem.xMax(), problem.yMin(), problem.yMax(), resolution, resolution);
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        plotter.render();
+        return plotter.getImage();
+    }
+}
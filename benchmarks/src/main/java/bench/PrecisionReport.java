@@ -0,0 +1,106 @@
+package bench;
+
+import core.EvaluationPrecision;
+import core.Particle;
+import core.PrecisionSchedule;
+import core.PrecisionView;
+import core.RunResult;
+import core.SimplePSO;
+import core.TieredProblem;
+import functions.Function1;
+import functions.Function4;
+import functions.Function5;
+
+import java.util.Random;
+
+/**
+ * Informe de precisión y velocidad de los niveles de {@link EvaluationPrecision} en
+ * Function1, Function4 y Function5.
+ * <p>
+ * Para cada función: error absoluto y relativo máximos de STRICT y FAST frente a EXACT
+ * sobre puntos aleatorios del dominio, y nanosegundos por punto de la evaluación por
+ * lotes en cada nivel. Después ejecuta {@link SimplePSO} con la misma semilla en EXACT,
+ * en FAST y con {@link PrecisionSchedule}, y comprueba que el valor devuelto coincide
+ * con la evaluación exacta del mejor punto.
+ * </p>
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.PrecisionReport [puntos] [repeticiones]}
+ * </p>
+ */
+public class PrecisionReport {
+    public static void main(String[] args) {
+        int points = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int reps = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        TieredProblem[] problems = { new Function1(), new Function4(), new Function5() };
+
+        System.out.println("Función;Nivel;Error absoluto máx.;Error relativo máx.;ns por punto;Aceleración");
+        for (TieredProblem problem : problems) {
+            Random rand = new Random(1);
+            double[] xs = new double[points], ys = new double[points];
+            for (int i = 0; i < points; i++) {
+                xs[i] = problem.xMin() + rand.nextDouble() * (problem.xMax() - problem.xMin());
+                ys[i] = problem.yMin() + rand.nextDouble() * (problem.yMax() - problem.yMin());
+            }
+            double[] exact = new double[points], out = new double[points];
+            double exactNanos = time(problem, EvaluationPrecision.EXACT, xs, ys, exact, reps);
+            for (EvaluationPrecision precision : EvaluationPrecision.values()) {
+                double nanos = precision == EvaluationPrecision.EXACT ? exactNanos
+                        : time(problem, precision, xs, ys, out, reps);
+                double abs = 0, rel = 0;
+                if (precision != EvaluationPrecision.EXACT) {
+                    for (int i = 0; i < points; i++) {
+                        double e = Math.abs(out[i] - exact[i]);
+                        abs = Math.max(abs, e);
+                        if (exact[i] != 0) rel = Math.max(rel, e / Math.abs(exact[i]));
+                    }
+                }
+                System.out.printf("%s;%s;%.2e;%.2e;%.2f;%.2fx%n", name(problem), precision, abs, rel, nanos,
+                        exactNanos / nanos);
+            }
+        }
+
+        System.out.println();
+        System.out.println("Función;Modo;ms;Mejor valor devuelto;Exacto en el mejor punto;Cambio a EXACT");
+        for (TieredProblem problem : problems) {
+            for (String mode : new String[] { "EXACT", "FAST", "FAST->EXACT" }) {
+                long best = Long.MAX_VALUE;
+                RunResult result = null;
+                PrecisionSchedule schedule = null;
+                for (int r = 0; r < 3; r++) {
+                    // La función no cambia: cada ejecución evalúa a través de su propia vista
+                    TieredProblem run;
+                    schedule = null;
+                    if (mode.equals("FAST->EXACT")) {
+                        schedule = new PrecisionSchedule(problem, 1e-3);
+                        run = schedule.problem();
+                    } else {
+                        run = new PrecisionView(problem, EvaluationPrecision.valueOf(mode));
+                    }
+                    SimplePSO pso = new SimplePSO(200, 1000, 0.7, 1.5, 1.5, run);
+                    pso.setSeed(7);
+                    long t0 = System.nanoTime();
+                    result = pso.solve(schedule);
+                    best = Math.min(best, System.nanoTime() - t0);
+                }
+                Particle p = result.best();
+                System.out.printf("%s;%s;%.1f;%.17g;%.17g;%s%n", name(problem), mode, best / 1e6, result.bestValue(),
+                        problem.evaluateExact(p), schedule == null ? "-" : "iteración " + schedule.switchedAt());
+            }
+        }
+    }
+
+    private static double time(TieredProblem problem, EvaluationPrecision precision, double[] xs, double[] ys,
+                               double[] out, int reps) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < reps; r++) {
+            long t0 = System.nanoTime();
+            problem.evaluate(xs, ys, out, 0, xs.length, precision);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / (double) xs.length;
+    }
+
+    private static String name(TieredProblem problem) {
+        return problem.getClass().getSimpleName();
+    }
+}
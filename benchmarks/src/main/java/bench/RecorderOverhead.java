@@ -0,0 +1,73 @@
+package bench;
+
+import core.Problem;
+import core.SimplePSO;
+import core.SwarmFrame;
+import core.TrajectoryFile;
+import core.TrajectoryRecorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Coste de grabar la trayectoria completa con {@link TrajectoryRecorder}: tiempo de
+ * {@link SimplePSO} sin listener, copiando cada frame en memoria ({@link SwarmFrame},
+ * lo mínimo para conservar el estado) y grabando en disco en float y en double. Después
+ * mide el tiempo de un salto aleatorio más una lectura en el fichero grabado.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.RecorderOverhead [partículas] [iteraciones] [repeticiones]}
+ * </p>
+ */
+public class RecorderOverhead {
+    public static void main(String[] args) throws IOException {
+        int particles = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int reps = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Problem problem = FunctionBenchmark.create("Function5");
+        Path file = Files.createTempFile("pso-trajectory", ".bin");
+
+        long plain = Long.MAX_VALUE, copy = Long.MAX_VALUE, f32 = Long.MAX_VALUE, f64 = Long.MAX_VALUE;
+        for (int r = 0; r < reps; r++) {
+            plain = Math.min(plain, time(particles, iterations, problem, null));
+            SwarmFrame frame = new SwarmFrame();
+            copy = Math.min(copy, time(particles, iterations, problem, (i, view) -> frame.copyFrom(view)));
+            try (TrajectoryRecorder recorder = new TrajectoryRecorder(file, particles, TrajectoryRecorder.Precision.FLOAT32, 1)) {
+                f32 = Math.min(f32, time(particles, iterations, problem, recorder));
+            }
+            try (TrajectoryRecorder recorder = new TrajectoryRecorder(file, particles)) {
+                f64 = Math.min(f64, time(particles, iterations, problem, recorder));
+            }
+        }
+        double steps = (double) particles * iterations;
+        System.out.println("Modo;ms;ns por partícula-paso");
+        System.out.printf("sin listener;%.0f;%.1f%n", plain / 1e6, plain / steps);
+        System.out.printf("copia en memoria;%.0f;%.1f%n", copy / 1e6, copy / steps);
+        System.out.printf("grabación float;%.0f;%.1f%n", f32 / 1e6, f32 / steps);
+        System.out.printf("grabación double;%.0f;%.1f%n", f64 / 1e6, f64 / steps);
+
+        try (TrajectoryFile trajectory = new TrajectoryFile(file)) {
+            TrajectoryFile.Cursor cursor = trajectory.cursor();
+            Random rand = new Random(1);
+            int seeks = 1_000_000;
+            double sink = 0;
+            long t0 = System.nanoTime();
+            for (int k = 0; k < seeks; k++) {
+                sink += cursor.seek(rand.nextInt(trajectory.frames())).x(rand.nextInt(particles));
+            }
+            System.out.printf("Salto aleatorio + lectura: %.0f ns (%d frames, %d MiB)%s%n",
+                    (System.nanoTime() - t0) / (double) seeks, trajectory.frames(), Files.size(file) >> 20,
+                    sink == 42 ? " " : "");
+        }
+        Files.deleteIfExists(file);
+    }
+
+    private static long time(int particles, int iterations, Problem problem, SimplePSO.PSOListener listener) {
+        SimplePSO pso = new SimplePSO(particles, iterations, 0.7, 1.5, 1.5, problem);
+        pso.setSeed(1);
+        long t0 = System.nanoTime();
+        pso.solve(listener);
+        return System.nanoTime() - t0;
+    }
+}
@@ -0,0 +1,119 @@
+package bench;
+
+import core.Particle;
+import core.Problem;
+import ui.FunctionPlotter;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+/**
+ * Compara {@link FunctionPlotter#render()} con el renderizado anterior (secuencial,
+ * con {@code setRGB} y objetos {@link Color} por píxel, copiado aquí como referencia):
+ * tiempo de cada uno y comprobación de que las imágenes son idénticas píxel a píxel.
+ * <p>
+ * Uso: {@code java -Djava.awt.headless=true -cp benchmarks/target/benchmarks.jar bench.RenderComparison [resolución] [repeticiones]}
+ * </p>
+ */
+public class RenderComparison {
+    public static void main(String[] args) {
+        int resolution = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int reps = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        System.out.println("Función;Resolución;ms anterior;ms actual;Aceleración;Idénticas");
+        for (int f = 1; f <= 10; f++) {
+            Problem problem = FunctionBenchmark.create("Function" + f);
+            FunctionPlotter.Function2D fn = (x, y) -> problem.evaluate(new Particle(x, y, 0, 0));
+            FunctionPlotter plotter = new FunctionPlotter(fn, problem.xMin(), problem.xMax(),
+                    problem.yMin(), problem.yMax(), resolution, resolution);
+
+            BufferedImage before = null;
+            long beforeNanos = Long.MAX_VALUE, afterNanos = Long.MAX_VALUE;
+            for (int r = 0; r < reps; r++) {
+                long t0 = System.nanoTime();
+                before = legacyRender(fn, problem.xMin(), problem.xMax(), problem.yMin(), problem.yMax(),
+                        resolution, resolution);
+                long t1 = System.nanoTime();
+                plotter.render();
+                long t2 = System.nanoTime();
+                beforeNanos = Math.min(beforeNanos, t1 - t0);
+                afterNanos = Math.min(afterNanos, t2 - t1);
+            }
+            System.out.printf("Function%d;%d;%.0f;%.0f;%.1fx;%b%n", f, resolution, beforeNanos / 1e6,
+                    afterNanos / 1e6, (double) beforeNanos / afterNanos, samePixels(before, plotter.getImage()));
+        }
+    }
+
+    private static boolean samePixels(BufferedImage a, BufferedImage b) {
+        if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight()) return false;
+        for (int j = 0; j < a.getHeight(); j++) {
+            for (int i = 0; i < a.getWidth(); i++) {
+                if (a.getRGB(i, j) != b.getRGB(i, j)) return false;
+            }
+        }
+        return true;
+    }
+
+    // RENDERIZADO ANTERIOR (referencia) ------------------------------------
+
+    private static BufferedImage legacyRender(FunctionPlotter.Function2D function, double xMin, double xMax,
+                                              double yMin, double yMax, int width, int height) {
+        double[][] values = new double[height][width];
+        double vmin = Double.POSITIVE_INFINITY;
+        double vmax = Double.NEGATIVE_INFINITY;
+        for (int j = 0; j < height; j++) {
+            double y = yMax - j * (yMax - yMin) / (height - 1);
+            for (int i = 0; i < width; i++) {
+                double x = xMin + i * (xMax - xMin) / (width - 1);
+                double v;
+                try {
+                    v = function.eval(x, y);
+                } catch (Exception e) {
+                    v = Double.NaN;
+                }
+                values[j][i] = v;
+                if (!Double.isFinite(v)) continue;
+                if (v < vmin) vmin = v;
+                if (v > vmax) vmax = v;
+            }
+        }
+        if (vmin == Double.POSITIVE_INFINITY || vmax == Double.NEGATIVE_INFINITY) {
+            vmin = 0;
+            vmax = 1;
+        } else if (vmin == vmax) {
+            vmin -= 1.0;
+            vmax += 1.0;
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                image.setRGB(i, j, legacyValueToRGB(values[j][i], vmin, vmax));
+            }
+        }
+        return image;
+    }
+
+    private static int legacyValueToRGB(double v, double vmin, double vmax) {
+        if (!Double.isFinite(v)) return Color.BLACK.getRGB();
+        double t = (v - vmin) / (vmax - vmin);
+        t = Math.max(0.0, Math.min(1.0, t));
+        Color c;
+        if (t < 0.25) {
+            c = lerpColor(new Color(0, 0, 128), new Color(0, 128, 255), t / 0.25);
+        } else if (t < 0.5) {
+            c = lerpColor(new Color(0, 128, 255), new Color(0, 255, 128), (t - 0.25) / 0.25);
+        } else if (t < 0.75) {
+            c = lerpColor(new Color(0, 255, 128), new Color(255, 255, 0), (t - 0.5) / 0.25);
+        } else {
+            c = lerpColor(new Color(255, 255, 0), new Color(200, 0, 0), (t - 0.75) / 0.25);
+        }
+        return c.getRGB();
+    }
+
+    private static Color lerpColor(Color a, Color b, double t) {
+        int r = (int) (a.getRed() + t * (b.getRed() - a.getRed()));
+        int g = (int) (a.getGreen() + t * (b.getGreen() - a.getGreen()));
+        int bl = (int) (a.getBlue() + t * (b.getBlue() - a.getBlue()));
+        return new Color(Math.max(0, Math.min(255, r)), Math.max(0, Math.min(255, g)), Math.max(0, Math.min(255, bl)));
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import core.Particle;
+import core.RandomStreams;
+import core.SimplePSO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Peso del generador aleatorio en el coste de {@link SimplePSO}: {@code nextDouble}
+ * suelto y una ejecución completa con cada algoritmo ({@code "Random"} es el
+ * {@link Random} compartido de siempre; el resto, flujos por partícula de
+ * {@link RandomStreams}). Cada paso de partícula pide dos {@code nextDouble}, así que
+ * la fracción del paso que se lleva el generador es
+ * {@code 2 * nextDouble / (solve / (particles * iterations))}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RngBenchmark {
+
+    @Param({ "Random", "SplittableRandom", "L64X128MixRandom", "Xoroshiro128PlusPlus", RandomStreams.PHILOX })
+    public String algorithm;
+
+    private static final int PARTICLES = 1000, ITERATIONS = 100;
+
+    private RandomGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = "Random".equals(algorithm) ? new Random(42L) : RandomStreams.of(algorithm, 42L).particle(0);
+    }
+
+    @Benchmark
+    public double nextDouble() {
+        return generator.nextDouble();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Particle solve(Run run) {
+        return run.pso.run();
+    }
+
+    /** Optimizador que se vuelve a sembrar antes de cada ejecución. */
+    @State(Scope.Thread)
+    public static class Run {
+        private SimplePSO pso;
+
+        @Setup(Level.Trial)
+        public void setup(RngBenchmark bench) {
+            pso = new SimplePSO(PARTICLES, ITERATIONS, 0.7, 1.4, 1.4, FunctionBenchmark.create("Function2"));
+            if (!"Random".equals(bench.algorithm)) pso.setRandomStreams(RandomStreams.of(bench.algorithm, 42L));
+        }
+
+        @Setup(Level.Invocation)
+        public void reseed() {
+            pso.setSeed(42L);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta todos los benchmarks JMH con el perfilador de GC (tasa de reserva de
+ * memoria y número de recolecciones) y guarda los resultados en JSON para
+ * compararlos con ejecuciones posteriores.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.RunBaseline [patrón] [fichero.json]}
+ * </p>
+ */
+public class RunBaseline {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "bench\\..*Benchmark";
+        String output = args.length > 1 ? args[1] : "jmh-baseline.json";
+        Options opt = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output)
+                .build();
+        new Runner(opt).run();
+    }
+}
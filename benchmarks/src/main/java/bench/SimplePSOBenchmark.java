@@ -0,0 +1,47 @@
+package bench;
+
+import core.Particle;
+import core.SimplePSO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de una ejecución completa de {@link SimplePSO#run()} para varios tamaños de
+ * enjambre y número de iteraciones, con el destino de progreso por defecto (sin
+ * salida por consola).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimplePSOBenchmark {
+
+    @Param({ "20", "100", "1000" })
+    public int particles;
+
+    @Param({ "100", "1000" })
+    public int iterations;
+
+    @Param({ "Function2", "Function4" })
+    public String function;
+
+    private SimplePSO pso;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pso = new SimplePSO(particles, iterations, 0.7, 1.4, 1.4, FunctionBenchmark.create(function));
+    }
+
+    @Setup(Level.Invocation)
+    public void reseed() {
+        pso.setSeed(42L);
+    }
+
+    @Benchmark
+    public Particle run() {
+        return pso.run();
+    }
+}
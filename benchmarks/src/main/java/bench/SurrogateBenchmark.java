@@ -0,0 +1,62 @@
+package bench;
+
+import core.QuadraticSurrogate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste del modelo sustituto de {@link core.SurrogatePSO}: añadir un punto al archivo
+ * y predecir en un punto nuevo, en función del tamaño del archivo. Es el sobrecoste
+ * que se paga por cada candidato a cambio de ahorrar evaluaciones reales.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SurrogateBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({ "100", "500", "2000" })
+    public int archive;
+
+    @Param({ "8", "12", "24" })
+    public int neighbors;
+
+    private QuadraticSurrogate model;
+    private double[] qx, qy;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        model = new QuadraticSurrogate(archive, neighbors);
+        Random rand = new Random(1);
+        for (int i = 0; i < archive; i++) {
+            double x = rand.nextDouble() * 10 - 5, y = rand.nextDouble() * 10 - 5;
+            model.add(x, y, x * x + y * y);
+        }
+        qx = new double[QUERIES];
+        qy = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            qx[i] = rand.nextDouble() * 10 - 5;
+            qy[i] = rand.nextDouble() * 10 - 5;
+        }
+    }
+
+    @Benchmark
+    public double predict() {
+        int i = next;
+        next = (next + 1) & (QUERIES - 1);
+        return model.predict(qx[i], qy[i]);
+    }
+
+    @Benchmark
+    public void add() {
+        int i = next;
+        next = (next + 1) & (QUERIES - 1);
+        model.add(qx[i], qy[i], qx[i] * qx[i] + qy[i] * qy[i]);
+    }
+}
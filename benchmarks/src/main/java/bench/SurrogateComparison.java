@@ -0,0 +1,56 @@
+package bench;
+
+import core.Problem;
+import core.QuadraticSurrogate;
+import core.RunResult;
+import core.SimplePSO;
+import core.SurrogatePSO;
+
+import java.util.Arrays;
+
+/**
+ * Compara {@link SimplePSO} con {@link SurrogatePSO} en las diez funciones de prueba:
+ * mediana del valor final y evaluaciones reales medias sobre varias semillas, con los
+ * mismos parámetros e iteraciones. También muestra el tiempo medio por ejecución, que
+ * con funciones baratas es casi todo coste del modelo.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.SurrogateComparison [semillas] [iteraciones] [exploración]}
+ * </p>
+ */
+public class SurrogateComparison {
+    public static void main(String[] args) {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        double exploration = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+        int particles = 30;
+
+        System.out.println("Función;Mediana SimplePSO;Evaluaciones SimplePSO;ms SimplePSO;"
+                + "Mediana SurrogatePSO;Evaluaciones SurrogatePSO;ms SurrogatePSO;Ahorro");
+        for (int f = 1; f <= 10; f++) {
+            Problem problem = FunctionBenchmark.create("Function" + f);
+            double[] plain = new double[seeds], assisted = new double[seeds];
+            long plainEvals = 0, assistedEvals = 0, plainNanos = 0, assistedNanos = 0;
+            for (int s = 0; s < seeds; s++) {
+                SimplePSO base = new SimplePSO(particles, iterations, 0.7, 1.4, 1.4, problem);
+                base.setSeed(s);
+                RunResult a = base.solve(null);
+                SurrogatePSO pso = new SurrogatePSO(particles, iterations, 0.7, 1.4, 1.4, problem,
+                        new QuadraticSurrogate(), exploration);
+                pso.setSeed(s);
+                RunResult b = pso.run();
+                plain[s] = a.bestValue();
+                assisted[s] = b.bestValue();
+                plainEvals += a.evaluations();
+                assistedEvals += b.evaluations();
+                plainNanos += a.elapsedNanos();
+                assistedNanos += b.elapsedNanos();
+            }
+            Arrays.sort(plain);
+            Arrays.sort(assisted);
+            System.out.printf("Function%d;%.4g;%d;%.2f;%.4g;%d;%.2f;%.1fx%n", f,
+                    plain[seeds / 2], plainEvals / seeds, plainNanos / 1e6 / seeds,
+                    assisted[seeds / 2], assistedEvals / seeds, assistedNanos / 1e6 / seeds,
+                    (double) plainEvals / assistedEvals);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package bench;
+
+import core.Neighborhood;
+import core.Problem;
+import core.RunResult;
+import core.SimplePSO;
+import core.StopCondition;
+
+import java.util.Arrays;
+
+/**
+ * Evaluaciones necesarias para alcanzar el óptimo conocido de cada función de prueba
+ * con cada topología de vecindad de {@link SimplePSO}. Cada ejecución termina al
+ * llegar a {@code óptimo + tolerancia} o al agotar el presupuesto; se muestra la tasa
+ * de éxito y la mediana de evaluaciones de las ejecuciones con éxito.
+ * <p>
+ * Uso: {@code java -cp benchmarks/target/benchmarks.jar bench.TopologyComparison [semillas] [presupuesto] [tolerancia]}
+ * </p>
+ */
+public class TopologyComparison {
+    // Valor óptimo de Function1..Function10 (Function1 y Function10, estimados numéricamente)
+    private static final double[] OPTIMA = { -1.8083520359, 0, 0, 0, 0, 0, 0, 0, 0, -1.0316284535 };
+
+    public static void main(String[] args) {
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : 40_000;
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 1e-4;
+        int particles = 40;
+        String[] names = { "global", "anillo k=1", "anillo k=2", "von Neumann", "aleatoria k=3" };
+        Neighborhood[] topologies = {
+                Neighborhood.global(), Neighborhood.ring(1), Neighborhood.ring(2),
+                Neighborhood.vonNeumann(), Neighborhood.randomK(3)
+        };
+
+        System.out.println("Función;Topología;Éxitos;Mediana de evaluaciones");
+        for (int f = 1; f <= 10; f++) {
+            Problem problem = FunctionBenchmark.create("Function" + f);
+            for (int t = 0; t < topologies.length; t++) {
+                long[] evals = new long[seeds];
+                int successes = 0;
+                for (int s = 0; s < seeds; s++) {
+                    SimplePSO pso = new SimplePSO(particles, Integer.MAX_VALUE, 0.7, 1.4, 1.4, problem);
+                    pso.setSeed(s);
+                    pso.setNeighborhood(topologies[t]);
+                    pso.setStopCondition(StopCondition.anyOf(
+                            StopCondition.targetFitness(OPTIMA[f - 1] + tolerance),
+                            StopCondition.maxEvaluations(budget)));
+                    RunResult r = pso.solve(null);
+                    if (r.bestValue() <= OPTIMA[f - 1] + tolerance) evals[successes++] = r.evaluations();
+                }
+                Arrays.sort(evals, 0, successes);
+                System.out.printf("Function%d;%s;%d/%d;%s%n", f, names[t], successes, seeds,
+                        successes == 0 ? "-" : String.valueOf(evals[successes / 2]));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package core;
+
+import functions.Function10;
+import functions.Function2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ParetoArchive} frente a un filtro de no dominados por fuerza bruta, y
+ * reproducibilidad de {@link MOPSO} con {@link RandomStreams}.
+ */
+class ParetoArchiveTest {
+
+    @Test
+    void sinLimiteGuardaExactamenteLosNoDominados() {
+        for (int m = 2; m <= 3; m++) {
+            for (long seed = 0; seed < 20; seed++) {
+                Random rand = new Random(seed);
+                // Valores en una rejilla gruesa para que haya empates y repetidos
+                List<double[]> points = new ArrayList<>();
+                for (int i = 0; i < 300; i++) {
+                    double[] f = new double[m];
+                    for (int k = 0; k < m; k++) f[k] = rand.nextInt(40);
+                    points.add(f);
+                }
+                ParetoArchive archive = new ParetoArchive(m, points.size(), 30, new Random(seed));
+                for (int i = 0; i < points.size(); i++) archive.add(i, 0, points.get(i), 0);
+
+                assertEquals(bruteForce(points), contents(archive), "m=" + m + " semilla=" + seed);
+            }
+        }
+    }
+
+    @Test
+    void conLimiteNoSuperaLaCapacidadNiGuardaDominados() {
+        Random rand = new Random(7);
+        ParetoArchive archive = new ParetoArchive(2, 25, 10, new Random(7));
+        for (int i = 0; i < 2000; i++) {
+            // Puntos cerca del frente f1 + f2 = 1, casi todos no dominados entre sí
+            double a = rand.nextDouble();
+            double[] f = { a, 1 - a + 0.05 * rand.nextDouble() };
+            archive.add(i, 0, f, 0);
+            assertTrue(archive.size() <= archive.capacity());
+        }
+        assertEquals(25, archive.size());
+        for (int i = 0; i < archive.size(); i++) {
+            for (int j = 0; j < archive.size(); j++) {
+                if (i != j) assertFalse(dominates(archive, j, i), "la solución " + i + " está dominada");
+            }
+        }
+    }
+
+    @Test
+    void mopsoConFlujosEsReproducible() {
+        MultiObjectiveProblem problem = MultiObjectiveProblem.of(new Function2(), new Function10());
+        double[] a = front(problem, RandomStreams.lxm(42));
+        double[] b = front(problem, RandomStreams.lxm(42));
+        double[] c = front(problem, RandomStreams.lxm(43));
+        assertTrue(Arrays.equals(a, b));
+        assertFalse(Arrays.equals(a, c));
+    }
+
+    private static double[] front(MultiObjectiveProblem problem, RandomStreams streams) {
+        MOPSO mopso = new MOPSO(30, 40, 0.4, 1.5, 1.5, problem);
+        mopso.setRandomStreams(streams);
+        ParetoArchive archive = mopso.run();
+        double[] out = new double[archive.size() * 2];
+        for (int i = 0; i < archive.size(); i++) {
+            out[2 * i] = archive.x(i);
+            out[2 * i + 1] = archive.y(i);
+        }
+        return out;
+    }
+
+    /** Índices de los puntos no dominados; de varios iguales se queda el primero. */
+    private static Set<Integer> bruteForce(List<double[]> points) {
+        Set<Integer> front = new HashSet<>();
+        for (int i = 0; i < points.size(); i++) {
+            boolean kept = true;
+            for (int j = 0; j < points.size() && kept; j++) {
+                if (j == i) continue;
+                double[] a = points.get(j), b = points.get(i);
+                boolean le = true, lt = false;
+                for (int k = 0; k < a.length; k++) {
+                    le &= a[k] <= b[k];
+                    lt |= a[k] < b[k];
+                }
+                // j domina a i, o es igual y llegó antes
+                if (le && (lt || j < i)) kept = false;
+            }
+            if (kept) front.add(i);
+        }
+        return front;
+    }
+
+    /** Índices de llegada (guardados en x) de las soluciones del archivo. */
+    private static Set<Integer> contents(ParetoArchive archive) {
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < archive.size(); i++) ids.add((int) archive.x(i));
+        return ids;
+    }
+
+    private static boolean dominates(ParetoArchive archive, int a, int b) {
+        boolean le = true, lt = false;
+        for (int k = 0; k < archive.objectives(); k++) {
+            le &= archive.objective(a, k) <= archive.objective(b, k);
+            lt |= archive.objective(a, k) < archive.objective(b, k);
+        }
+        return le && lt;
+    }
+}
@@ -0,0 +1,108 @@
+package formula;
+
+import core.Particle;
+import core.Problem;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Análisis y simplificaciones de {@link Formula}: cada simplificación debe ser exacta y la
+ * clase compilada debe dar los mismos bits que el intérprete.
+ */
+class FormulaTest {
+    private static final double[] SAMPLES = { -2.5, -1.0, -0.0, 0.0, 0.3, 1.0, 7.25 };
+
+    @Test
+    void sumaDeMenosCeroDesaparece() {
+        assertEquals("x", Formula.parse("x+(-0.0)").toString());
+        assertEquals("x", Formula.parse("-0.0 + x").toString());
+        // x + 0 no es x cuando x = -0.0, así que se conserva
+        assertEquals("(x + 0.0)", Formula.parse("x+0").toString());
+        assertEquals(0.0, Formula.parse("x+0").evaluate(-0.0, 0));
+    }
+
+    @Test
+    void dobleNegacionDesaparece() {
+        assertEquals("x", Formula.parse("--x").toString());
+        assertEquals("-x", Formula.parse("---x").toString());
+        assertEquals("(x + y)", Formula.parse("x - -y").toString());
+    }
+
+    @Test
+    void cuadradoPasaAProducto() {
+        assertEquals("(x * x)", Formula.parse("x^2").toString());
+        assertEquals("(x * x)", Formula.parse("x**2").toString());
+        assertEquals("x", Formula.parse("x^1").toString());
+        assertEquals("pow(x, 3.0)", Formula.parse("x^3").toString());
+        for (double x : SAMPLES) {
+            assertEquals(Math.pow(x, 2), Formula.parse("x^2").evaluate(x, 0));
+        }
+    }
+
+    @Test
+    void productoImplicitoTrasDivision() {
+        // 1/2x es (1/2)·x, no 1/(2x)
+        Formula implicit = Formula.parse("1/2x");
+        Formula explicit = Formula.parse("x/2");
+        for (double x : SAMPLES) {
+            assertEquals(explicit.evaluate(x, 0), implicit.evaluate(x, 0));
+        }
+        assertEquals("(x * 0.5)", implicit.toString());
+    }
+
+    @Test
+    void potenciaAsociaPorLaDerechaYPrecedeAlSigno() {
+        assertEquals(-4.0, Formula.parse("-x^2").evaluate(2, 0));
+        assertEquals(Math.pow(2, 9), Formula.parse("2^3^2").evaluate(0, 0));
+    }
+
+    @Test
+    void subexpresionesComunesSeCalculanUnaVez() {
+        assertEquals(Formula.parse("sin(3x+1)").operations() + 1,
+                Formula.parse("sin(3x+1) + sin(3x+1)").operations());
+    }
+
+    @Test
+    void compiladaIgualQueInterpretada() {
+        String text = "(x-3.14)^2 + (y-2.72)^2 + sin(3x+1.41) + sin(4y-1.73)";
+        Problem compiled = Formula.compile(text, "[0,5]");
+        Problem interpreted = Formula.parse(text).interpret(0, 5, 0, 5);
+        for (double x : SAMPLES) {
+            for (double y : SAMPLES) {
+                Particle p = new Particle(x, y, 0, 0);
+                assertEquals(interpreted.evaluate(p), compiled.evaluate(p));
+            }
+        }
+    }
+
+    @Test
+    void sumaDeDosMilTerminosSeRechaza() {
+        StringBuilder text = new StringBuilder("x");
+        for (int i = 1; i < 2000; i++) text.append(" + ").append(i).append("y");
+        assertThrows(IllegalArgumentException.class, () -> Formula.compile(text.toString(), "[0,1]"));
+    }
+
+    @Test
+    void sumaEnElLimiteCompila() {
+        StringBuilder text = new StringBuilder("x");
+        for (int i = 1; i < Formula.MAX_DEPTH; i++) text.append(" + ").append(i).append("y");
+        Problem p = Formula.compile(text.toString(), "[0,1]");
+        assertEquals(Formula.parse(text.toString()).evaluate(0.5, 0.25), p.evaluate(new Particle(0.5, 0.25, 0, 0)));
+    }
+
+    @Test
+    void anidamientoProfundoSeRechaza() {
+        String parens = "(".repeat(5000) + "x" + ")".repeat(5000);
+        assertThrows(IllegalArgumentException.class, () -> Formula.parse(parens));
+        assertThrows(IllegalArgumentException.class, () -> Formula.parse("-".repeat(5000) + "x"));
+        assertThrows(IllegalArgumentException.class, () -> Formula.parse("x" + "^x".repeat(5000)));
+    }
+
+    @Test
+    void erroresIndicanLaPosicion() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Formula.parse("x + foo(y)"));
+        assertEquals("Identificador desconocido 'foo' en la posición 5: x + foo(y)", e.getMessage());
+    }
+}
@@ -1,7 +1,12 @@
 import functions.*;
 import core.Particle;
+import core.ProgressSink;
 import core.SimplePSO;
+import core.SwarmFrameBuffer;
 import ui.FunctionPlotter;
+import ui.TileCache;
+
+import java.io.IOException;
 
 import javax.swing.SwingUtilities;
 
@@ -14,24 +19,30 @@ public class Main {
 
         var problem = new Function4();
         SimplePSO pso = new SimplePSO(20, 100, 0.7, 1.4, 1.4, problem);
+        pso.setProgressSink(ProgressSink.console()); // Iteración;Mejor solución;Valor por consola
 
         if (visualize) {
             // Crear plotter y mostrar la función
             FunctionPlotter.Function2D f = (x, y) -> problem.evaluate(new Particle(x, y, 0, 0));
             FunctionPlotter plotter = new FunctionPlotter(f, problem.xMin(), problem.xMax(), problem.yMin(), problem.yMax(), 400, 400);
-            plotter.render();
+            // Vista previa inmediata y teselas en segundo plano, guardadas en disco para la próxima vez
+            TileCache cache = null;
+            try {
+                cache = TileCache.openDefault();
+            } catch (IOException e) {
+                System.err.println("Sin caché de teselas: " + e.getMessage());
+            }
+            plotter.renderProgressive(cache, problem.getClass().getName());
+            // El optimizador publica cada iteración en un buffer circular sin esperar a la GUI;
+            // la ventana reproduce los frames en orden a 10 fps
+            SwarmFrameBuffer frames = new SwarmFrameBuffer(100, SwarmFrameBuffer.DropPolicy.DROP_NEWEST, 1);
             // Mostrar GUI en EDT
-            SwingUtilities.invokeLater(() -> plotter.show("PSO visualization"));
-
-            // Listener que actualiza overlay y refresca la ventana
-            SimplePSO.PSOListener listener = (iteration, particles, globalBest, value) -> {
-                // Actualizar overlay y repintar (updateParticles es synchronized)
-                plotter.updateParticles(particles, globalBest);
-                plotter.refresh();
-                System.out.println("Iter " + iteration + ": best=(" + globalBest.x() + "," + globalBest.y() + ") -> " + value);
-            };
+            SwingUtilities.invokeLater(() -> {
+                plotter.show("PSO visualization");
+                plotter.follow(frames, 10, true);
+            });
 
-            Particle solution = pso.run(listener);
+            Particle solution = pso.run(frames);
             System.out.println("\nBest solution: (" + solution.x() + ", " + solution.y() + ") -> " + problem.evaluate(solution));
         } else {
             Particle solution = pso.run();
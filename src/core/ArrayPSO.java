@@ -0,0 +1,203 @@
+package core;
+
+import java.util.Random;
+
+/**
+ * Variante de {@link SimplePSO} que guarda el enjambre como estructura de arrays.
+ * <p>
+ * Posiciones, velocidades, mejores locales y sus valores se almacenan en arrays
+ * primitivos {@code double[]} en lugar de un {@code Particle[]} que se reemplaza en
+ * cada paso. De este modo el bucle principal no crea objetos por partícula y el
+ * recolector de basura deja de dominar en enjambres grandes. Los objetos
+ * {@link Particle} solo se construyen en el borde de la API: el resultado de
+ * {@link #run(SimplePSO.PSOListener)}. Las evaluaciones van por la ruta primitiva
+ * {@link Problem#evaluate(double[], double[], double[], int, int)}, de una en una para
+ * mantener el orden de {@code SimplePSO}. El listener recibe una {@link SwarmView} sobre
+ * los propios arrays.
+ * </p>
+ * <p>
+ * La secuencia de números aleatorios y el orden de las operaciones en coma flotante
+ * son los mismos que en {@link SimplePSO}, por lo que con la misma semilla ambos
+ * motores devuelven exactamente la misma solución. A diferencia de {@code SimplePSO},
+ * este motor no imprime el progreso por consola.
+ * </p>
+ */
+public class ArrayPSO {
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final Problem problem;
+    private final Random rand = new Random();
+    // Límite máximo absoluto de la velocidad (vmax). Si es NaN, se deriva del dominio en tiempo de ejecución.
+    private final double vmaxLimit;
+
+    // Estado del enjambre (estructura de arrays)
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] bestX;
+    private final double[] bestY;
+    private final double[] bestValue;
+    // Valor de la última evaluación de cada partícula
+    private final double[] value;
+    private final ArraySwarmView view;
+
+    /**
+     * Constructor que deriva vmax del dominio del problema, igual que en {@link SimplePSO}.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     */
+    public ArrayPSO(int numParticles, int numIterations, double w, double c1, double c2, Problem problem) {
+        this(numParticles, numIterations, w, c1, c2, Double.NaN, problem);
+    }
+
+    /**
+     * Constructor con un vmax explícito.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param vmax máximo de velocidad absoluta que se aplicará a vx y vy (>=0); NaN para derivarlo del dominio
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     */
+    public ArrayPSO(int numParticles, int numIterations, double w, double c1, double c2, double vmax, Problem problem) {
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.vmaxLimit = Double.isNaN(vmax) ? Double.NaN : Math.max(0.0, vmax);
+        this.x = new double[numParticles];
+        this.y = new double[numParticles];
+        this.vx = new double[numParticles];
+        this.vy = new double[numParticles];
+        this.bestX = new double[numParticles];
+        this.bestY = new double[numParticles];
+        this.bestValue = new double[numParticles];
+        this.value = new double[numParticles];
+        this.view = new ArraySwarmView(x, y, vx, vy, bestX, bestY, bestValue);
+    }
+
+    /**
+     * Fija la semilla del generador aleatorio para obtener ejecuciones reproducibles.
+     *
+     * @param seed semilla del generador
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
+    /**
+     * Ejecuta el algoritmo PSO.
+     *
+     * @param listener listener que recibe el estado tras cada iteración, o null
+     * @return la mejor partícula global encontrada
+     */
+    public Particle run(SimplePSO.PSOListener listener) {
+        if (numParticles == 0) {
+            return null; // caso extremo: no hay partículas
+        }
+
+        // INICIALIZACIÓN -----------------------------------------------------
+
+        double xMin = problem.xMin();
+        double xMax = problem.xMax();
+        double yMin = problem.yMin();
+        double yMax = problem.yMax();
+        double xrange = xMax - xMin;
+        double yrange = yMax - yMin;
+        double vmax = Double.isNaN(this.vmaxLimit) ? Math.max(xrange, yrange) : this.vmaxLimit;
+
+        // Mismo orden de llamadas a rand que SimplePSO.creaEnjambreAleatorio
+        for (int i = 0; i < numParticles; i++) {
+            x[i] = xMin + rand.nextDouble() * xrange;
+            y[i] = yMin + rand.nextDouble() * yrange;
+            vx[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            vy[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+        }
+
+        boolean approximated = TieredProblem.isApproximate(problem);
+
+        // El mejor global se guarda en variables escalares en vez de en un objeto
+        double gx = 0, gy = 0, gvx = 0, gvy = 0;
+        double globalBestValue = Double.POSITIVE_INFINITY;
+        problem.evaluate(x, y, bestValue, 0, numParticles);
+        for (int i = 0; i < numParticles; i++) {
+            bestX[i] = x[i];
+            bestY[i] = y[i];
+            if (i == 0 || bestValue[i] < globalBestValue) {
+                globalBestValue = bestValue[i];
+                gx = x[i]; gy = y[i]; gvx = vx[i]; gvy = vy[i];
+            }
+        }
+
+        // BUCLE PRINCIPAL -----------------------------------------------------
+
+        for (int iters = 1; iters <= numIterations; iters++) {
+            approximated |= TieredProblem.isApproximate(problem);
+            for (int i = 0; i < numParticles; i++) {
+                double r1 = rand.nextDouble();
+                double r2 = rand.nextDouble();
+                double px = x[i];
+                double py = y[i];
+                double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+                double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+
+                // Limitar velocidad
+                nvx = Math.max(-vmax, Math.min(vmax, nvx));
+                nvy = Math.max(-vmax, Math.min(vmax, nvy));
+
+                // Actualizar y clampear la posición al dominio
+                px = Math.max(xMin, Math.min(xMax, px + nvx));
+                py = Math.max(yMin, Math.min(yMax, py + nvy));
+
+                x[i] = px;
+                y[i] = py;
+                vx[i] = nvx;
+                vy[i] = nvy;
+
+                problem.evaluate(x, y, value, i, i + 1);
+                double v = value[i];
+
+                if (v < bestValue[i]) {
+                    bestX[i] = px;
+                    bestY[i] = py;
+                    bestValue[i] = v;
+                }
+
+                if (v < globalBestValue) {
+                    globalBestValue = v;
+                    gx = px; gy = py; gvx = nvx; gvy = nvy;
+                }
+            }
+
+            if (listener != null) {
+                listener.onIteration(iters, view.update(iters, gx, gy, globalBestValue));
+            }
+        }
+
+        // Con evaluaciones aproximadas, el mejor se elige de nuevo con precisión completa
+        if (approximated) {
+            int b = TieredProblem.verifyBests((TieredProblem) problem, bestX, bestY, bestValue, numParticles);
+            return new Particle(bestX[b], bestY[b], vx[b], vy[b]);
+        }
+        return new Particle(gx, gy, gvx, gvy);
+    }
+
+    // Compatibilidad con SimplePSO: run() delega a run(null)
+    public Particle run() {
+        return run(null);
+    }
+
+}
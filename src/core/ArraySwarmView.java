@@ -0,0 +1,56 @@
+package core;
+
+/**
+ * {@link SwarmView} sobre los arrays de un motor con estructura de arrays. El motor
+ * actualiza la iteración y el mejor global antes de cada notificación; las
+ * partículas se leen directamente de sus arrays.
+ */
+final class ArraySwarmView implements SwarmView {
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] pbestX;
+    private final double[] pbestY;
+    private final double[] pbestValue;
+    private int iteration;
+    private double bestX;
+    private double bestY;
+    private double bestValue;
+
+    ArraySwarmView(double[] x, double[] y, double[] vx, double[] vy) {
+        this(x, y, vx, vy, null, null, null);
+    }
+
+    ArraySwarmView(double[] x, double[] y, double[] vx, double[] vy,
+                   double[] pbestX, double[] pbestY, double[] pbestValue) {
+        this.x = x;
+        this.y = y;
+        this.vx = vx;
+        this.vy = vy;
+        this.pbestX = pbestX;
+        this.pbestY = pbestY;
+        this.pbestValue = pbestValue;
+    }
+
+    ArraySwarmView update(int iteration, double bestX, double bestY, double bestValue) {
+        this.iteration = iteration;
+        this.bestX = bestX;
+        this.bestY = bestY;
+        this.bestValue = bestValue;
+        return this;
+    }
+
+    @Override public int iteration() { return iteration; }
+    @Override public int size() { return x.length; }
+    @Override public double x(int i) { return x[i]; }
+    @Override public double y(int i) { return y[i]; }
+    @Override public double vx(int i) { return vx[i]; }
+    @Override public double vy(int i) { return vy[i]; }
+    @Override public double bestX() { return bestX; }
+    @Override public double bestY() { return bestY; }
+    @Override public double bestValue() { return bestValue; }
+    @Override public double pbestX(int i) { return pbestX == null ? Double.NaN : pbestX[i]; }
+    @Override public double pbestY(int i) { return pbestY == null ? Double.NaN : pbestY[i]; }
+    @Override public double pbestValue(int i) { return pbestValue == null ? Double.NaN : pbestValue[i]; }
+}
@@ -0,0 +1,260 @@
+package core;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * PSO asíncrono para funciones objetivo con latencia variable.
+ * <p>
+ * En {@link SimplePSO} (y en {@link ParallelPSO} síncrono) la evaluación más lenta de
+ * cada iteración detiene a todo el enjambre. Aquí cada partícula vuelve a moverse en
+ * cuanto termina su propia evaluación, usando el mejor global más reciente, sin
+ * esperar a las demás. Las evaluaciones se lanzan con
+ * {@link Problem#evaluateAsync(Particle, Executor)} y nunca hay más de
+ * {@code maxInFlight} en curso.
+ * </p>
+ * <p>
+ * Todo el estado del enjambre lo actualiza el hilo que llama a {@link #run()}: las
+ * evaluaciones terminadas se encolan y ese hilo las procesa de una en una, así que no
+ * hacen falta cerrojos. Cada partícula hace {@code numIterations} movimientos, igual
+ * que en el motor síncrono, pero el orden depende de qué evaluaciones acaban antes y
+ * la ejecución no es reproducible aunque se fije la semilla. Las condiciones de parada
+ * ({@link StopCondition}) se comprueban tras cada evaluación, y como iteración se toman
+ * las evaluaciones divididas entre el número de partículas.
+ * </p>
+ * <p>
+ * Java 17 no tiene hilos virtuales: el ejecutor suele ser un pool acotado con
+ * {@code maxInFlight} hilos, o cualquier ejecutor si el problema sobrescribe
+ * {@code evaluateAsync} con E/S no bloqueante.
+ * </p>
+ */
+public class AsyncPSO {
+    /** Evaluación terminada (o fallida) de una partícula. */
+    private record Done(int particle, double value, Throwable error) { }
+
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final Problem problem;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final Random rand = new Random();
+    private StopCondition stopCondition;
+
+    /**
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations movimientos de cada partícula
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     * @param executor ejecutor en el que se lanzan las evaluaciones
+     * @param maxInFlight evaluaciones en curso como máximo (>= 1)
+     */
+    public AsyncPSO(int numParticles, int numIterations, double w, double c1, double c2, Problem problem,
+                    Executor executor, int maxInFlight) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight debe ser >= 1");
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Fija la semilla del generador aleatorio (posiciones iniciales y coeficientes).
+     *
+     * @param seed semilla del generador
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
+    /**
+     * Define una condición de parada adicional, comprobada tras cada evaluación.
+     *
+     * @param stopCondition condición de parada (null para hacer todos los movimientos)
+     */
+    public void setStopCondition(StopCondition stopCondition) {
+        this.stopCondition = stopCondition;
+    }
+
+    /**
+     * Ejecuta el algoritmo. Al cumplirse una condición de parada deja de lanzar
+     * evaluaciones y espera a las que están en curso, que cuentan en el total y pueden
+     * mejorar el resultado; con {@link StopCondition#maxEvaluations} nunca se lanza una
+     * evaluación que supere el presupuesto.
+     * <p>
+     * Si se interrumpe el hilo, se cancelan los futuros de las evaluaciones en curso y
+     * ninguna se cuenta. Cancelar un {@link CompletableFuture} no interrumpe a quien lo
+     * calcula: con {@link Problem#evaluateAsync} por defecto, las evaluaciones que aún
+     * esperaban en el ejecutor ya no llegan a llamar a {@link Problem#evaluate}, pero
+     * las que ya estaban en marcha terminan en segundo plano. Si una evaluación falla, no
+     * se lanzan más y se espera a que acaben las que estaban en curso (como mucho
+     * {@code maxInFlight}) antes de lanzar la excepción, así que ninguna sigue usando el
+     * problema. Cancelarlas no bastaría: el futuro cancelado se completa en seguida
+     * aunque la evaluación siga en marcha.
+     * </p>
+     *
+     * @return mejor global, iteraciones equivalentes, evaluaciones, tiempo y condición de
+     *         parada, o null si no hay partículas
+     * @throws IllegalStateException si falla alguna evaluación
+     */
+    public RunResult run() {
+        int n = numParticles;
+        if (n == 0) return null;
+        long start = System.nanoTime();
+
+        double[] x = new double[n], y = new double[n], vx = new double[n], vy = new double[n];
+        double[] bestX = new double[n], bestY = new double[n], bestValue = new double[n];
+        int[] moves = new int[n];
+        double xMin = problem.xMin(), xMax = problem.xMax();
+        double yMin = problem.yMin(), yMax = problem.yMax();
+        double xrange = xMax - xMin, yrange = yMax - yMin;
+        double vmax = Math.max(xrange, yrange);
+
+        // Partículas listas para evaluar (cola circular: cada una está como mucho una vez)
+        int[] ready = new int[n];
+        int readyHead = 0, readyCount = n;
+        for (int i = 0; i < n; i++) {
+            x[i] = xMin + rand.nextDouble() * xrange;
+            y[i] = yMin + rand.nextDouble() * yrange;
+            vx[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            vy[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            bestValue[i] = Double.POSITIVE_INFINITY;
+            ready[i] = i;
+        }
+
+        double gx = x[0], gy = y[0], gvx = vx[0], gvy = vy[0];
+        double globalBestValue = Double.POSITIVE_INFINITY;
+        ArraySwarmView view = new ArraySwarmView(x, y, vx, vy, bestX, bestY, bestValue);
+        RunState state = new RunState(view, start);
+        StopCondition fired = null;
+        LinkedBlockingQueue<Done> completed = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+        // Evaluación en curso de cada partícula (como mucho una), para cancelarla si se interrumpe
+        CompletableFuture<?>[] running = new CompletableFuture<?>[n];
+        long evaluationLimit = stopCondition == null ? Long.MAX_VALUE : stopCondition.evaluationLimit();
+        boolean approximated = false;
+
+        while (true) {
+            // Lanzar evaluaciones hasta el máximo permitido, sin pasar del presupuesto
+            approximated |= TieredProblem.isApproximate(problem);
+            while (fired == null && inFlight < maxInFlight && readyCount > 0
+                    && state.evaluations + inFlight < evaluationLimit) {
+                int i = ready[readyHead];
+                readyHead = (readyHead + 1) % n;
+                readyCount--;
+                inFlight++;
+                CompletableFuture<Double> future = problem.evaluateAsync(new Particle(x[i], y[i], vx[i], vy[i]), executor);
+                future.whenComplete((v, e) -> completed.add(new Done(i, v == null ? Double.NaN : v, e)));
+                running[i] = future;
+            }
+            if (inFlight == 0) break;
+
+            Done done;
+            try {
+                done = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel(running);
+                break;
+            }
+            inFlight--;
+            running[done.particle()] = null;
+            if (done.error() != null) {
+                drain(completed, inFlight);
+                throw new IllegalStateException("Fallo al evaluar la partícula " + done.particle(), done.error());
+            }
+            state.evaluations++;
+
+            int i = done.particle();
+            double value = done.value();
+            if (value < bestValue[i]) {
+                bestX[i] = x[i];
+                bestY[i] = y[i];
+                bestValue[i] = value;
+            }
+            if (value < globalBestValue) {
+                globalBestValue = value;
+                gx = x[i]; gy = y[i]; gvx = vx[i]; gvy = vy[i];
+            }
+
+            // Tras cumplirse la condición solo se recogen las evaluaciones en curso
+            if (fired != null) continue;
+
+            if (stopCondition != null) {
+                int iteration = (int) ((state.evaluations - n) / n);
+                if (globalBestValue < state.bestValue) {
+                    state.bestValue = globalBestValue;
+                    state.lastImprovement = iteration;
+                }
+                state.iteration = iteration;
+                view.update(iteration, gx, gy, globalBestValue);
+                if ((fired = stopCondition.firing(state)) != null) continue;
+            }
+
+            // Mover la partícula con el mejor global más reciente y volver a encolarla
+            if (moves[i] < numIterations) {
+                moves[i]++;
+                double r1 = rand.nextDouble();
+                double r2 = rand.nextDouble();
+                double px = x[i];
+                double py = y[i];
+                double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+                double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+                nvx = Math.max(-vmax, Math.min(vmax, nvx));
+                nvy = Math.max(-vmax, Math.min(vmax, nvy));
+                x[i] = Math.max(xMin, Math.min(xMax, px + nvx));
+                y[i] = Math.max(yMin, Math.min(yMax, py + nvy));
+                vx[i] = nvx;
+                vy[i] = nvy;
+                ready[(readyHead + readyCount) % n] = i;
+                readyCount++;
+            }
+        }
+
+        int iterations = (int) Math.max(0, (state.evaluations - n) / n);
+        // Con evaluaciones aproximadas, el mejor se elige de nuevo con precisión completa
+        long verifications = 0;
+        if (approximated) {
+            int b = TieredProblem.verifyBests((TieredProblem) problem, bestX, bestY, bestValue, n);
+            if (bestValue[b] != Double.POSITIVE_INFINITY) {
+                gx = bestX[b]; gy = bestY[b]; gvx = vx[b]; gvy = vy[b];
+                globalBestValue = bestValue[b];
+            }
+            for (int i = 0; i < n; i++) {
+                if (bestValue[i] != Double.POSITIVE_INFINITY) verifications++;
+            }
+        }
+        return new RunResult(new Particle(gx, gy, gvx, gvy), globalBestValue, iterations, state.evaluations,
+                System.nanoTime() - start, fired == null ? "maxIterations" : fired.name(), verifications);
+    }
+
+    private static void cancel(CompletableFuture<?>[] running) {
+        for (CompletableFuture<?> f : running) {
+            if (f != null) f.cancel(false);
+        }
+    }
+
+    /**
+     * Espera a que terminen las {@code pending} evaluaciones lanzadas. Si se
+     * interrumpe, deja de esperar y restaura la interrupción.
+     */
+    private static void drain(LinkedBlockingQueue<Done> completed, int pending) {
+        try {
+            for (int k = 0; k < pending; k++) {
+                completed.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Escribe el progreso en un fichero binario compacto.
+ * <p>
+ * Formato (big-endian, como {@link DataOutputStream}): la cabecera {@code "PSOP"}
+ * seguida de un registro de 28 bytes por iteración:
+ * {@code int iteración, double x, double y, double valor}. Como en
+ * {@link CsvProgressSink}, la cabecera se escribe al empezar cada ejecución: un
+ * destino reutilizado contiene una sección con cabecera por ejecución.
+ * </p>
+ */
+public class BinaryProgressSink implements ProgressSink {
+    /** Bytes de cada registro tras la cabecera. */
+    public static final int RECORD_BYTES = Integer.BYTES + 3 * Double.BYTES;
+
+    private final DataOutputStream out;
+
+    /**
+     * @param file fichero de salida (se sobrescribe)
+     * @throws IOException si no se puede crear el fichero
+     */
+    public BinaryProgressSink(Path file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+
+    @Override
+    public void start() {
+        try {
+            out.writeBytes("PSOP");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onIteration(int iteration, double bestX, double bestY, double bestValue) {
+        try {
+            out.writeInt(iteration);
+            out.writeDouble(bestX);
+            out.writeDouble(bestY);
+            out.writeDouble(bestValue);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void end() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
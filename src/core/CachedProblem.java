@@ -0,0 +1,318 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorador de {@link Problem} que memoriza los valores ya evaluados.
+ * <p>
+ * Pensado para funciones objetivo caras: al final de una ejecución muchas partículas
+ * caen en los mismos puntos (por ejemplo, en los bordes a los que se recorta la
+ * posición) o en puntos casi idénticos. Las coordenadas se cuantizan con la resolución
+ * indicada y el par de enteros resultante es la clave; con resolución 0 la clave son
+ * los bits exactos de (x, y) y los resultados no cambian respecto al problema original.
+ * Con resolución positiva, todos los puntos de una celda comparten el valor del primero
+ * que se evaluó.
+ * </p>
+ * <p>
+ * La tabla usa direccionamiento abierto sobre arrays primitivos (sin {@code Double} ni
+ * nodos), tiene un tope de memoria fijado al construirla y, cuando se llena, desaloja
+ * entradas con el algoritmo CLOCK (segunda oportunidad). Está dividida en segmentos con
+ * su propio cerrojo, así que puede compartirse entre hilos (por ejemplo con
+ * {@link ParallelPSO}); la función original se evalúa fuera del cerrojo.
+ * </p>
+ * <p>
+ * Si el problema original es un {@link TieredProblem}, la caché también lo es y tiene
+ * su mismo nivel de precisión, así que los motores siguen verificando los resultados
+ * aproximados. Cada segmento recuerda el nivel con el que se llenó y se vacía cuando el
+ * nivel cambia (por ejemplo, cuando {@link PrecisionSchedule} pasa a precisión
+ * completa); las evaluaciones pedidas con otro nivel, como
+ * {@link TieredProblem#evaluateExact(Particle)} durante la fase rápida, van directas a
+ * la función original.
+ * </p>
+ */
+public class CachedProblem implements TieredProblem {
+    // Bytes por ranura: dos claves long, un valor double y un byte de estado
+    private static final int SLOT_BYTES = 8 + 8 + 8 + 1;
+    // Valor centinela de "no encontrado"; si la función lo devolviera, no se memoriza
+    private static final long MISS_BITS = 0x7ff8_dead_beef_0001L;
+    private static final double MISS = Double.longBitsToDouble(MISS_BITS);
+
+    private final Problem delegate;
+    private final TieredProblem tiered; // null si el original no tiene niveles
+    private final double resolution;
+    private final double inverse;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param delegate problema cuyas evaluaciones se memorizan
+     * @param resolution tamaño de celda de la cuantización (0 = claves exactas)
+     * @param maxBytes memoria máxima de la tabla, en bytes
+     */
+    public CachedProblem(Problem delegate, double resolution, long maxBytes) {
+        if (!(resolution >= 0) || Double.isInfinite(resolution)) {
+            throw new IllegalArgumentException("resolution debe ser finita y >= 0");
+        }
+        this.delegate = delegate;
+        this.tiered = delegate instanceof TieredProblem t ? t : null;
+        this.resolution = resolution;
+        this.inverse = resolution == 0 ? 0 : 1.0 / resolution;
+
+        // Ranuras totales: mayor potencia de dos que cabe en el tope de memoria
+        long slots = Long.highestOneBit(Math.max(16, maxBytes / SLOT_BYTES));
+        slots = Math.min(slots, 1L << 30);
+        int wanted = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4));
+        int count = (int) Math.max(1, Math.min(wanted, slots / 16));
+        segments = new Segment[count];
+        for (int s = 0; s < count; s++) {
+            segments[s] = new Segment((int) (slots / count));
+        }
+        segmentShift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    /** Memoriza con claves exactas: no altera ningún resultado. */
+    public static CachedProblem exact(Problem delegate, long maxBytes) {
+        return new CachedProblem(delegate, 0, maxBytes);
+    }
+
+    @Override
+    public EvaluationPrecision precision() {
+        return tiered == null ? EvaluationPrecision.EXACT : tiered.precision();
+    }
+
+    @Override
+    public double evaluate(Particle p) {
+        return value(p.x(), p.y(), precision());
+    }
+
+    @Override
+    public double evaluate(Particle p, EvaluationPrecision precision) {
+        if (precision == precision()) return value(p.x(), p.y(), precision);
+        return tiered == null ? delegate.evaluate(p) : tiered.evaluate(p, precision);
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        evaluate(xs, ys, out, from, to, precision());
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to, EvaluationPrecision precision) {
+        if (precision != precision()) {
+            if (tiered == null) delegate.evaluate(xs, ys, out, from, to);
+            else tiered.evaluate(xs, ys, out, from, to, precision);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = value(xs[i], ys[i], precision);
+        }
+    }
+
+    private double value(double x, double y, EvaluationPrecision precision) {
+        long kx, ky;
+        if (resolution == 0) {
+            kx = Double.doubleToRawLongBits(x);
+            ky = Double.doubleToRawLongBits(y);
+        } else {
+            kx = Math.round(x * inverse);
+            ky = Math.round(y * inverse);
+        }
+        long h = hash(kx, ky);
+        Segment segment = segments[segmentShift == 64 ? 0 : (int) (h >>> segmentShift)];
+
+        double cached = segment.get(kx, ky, (int) h, precision);
+        if (Double.doubleToRawLongBits(cached) != MISS_BITS) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Particle p = new Particle(x, y, 0, 0);
+        double value = tiered == null ? delegate.evaluate(p) : tiered.evaluate(p, precision);
+        if (Double.doubleToRawLongBits(value) != MISS_BITS && segment.put(kx, ky, (int) h, value, precision)) {
+            evictions.increment();
+        }
+        return value;
+    }
+
+    private static long hash(long kx, long ky) {
+        long h = kx * 0x9E37_79B9_7F4A_7C15L ^ ky;
+        h ^= h >>> 33;
+        h *= 0xff51_afd7_ed55_8ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ce_b9fe_1a85_ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    @Override public double xMin() { return delegate.xMin(); }
+    @Override public double xMax() { return delegate.xMax(); }
+    @Override public double yMin() { return delegate.yMin(); }
+    @Override public double yMax() { return delegate.yMax(); }
+
+    /** Evaluaciones resueltas con la tabla. */
+    public long hits() { return hits.sum(); }
+
+    /** Evaluaciones que llamaron a la función original. */
+    public long misses() { return misses.sum(); }
+
+    /** Entradas desalojadas para dejar sitio a otras. */
+    public long evictions() { return evictions.sum(); }
+
+    /** Fracción de evaluaciones resueltas con la tabla (NaN si aún no hubo ninguna). */
+    public double hitRate() {
+        long h = hits(), total = h + misses();
+        return total == 0 ? Double.NaN : (double) h / total;
+    }
+
+    /** Entradas memorizadas como máximo. */
+    public int capacity() {
+        int total = 0;
+        for (Segment s : segments) total += s.capacity;
+        return total;
+    }
+
+    /** Entradas memorizadas actualmente. */
+    public int size() {
+        int total = 0;
+        for (Segment s : segments) {
+            synchronized (s) {
+                total += s.size;
+            }
+        }
+        return total;
+    }
+
+    /** Memoria ocupada por la tabla, en bytes. */
+    public long memoryBytes() {
+        long slots = 0;
+        for (Segment s : segments) slots += s.state.length;
+        return slots * SLOT_BYTES;
+    }
+
+    /** Pone a cero los contadores de aciertos, fallos y desalojos. */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "aciertos=" + hits() + ";fallos=" + misses() + ";desalojos=" + evictions()
+                + ";entradas=" + size() + "/" + capacity();
+    }
+
+    /**
+     * Tabla con sondeo lineal. Se llena como mucho hasta la mitad de sus ranuras para que
+     * las búsquedas sean cortas; el borrado desplaza hacia atrás las entradas siguientes,
+     * así que no hacen falta lápidas.
+     */
+    private static final class Segment {
+        private static final byte EMPTY = 0, USED = 1, REFERENCED = 2;
+
+        final long[] kx, ky;
+        final double[] values;
+        final byte[] state;
+        final int mask;
+        final int capacity;
+        int size;
+        int hand;
+        // Nivel de precisión de los valores memorizados
+        EvaluationPrecision precision;
+
+        Segment(int slots) {
+            kx = new long[slots];
+            ky = new long[slots];
+            values = new double[slots];
+            state = new byte[slots];
+            mask = slots - 1;
+            capacity = slots / 2;
+        }
+
+        /** Busca la entrada; si el nivel pedido no es el de la tabla, la vacía antes. */
+        synchronized double get(long x, long y, int h, EvaluationPrecision precision) {
+            if (precision != this.precision) {
+                clear();
+                this.precision = precision;
+                return MISS;
+            }
+            for (int i = h & mask; state[i] != EMPTY; i = (i + 1) & mask) {
+                if (kx[i] == x && ky[i] == y) {
+                    state[i] = REFERENCED;
+                    return values[i];
+                }
+            }
+            return MISS;
+        }
+
+        /**
+         * Inserta o actualiza; devuelve true si tuvo que desalojar una entrada. Un valor
+         * con un nivel distinto del de la tabla (evaluado antes de un cambio) se descarta.
+         */
+        synchronized boolean put(long x, long y, int h, double value, EvaluationPrecision precision) {
+            if (precision != this.precision) return false;
+            int i = h & mask;
+            for (; state[i] != EMPTY; i = (i + 1) & mask) {
+                if (kx[i] == x && ky[i] == y) {
+                    values[i] = value; // otro hilo la evaluó a la vez
+                    return false;
+                }
+            }
+            boolean evicted = false;
+            if (size == capacity) {
+                evict();
+                evicted = true;
+                // El borrado pudo desplazar entradas: buscar de nuevo la ranura libre
+                for (i = h & mask; state[i] != EMPTY; i = (i + 1) & mask) { }
+            }
+            kx[i] = x;
+            ky[i] = y;
+            values[i] = value;
+            state[i] = USED;
+            size++;
+            return evicted;
+        }
+
+        private void clear() {
+            Arrays.fill(state, EMPTY);
+            size = 0;
+            hand = 0;
+        }
+
+        /** CLOCK: las entradas consultadas desde la última vuelta tienen una segunda oportunidad. */
+        private void evict() {
+            while (true) {
+                byte s = state[hand];
+                if (s == REFERENCED) {
+                    state[hand] = USED;
+                } else if (s == USED) {
+                    remove(hand);
+                    return;
+                }
+                hand = (hand + 1) & mask;
+            }
+        }
+
+        private void remove(int i) {
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (state[j] == EMPTY) break;
+                int home = (int) hash(kx[j], ky[j]) & mask;
+                // La entrada j se queda si su posición natural está en (i, j] (cíclicamente)
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (stays) continue;
+                kx[i] = kx[j];
+                ky[i] = ky[j];
+                values[i] = values[j];
+                state[i] = state[j];
+                i = j;
+            }
+            state[i] = EMPTY;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Escribe el progreso en un fichero CSV con buffer, con el mismo formato que
+ * {@link ProgressSink#console()}. Cada campo se escribe por separado en el buffer,
+ * sin concatenar cadenas por iteración.
+ */
+public class CsvProgressSink implements ProgressSink {
+    private final Writer out;
+
+    /**
+     * @param file fichero de salida (se sobrescribe)
+     * @throws IOException si no se puede crear el fichero
+     */
+    public CsvProgressSink(Path file) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    @Override
+    public void start() {
+        try {
+            out.write("Iteración;Mejor solución;Valor\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onIteration(int iteration, double bestX, double bestY, double bestValue) {
+        try {
+            out.write(Integer.toString(iteration));
+            out.write(";(");
+            out.write(Double.toString(bestX));
+            out.write(", ");
+            out.write(Double.toString(bestY));
+            out.write(");");
+            out.write(Double.toString(bestValue));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void end() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package core;
+
+/**
+ * Nivel de precisión con que un {@link TieredProblem} evalúa sus funciones
+ * trascendentes.
+ */
+public enum EvaluationPrecision {
+    /** {@link StrictMath}: mismos bits en cualquier JVM y plataforma. */
+    STRICT,
+    /** {@link Math} (intrínsecos de la JVM, error ≤ 1 ulp). Es el nivel por defecto. */
+    EXACT,
+    /**
+     * Aproximaciones polinómicas con error máximo documentado en cada función. Pensado
+     * para el principio de la ejecución, cuando el enjambre está lejos del óptimo y
+     * esa precisión no cambia ninguna decisión.
+     */
+    FAST
+}
@@ -0,0 +1,322 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PSO con modelo de islas: K subenjambres independientes, cada uno en su hilo.
+ * <p>
+ * Cada isla ejecuta el algoritmo de {@link SimplePSO} sobre su propio subenjambre
+ * (en arrays primitivos, como {@link ArrayPSO}). Cada {@code migrationInterval}
+ * iteraciones envía su mejor solución a las islas vecinas según la
+ * {@link Topology} y recoge los migrantes que le hayan llegado; un migrante mejor
+ * que la peor partícula de la isla la sustituye. Los buzones son colas sin
+ * bloqueos ({@link ConcurrentLinkedQueue}), así que ninguna isla espera a otra.
+ * </p>
+ * <p>
+ * Opcionalmente se puede fijar un valor objetivo: en cuanto una isla lo alcanza,
+ * todas terminan y el resultado informa del tiempo empleado.
+ * </p>
+ */
+public class IslandPSO {
+
+    /** Topología de migración entre islas. */
+    public enum Topology {
+        /** Cada isla envía a la siguiente (k -> k+1). */
+        RING,
+        /** Cada isla envía a todas las demás. */
+        FULLY_CONNECTED,
+        /** Cada isla envía a otra elegida al azar en cada migración. */
+        RANDOM
+    }
+
+    /** Mejor solución de una isla, enviada a otras islas. */
+    private record Migrant(double x, double y, double value) { }
+
+    /**
+     * Resultado de una ejecución.
+     *
+     * @param best mejor partícula global
+     * @param bestValue valor de la mejor partícula global
+     * @param islandBestValues mejor valor de cada isla
+     * @param iterations iteraciones completadas por la isla que terminó más tarde
+     * @param targetReached si alguna isla alcanzó el valor objetivo
+     * @param elapsedNanos tiempo de reloj de la ejecución
+     */
+    public record Result(Particle best, double bestValue, double[] islandBestValues, int iterations,
+                         boolean targetReached, long elapsedNanos) { }
+
+    private final int numIslands;
+    private final int particlesPerIsland;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final Problem problem;
+    private final Topology topology;
+    private final int migrationInterval;
+    private double targetValue = Double.NEGATIVE_INFINITY;
+    private long seed = System.nanoTime();
+    // Bandera compartida para detener todas las islas al alcanzar el objetivo
+    private volatile boolean stop;
+
+    /**
+     * @param numIslands número de islas (y de hilos)
+     * @param particlesPerIsland partículas de cada isla
+     * @param numIterations iteraciones máximas de cada isla
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor de la isla)
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     * @param topology topología de migración
+     * @param migrationInterval iteraciones entre migraciones (>= 1)
+     */
+    public IslandPSO(int numIslands, int particlesPerIsland, int numIterations, double w, double c1, double c2,
+                     Problem problem, Topology topology, int migrationInterval) {
+        if (numIslands < 1) throw new IllegalArgumentException("numIslands debe ser >= 1");
+        if (migrationInterval < 1) throw new IllegalArgumentException("migrationInterval debe ser >= 1");
+        this.numIslands = numIslands;
+        this.particlesPerIsland = particlesPerIsland;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.topology = topology;
+        this.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * Fija la semilla de la que se derivan las semillas de cada isla.
+     *
+     * @param seed semilla maestra
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Termina la ejecución en cuanto alguna isla encuentre un valor menor o igual que el dado.
+     *
+     * @param targetValue valor objetivo
+     */
+    public void setTargetValue(double targetValue) {
+        this.targetValue = targetValue;
+    }
+
+    /**
+     * Ejecuta todas las islas en paralelo y espera a que terminen.
+     * <p>
+     * Si se interrumpe el hilo que llama, las islas paran al acabar la iteración en
+     * curso, se devuelve lo mejor encontrado hasta entonces y el estado de
+     * interrupción queda restaurado.
+     * </p>
+     *
+     * @return mejor global, mejores por isla y estadísticas de la ejecución
+     */
+    public Result run() {
+        stop = false;
+        List<ConcurrentLinkedQueue<Migrant>> mailboxes = new ArrayList<>(numIslands);
+        for (int k = 0; k < numIslands; k++) {
+            mailboxes.add(new ConcurrentLinkedQueue<>());
+        }
+        Random seeds = new Random(seed);
+        Island[] islands = new Island[numIslands];
+        for (int k = 0; k < numIslands; k++) {
+            islands[k] = new Island(k, seeds.nextLong(), mailboxes);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(numIslands);
+        boolean interrupted = false;
+        try {
+            List<Future<?>> futures = new ArrayList<>(numIslands);
+            for (Island island : islands) {
+                futures.add(executor.submit(island));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fallo en una isla", e.getCause());
+        } finally {
+            // Las islas paran al acabar la iteración en curso; el resultado se construye
+            // con sus campos, así que hay que esperar a que terminen de escribirlos.
+            stop = true;
+            executor.shutdown();
+            interrupted |= awaitTermination(executor);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Island best = islands[0];
+        double[] islandBest = new double[numIslands];
+        int iterations = 0;
+        boolean reached = false;
+        for (Island island : islands) {
+            islandBest[island.id] = island.gValue;
+            iterations = Math.max(iterations, island.iterations);
+            reached |= island.gValue <= targetValue;
+            if (island.gValue < best.gValue) {
+                best = island;
+            }
+        }
+        return new Result(new Particle(best.gx, best.gy, best.gvx, best.gvy), best.gValue, islandBest,
+                iterations, reached, elapsed);
+    }
+
+    /** Espera a que terminen las islas aunque llegue otra interrupción; true si llegó alguna. */
+    private static boolean awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    return interrupted;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+
+    private final class Island implements Runnable {
+        final int id;
+        final Random rand;
+        final List<ConcurrentLinkedQueue<Migrant>> mailboxes;
+        final double[] x, y, vx, vy, bestX, bestY, bestValue;
+        double gx, gy, gvx, gvy;
+        double gValue = Double.POSITIVE_INFINITY;
+        int iterations;
+
+        Island(int id, long seed, List<ConcurrentLinkedQueue<Migrant>> mailboxes) {
+            this.id = id;
+            this.rand = new Random(seed);
+            this.mailboxes = mailboxes;
+            int n = particlesPerIsland;
+            x = new double[n]; y = new double[n]; vx = new double[n]; vy = new double[n];
+            bestX = new double[n]; bestY = new double[n]; bestValue = new double[n];
+        }
+
+        @Override
+        public void run() {
+            int n = particlesPerIsland;
+            if (n == 0) return;
+            double xMin = problem.xMin(), xMax = problem.xMax();
+            double yMin = problem.yMin(), yMax = problem.yMax();
+            double xrange = xMax - xMin, yrange = yMax - yMin;
+            double vmax = Math.max(xrange, yrange);
+            boolean approximated = TieredProblem.isApproximate(problem);
+
+            for (int i = 0; i < n; i++) {
+                x[i] = xMin + rand.nextDouble() * xrange;
+                y[i] = yMin + rand.nextDouble() * yrange;
+                vx[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+                vy[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+                bestX[i] = x[i];
+                bestY[i] = y[i];
+                bestValue[i] = problem.evaluate(new Particle(x[i], y[i], vx[i], vy[i]));
+                if (bestValue[i] < gValue) {
+                    gValue = bestValue[i];
+                    gx = x[i]; gy = y[i]; gvx = vx[i]; gvy = vy[i];
+                }
+            }
+
+            for (int iters = 1; iters <= numIterations && !stop; iters++) {
+                approximated |= TieredProblem.isApproximate(problem);
+                for (int i = 0; i < n; i++) {
+                    double r1 = rand.nextDouble();
+                    double r2 = rand.nextDouble();
+                    double px = x[i];
+                    double py = y[i];
+                    double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+                    double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+                    nvx = Math.max(-vmax, Math.min(vmax, nvx));
+                    nvy = Math.max(-vmax, Math.min(vmax, nvy));
+                    px = Math.max(xMin, Math.min(xMax, px + nvx));
+                    py = Math.max(yMin, Math.min(yMax, py + nvy));
+                    x[i] = px; y[i] = py; vx[i] = nvx; vy[i] = nvy;
+
+                    double value = problem.evaluate(new Particle(px, py, nvx, nvy));
+                    if (value < bestValue[i]) {
+                        bestX[i] = px;
+                        bestY[i] = py;
+                        bestValue[i] = value;
+                    }
+                    if (value < gValue) {
+                        gValue = value;
+                        gx = px; gy = py; gvx = nvx; gvy = nvy;
+                    }
+                }
+                iterations = iters;
+
+                if (gValue <= targetValue) {
+                    stop = true;
+                    break;
+                }
+                if (numIslands > 1 && iters % migrationInterval == 0) {
+                    migrate();
+                }
+            }
+
+            // Con evaluaciones aproximadas (propias o de los migrantes), el mejor de la isla
+            // se elige de nuevo con precisión completa
+            if (approximated) {
+                TieredProblem tiered = (TieredProblem) problem;
+                int b = TieredProblem.verifyBests(tiered, bestX, bestY, bestValue, n);
+                gValue = tiered.evaluateExact(new Particle(gx, gy, gvx, gvy));
+                if (bestValue[b] < gValue) {
+                    gValue = bestValue[b];
+                    gx = bestX[b]; gy = bestY[b]; gvx = vx[b]; gvy = vy[b];
+                }
+            }
+        }
+
+        /** Envía el mejor de la isla a sus vecinas y absorbe los migrantes recibidos. */
+        private void migrate() {
+            Migrant out = new Migrant(gx, gy, gValue);
+            switch (topology) {
+                case RING -> mailboxes.get((id + 1) % numIslands).offer(out);
+                case FULLY_CONNECTED -> {
+                    for (int k = 0; k < numIslands; k++) {
+                        if (k != id) mailboxes.get(k).offer(out);
+                    }
+                }
+                case RANDOM -> {
+                    int k = rand.nextInt(numIslands - 1);
+                    mailboxes.get(k >= id ? k + 1 : k).offer(out);
+                }
+            }
+
+            Migrant in;
+            while ((in = mailboxes.get(id).poll()) != null) {
+                // El migrante sustituye a la partícula con peor mejor local si la mejora
+                int worst = 0;
+                for (int i = 1; i < particlesPerIsland; i++) {
+                    if (bestValue[i] > bestValue[worst]) worst = i;
+                }
+                if (in.value() < bestValue[worst]) {
+                    x[worst] = bestX[worst] = in.x();
+                    y[worst] = bestY[worst] = in.y();
+                    vx[worst] = 0;
+                    vy[worst] = 0;
+                    bestValue[worst] = in.value();
+                    if (in.value() < gValue) {
+                        gValue = in.value();
+                        gx = in.x(); gy = in.y(); gvx = 0; gvy = 0;
+                    }
+                }
+            }
+        }
+    }
+}
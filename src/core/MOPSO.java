@@ -0,0 +1,226 @@
+package core;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * PSO multiobjetivo (MOPSO de Coello, Pulido y Lechuga, 2004) sobre un
+ * {@link MultiObjectiveProblem}.
+ * <p>
+ * No hay un mejor global: las soluciones no dominadas se guardan en un
+ * {@link ParetoArchive} acotado y cada partícula toma en cada paso un líder distinto del
+ * archivo, elegido con preferencia por los hipercubos menos poblados del frente. El
+ * mejor local se sustituye si la nueva posición lo domina, se conserva si él la domina
+ * y, si no son comparables, se elige uno de los dos al azar.
+ * </p>
+ * <p>
+ * El enjambre se guarda como estructura de arrays, como en {@link ArrayPSO}; los
+ * objetivos de la partícula i ocupan {@code [i * m, (i + 1) * m)}.
+ * </p>
+ * <pre>
+ * MultiObjectiveProblem p = MultiObjectiveProblem.of(new Function2(), new Function10());
+ * ParetoArchive front = new MOPSO(100, 300, 0.4, 1.5, 1.5, p).run();
+ * </pre>
+ */
+public class MOPSO {
+    /** Recibe el archivo tras cada iteración. */
+    public interface ArchiveListener {
+        void onIteration(int iteration, ParetoArchive archive);
+    }
+
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final MultiObjectiveProblem problem;
+    private final Random rand = new Random();
+    // Un generador por partícula derivado de una semilla maestra (null = el generador compartido rand)
+    private RandomStreams streams;
+    // Límite máximo absoluto de la velocidad (vmax). Si es NaN, se deriva del dominio en tiempo de ejecución.
+    private final double vmaxLimit;
+    private final int archiveCapacity;
+    private final int divisions;
+
+    // Estado del enjambre (estructura de arrays)
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] f;
+    private final double[] bestX;
+    private final double[] bestY;
+    private final double[] bestF;
+
+    /**
+     * Constructor con vmax derivado del dominio, un archivo de tantas soluciones como
+     * partículas y 30 divisiones por objetivo en la rejilla.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción al líder del archivo)
+     * @param problem problema multiobjetivo que provee dominio y evaluación
+     */
+    public MOPSO(int numParticles, int numIterations, double w, double c1, double c2, MultiObjectiveProblem problem) {
+        this(numParticles, numIterations, w, c1, c2, Double.NaN, numParticles, 30, problem);
+    }
+
+    /**
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción al líder del archivo)
+     * @param vmax máximo de velocidad absoluta (>=0); NaN para derivarlo del dominio
+     * @param archiveCapacity número máximo de soluciones en el archivo
+     * @param divisions divisiones por objetivo de la rejilla de hipercubos del archivo
+     * @param problem problema multiobjetivo que provee dominio y evaluación
+     */
+    public MOPSO(int numParticles, int numIterations, double w, double c1, double c2, double vmax,
+                 int archiveCapacity, int divisions, MultiObjectiveProblem problem) {
+        if (numParticles < 1) throw new IllegalArgumentException("numParticles debe ser >= 1");
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.vmaxLimit = Double.isNaN(vmax) ? Double.NaN : Math.max(0.0, vmax);
+        this.archiveCapacity = archiveCapacity;
+        this.divisions = divisions;
+        int m = problem.objectives();
+        this.x = new double[numParticles];
+        this.y = new double[numParticles];
+        this.vx = new double[numParticles];
+        this.vy = new double[numParticles];
+        this.f = new double[numParticles * m];
+        this.bestX = new double[numParticles];
+        this.bestY = new double[numParticles];
+        this.bestF = new double[numParticles * m];
+    }
+
+    /**
+     * Fija la semilla del generador aleatorio para obtener ejecuciones reproducibles.
+     *
+     * @param seed semilla del generador
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
+    /**
+     * Usa un generador independiente por partícula, derivado de una semilla maestra, en
+     * lugar del {@link Random} compartido, como {@link SimplePSO#setRandomStreams}. El
+     * archivo descarta soluciones con {@link RandomStreams#shared()}, y cada partícula
+     * elige su líder, sus coeficientes y el desempate de su mejor local con su propio
+     * flujo. Con null se vuelve al generador compartido (y a {@link #setSeed(long)}).
+     *
+     * @param streams flujos por partícula, o null
+     */
+    public void setRandomStreams(RandomStreams streams) {
+        this.streams = streams;
+    }
+
+    /**
+     * Ejecuta el algoritmo.
+     *
+     * @param listener listener que recibe el archivo tras cada iteración, o null
+     * @return el archivo con la aproximación al frente de Pareto
+     */
+    public ParetoArchive run(ArchiveListener listener) {
+        int m = problem.objectives();
+        RandomGenerator[] prng = new RandomGenerator[numParticles];
+        RandomGenerator shared = rand;
+        for (int i = 0; i < numParticles; i++) {
+            prng[i] = streams == null ? rand : streams.particle(i);
+        }
+        if (streams != null) shared = streams.shared();
+        ParetoArchive archive = new ParetoArchive(m, archiveCapacity, divisions, shared);
+
+        // INICIALIZACIÓN -----------------------------------------------------
+
+        double xMin = problem.xMin();
+        double xMax = problem.xMax();
+        double yMin = problem.yMin();
+        double yMax = problem.yMax();
+        double xrange = xMax - xMin;
+        double yrange = yMax - yMin;
+        double vmax = Double.isNaN(this.vmaxLimit) ? Math.max(xrange, yrange) : this.vmaxLimit;
+
+        for (int i = 0; i < numParticles; i++) {
+            RandomGenerator r = prng[i];
+            x[i] = xMin + r.nextDouble() * xrange;
+            y[i] = yMin + r.nextDouble() * yrange;
+            vx[i] = (r.nextDouble() * 2.0 - 1.0) * vmax;
+            vy[i] = (r.nextDouble() * 2.0 - 1.0) * vmax;
+            bestX[i] = x[i];
+            bestY[i] = y[i];
+            problem.evaluate(x[i], y[i], bestF, i * m);
+            archive.add(x[i], y[i], bestF, i * m);
+        }
+
+        // BUCLE PRINCIPAL -----------------------------------------------------
+
+        for (int iters = 1; iters <= numIterations; iters++) {
+            // Los líderes se eligen sobre el archivo de la iteración anterior
+            archive.prepareLeaders();
+            for (int i = 0; i < numParticles; i++) {
+                RandomGenerator r = prng[i];
+                int leader = archive.leader(r);
+                double gx = archive.x(leader);
+                double gy = archive.y(leader);
+                double r1 = r.nextDouble();
+                double r2 = r.nextDouble();
+                double px = x[i];
+                double py = y[i];
+                double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+                double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+
+                // Limitar velocidad
+                nvx = Math.max(-vmax, Math.min(vmax, nvx));
+                nvy = Math.max(-vmax, Math.min(vmax, nvy));
+
+                // Actualizar y clampear la posición al dominio
+                x[i] = Math.max(xMin, Math.min(xMax, px + nvx));
+                y[i] = Math.max(yMin, Math.min(yMax, py + nvy));
+                vx[i] = nvx;
+                vy[i] = nvy;
+            }
+
+            for (int i = 0; i < numParticles; i++) {
+                int base = i * m;
+                problem.evaluate(x[i], y[i], f, base);
+                archive.add(x[i], y[i], f, base);
+                if (replacesBest(base, m, prng[i])) {
+                    bestX[i] = x[i];
+                    bestY[i] = y[i];
+                    System.arraycopy(f, base, bestF, base, m);
+                }
+            }
+
+            if (listener != null) {
+                listener.onIteration(iters, archive);
+            }
+        }
+
+        return archive;
+    }
+
+    public ParetoArchive run() {
+        return run(null);
+    }
+
+    /** true si la posición actual debe sustituir al mejor local de la partícula. */
+    private boolean replacesBest(int base, int m, RandomGenerator rand) {
+        boolean better = false, worse = false;
+        for (int k = 0; k < m; k++) {
+            double a = f[base + k], b = bestF[base + k];
+            if (a < b) better = true;
+            else if (a > b) worse = true;
+        }
+        if (better != worse) return better;
+        return better && rand.nextBoolean(); // no comparables: al azar; iguales: se conserva
+    }
+}
@@ -0,0 +1,58 @@
+package core;
+
+/**
+ * Problema con varios objetivos a minimizar a la vez sobre el mismo dominio 2D. No hay
+ * un único óptimo sino un frente de Pareto de compromisos, que {@link MOPSO} aproxima
+ * en un {@link ParetoArchive}.
+ */
+public interface MultiObjectiveProblem {
+    /** Número de objetivos (al menos 2). */
+    int objectives();
+
+    /** Evalúa los objetivos del punto (x, y) y los escribe en out[offset .. offset + objectives()). */
+    void evaluate(double x, double y, double[] out, int offset);
+
+    /** Dominio obligatorio: límites en X e Y. */
+    double xMin();
+    double xMax();
+    double yMin();
+    double yMax();
+
+    /**
+     * Combina problemas de un objetivo (por ejemplo {@code Function2} y
+     * {@code Function10}) en uno multiobjetivo. El dominio es la intersección de los
+     * dominios de todos ellos.
+     *
+     * @throws IllegalArgumentException si hay menos de dos o sus dominios no se cortan
+     */
+    static MultiObjectiveProblem of(Problem... problems) {
+        if (problems.length < 2) throw new IllegalArgumentException("Se necesitan al menos dos objetivos");
+        double xMin = Double.NEGATIVE_INFINITY, xMax = Double.POSITIVE_INFINITY;
+        double yMin = Double.NEGATIVE_INFINITY, yMax = Double.POSITIVE_INFINITY;
+        for (Problem p : problems) {
+            xMin = Math.max(xMin, p.xMin());
+            xMax = Math.min(xMax, p.xMax());
+            yMin = Math.max(yMin, p.yMin());
+            yMax = Math.min(yMax, p.yMax());
+        }
+        if (!(xMin < xMax) || !(yMin < yMax)) throw new IllegalArgumentException("Los dominios no se cortan");
+        Problem[] objectives = problems.clone();
+        double x0 = xMin, x1 = xMax, y0 = yMin, y1 = yMax;
+        return new MultiObjectiveProblem() {
+            @Override public int objectives() { return objectives.length; }
+
+            @Override
+            public void evaluate(double x, double y, double[] out, int offset) {
+                Particle p = new Particle(x, y, 0, 0);
+                for (int k = 0; k < objectives.length; k++) {
+                    out[offset + k] = objectives[k].evaluate(p);
+                }
+            }
+
+            @Override public double xMin() { return x0; }
+            @Override public double xMax() { return x1; }
+            @Override public double yMin() { return y0; }
+            @Override public double yMax() { return y1; }
+        };
+    }
+}
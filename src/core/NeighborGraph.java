@@ -0,0 +1,71 @@
+package core;
+
+/**
+ * Grafo de vecindad de un enjambre con grado fijo, guardado en un único array.
+ * <p>
+ * Para cada partícula j, {@code informed[j * degree + t]} son las partículas cuyo
+ * vecindario incluye a j (a las que j "informa"). Así, cuando j mejora su mejor local,
+ * solo hay que revisar el mejor de vecindario de esas partículas, sin recorrer los
+ * vecinos de todo el enjambre en cada paso. Los mejores de vecindario se guardan como
+ * índices de partícula en un {@code int[]}: como los mejores locales solo mejoran, el
+ * índice sigue siendo válido mientras no aparezca otro mejor.
+ * </p>
+ */
+public final class NeighborGraph {
+    private final int size;
+    private final int degree;
+    private final int[] informed;
+
+    /**
+     * @param size número de partículas
+     * @param degree partículas informadas por cada una
+     * @param informed array de {@code size * degree} índices (se usa sin copiar)
+     */
+    public NeighborGraph(int size, int degree, int[] informed) {
+        if (informed.length != size * degree) throw new IllegalArgumentException("informed debe tener size * degree elementos");
+        this.size = size;
+        this.degree = degree;
+        this.informed = informed;
+    }
+
+    /** Número de partículas. */
+    public int size() {
+        return size;
+    }
+
+    /** Partículas informadas por cada una. */
+    public int degree() {
+        return degree;
+    }
+
+    /** t-ésima partícula informada por j. */
+    public int informed(int j, int t) {
+        return informed[j * degree + t];
+    }
+
+    /**
+     * Calcula desde cero el mejor de cada vecindario.
+     *
+     * @param bestValue mejor valor local de cada partícula
+     * @param lbest salida: índice del mejor local del vecindario de cada partícula
+     */
+    public void initBest(double[] bestValue, int[] lbest) {
+        for (int i = 0; i < size; i++) lbest[i] = i;
+        for (int j = 0; j < size; j++) improved(j, bestValue, lbest);
+    }
+
+    /**
+     * Propaga la mejora del mejor local de j a los vecindarios que lo incluyen.
+     *
+     * @param j partícula cuyo mejor local acaba de mejorar
+     * @param bestValue mejor valor local de cada partícula
+     * @param lbest índice del mejor local del vecindario de cada partícula
+     */
+    public void improved(int j, double[] bestValue, int[] lbest) {
+        double v = bestValue[j];
+        for (int k = j * degree, end = k + degree; k < end; k++) {
+            int i = informed[k];
+            if (v < bestValue[lbest[i]]) lbest[i] = j;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package core;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Topología de vecindad del enjambre: de qué partículas toma cada una su término social.
+ * <p>
+ * Con {@link #global()} todas siguen al mejor global, como en el PSO clásico. Las
+ * topologías locales ({@link #ring(int)}, {@link #vonNeumann()}, {@link #randomK(int)})
+ * propagan la información más despacio y mantienen la diversidad durante más tiempo,
+ * lo que reduce la convergencia prematura en funciones multimodales como Rastrigin o
+ * Ackley. Ver {@link SimplePSO#setNeighborhood(Neighborhood)}.
+ * </p>
+ */
+public interface Neighborhood {
+
+    /**
+     * Construye el grafo de vecindad para un enjambre de {@code n} partículas.
+     *
+     * @return el grafo, o null si la topología es global
+     */
+    NeighborGraph connect(int n, RandomGenerator rand);
+
+    /** True si el grafo debe reconstruirse cuando el mejor global no mejora en una iteración. */
+    default boolean rewireOnStagnation() {
+        return false;
+    }
+
+    /** Todas las partículas siguen al mejor global. */
+    static Neighborhood global() {
+        return (n, rand) -> null;
+    }
+
+    /** Anillo: cada partícula ve a las {@code k} anteriores, a las {@code k} siguientes y a sí misma. */
+    static Neighborhood ring(int k) {
+        if (k < 1) throw new IllegalArgumentException("k debe ser >= 1");
+        return (n, rand) -> {
+            int degree = 2 * k + 1;
+            int[] informed = new int[n * degree];
+            for (int j = 0; j < n; j++) {
+                for (int d = -k; d <= k; d++) {
+                    informed[j * degree + d + k] = Math.floorMod(j + d, n);
+                }
+            }
+            return new NeighborGraph(n, degree, informed);
+        };
+    }
+
+    /**
+     * Rejilla de von Neumann: las partículas se colocan por filas en una rejilla toroidal
+     * de {@code ceil(sqrt(n))} columnas y cada una ve a sí misma y a sus vecinas de arriba,
+     * abajo, izquierda y derecha. Si n no llena la rejilla, los índices se recorren de
+     * forma helicoidal (módulo n).
+     */
+    static Neighborhood vonNeumann() {
+        return (n, rand) -> {
+            int cols = (int) Math.ceil(Math.sqrt(n));
+            int[] informed = new int[n * 5];
+            for (int j = 0; j < n; j++) {
+                int k = j * 5;
+                informed[k] = j;
+                informed[k + 1] = Math.floorMod(j - 1, n);
+                informed[k + 2] = Math.floorMod(j + 1, n);
+                informed[k + 3] = Math.floorMod(j - cols, n);
+                informed[k + 4] = Math.floorMod(j + cols, n);
+            }
+            return new NeighborGraph(n, 5, informed);
+        };
+    }
+
+    /**
+     * Topología aleatoria adaptativa (como en SPSO 2011): cada partícula informa a sí
+     * misma y a {@code k} partículas elegidas al azar, y el grafo se sortea de nuevo tras
+     * cada iteración en la que el mejor global no mejora.
+     */
+    static Neighborhood randomK(int k) {
+        if (k < 1) throw new IllegalArgumentException("k debe ser >= 1");
+        return new Neighborhood() {
+            @Override
+            public NeighborGraph connect(int n, RandomGenerator rand) {
+                int degree = k + 1;
+                int[] informed = new int[n * degree];
+                for (int j = 0; j < n; j++) {
+                    informed[j * degree] = j;
+                    for (int t = 1; t <= k; t++) {
+                        informed[j * degree + t] = rand.nextInt(n);
+                    }
+                }
+                return new NeighborGraph(n, degree, informed);
+            }
+
+            @Override
+            public boolean rewireOnStagnation() {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,315 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PSO que reparte el bucle de partículas entre varios hilos.
+ * <p>
+ * El enjambre se guarda como estructura de arrays (igual que {@link ArrayPSO}) y se
+ * divide en bloques contiguos de partículas que se procesan en un {@link ExecutorService}
+ * ({@link ForkJoinPool#commonPool()} por defecto). Cada bloque mueve sus partículas y
+ * las evalúa con la API por lotes de {@link Problem}.
+ * </p>
+ * <p>
+ * Hay dos modos de actualizar el mejor global:
+ * <ul>
+ *   <li>{@link Mode#SYNC}: todas las partículas de una iteración usan el gbest del
+ *   final de la iteración anterior y los mejores de cada bloque se combinan al terminar.
+ *   Cada partícula tiene su propio generador aleatorio derivado de la semilla, así que
+ *   el resultado es idéntico bit a bit con cualquier número de hilos.</li>
+ *   <li>{@link Mode#ASYNC}: cada bloque publica su mejor en un {@link AtomicReference}
+ *   sin bloqueos y los bloques siguientes lo ven de inmediato. Converge antes en
+ *   iteraciones, pero el resultado depende del orden de planificación.</li>
+ * </ul>
+ * A diferencia de {@link SimplePSO}, el modo síncrono no actualiza el gbest partícula a
+ * partícula, por lo que no reproduce su trayectoria; sí reproduce la de una ejecución
+ * en un solo hilo de este mismo motor.
+ * </p>
+ */
+public class ParallelPSO {
+
+    /** Modo de actualización del mejor global. */
+    public enum Mode { SYNC, ASYNC }
+
+    /** Mejor global inmutable, publicado de forma atómica en el modo asíncrono. */
+    private record Best(double x, double y, double vx, double vy, double value, int index) {
+        boolean betterThan(Best other) {
+            return value < other.value || (value == other.value && index < other.index);
+        }
+    }
+
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final Problem problem;
+    private final double vmaxLimit;
+    private final Mode mode;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private long seed = System.nanoTime();
+    private RandomStreams streams;
+
+    // Estado del enjambre (estructura de arrays)
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] bestX;
+    private final double[] bestY;
+    private final double[] bestValue;
+    private final double[] value;
+    private final RandomGenerator[] rands;
+
+    /**
+     * Constructor con vmax derivado del dominio, modo síncrono y el pool común.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     */
+    public ParallelPSO(int numParticles, int numIterations, double w, double c1, double c2, Problem problem) {
+        this(numParticles, numIterations, w, c1, c2, Double.NaN, problem, Mode.SYNC, ForkJoinPool.commonPool(), 0);
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param vmax máximo de velocidad absoluta (>=0); NaN para derivarlo del dominio
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     * @param mode modo de actualización del mejor global
+     * @param executor ejecutor en el que se procesan los bloques de partículas
+     * @param chunkSize partículas por bloque; 0 para elegirlo según el paralelismo disponible
+     */
+    public ParallelPSO(int numParticles, int numIterations, double w, double c1, double c2, double vmax,
+                       Problem problem, Mode mode, ExecutorService executor, int chunkSize) {
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.vmaxLimit = Double.isNaN(vmax) ? Double.NaN : Math.max(0.0, vmax);
+        this.mode = mode;
+        this.executor = executor;
+        if (chunkSize <= 0) {
+            // Unos cuantos bloques por hilo para equilibrar la carga
+            int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+            chunkSize = Math.max(1, (numParticles + 4 * parallelism - 1) / (4 * parallelism));
+        }
+        this.chunkSize = chunkSize;
+        this.x = new double[numParticles];
+        this.y = new double[numParticles];
+        this.vx = new double[numParticles];
+        this.vy = new double[numParticles];
+        this.bestX = new double[numParticles];
+        this.bestY = new double[numParticles];
+        this.bestValue = new double[numParticles];
+        this.value = new double[numParticles];
+        this.rands = new RandomGenerator[numParticles];
+    }
+
+    /**
+     * Fija la semilla maestra de la que se derivan los generadores de cada partícula.
+     *
+     * @param seed semilla maestra
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Deriva los generadores de cada partícula de {@code streams} en lugar de dividir un
+     * {@link SplittableRandom} con la semilla de {@link #setSeed(long)}, para reproducir
+     * un barrido de semillas con {@link RandomStreams#run(long)}.
+     *
+     * @param streams flujos por partícula, o null para volver a la semilla maestra
+     */
+    public void setRandomStreams(RandomStreams streams) {
+        this.streams = streams;
+    }
+
+    /**
+     * Ejecuta el algoritmo PSO.
+     *
+     * @param listener listener que recibe el estado tras cada iteración, o null
+     * @return la mejor partícula global encontrada
+     */
+    public Particle run(SimplePSO.PSOListener listener) {
+        if (numParticles == 0) {
+            return null; // caso extremo: no hay partículas
+        }
+
+        // INICIALIZACIÓN -----------------------------------------------------
+
+        double xMin = problem.xMin();
+        double xMax = problem.xMax();
+        double yMin = problem.yMin();
+        double yMax = problem.yMax();
+        double xrange = xMax - xMin;
+        double yrange = yMax - yMin;
+        double vmax = Double.isNaN(this.vmaxLimit) ? Math.max(xrange, yrange) : this.vmaxLimit;
+
+        // Un generador independiente por partícula: el reparto entre hilos no altera la secuencia
+        SplittableRandom master = streams == null ? new SplittableRandom(seed) : null;
+        for (int i = 0; i < numParticles; i++) {
+            RandomGenerator r = master != null ? master.split() : streams.particle(i);
+            rands[i] = r;
+            x[i] = xMin + r.nextDouble() * xrange;
+            y[i] = yMin + r.nextDouble() * yrange;
+            vx[i] = (r.nextDouble() * 2.0 - 1.0) * vmax;
+            vy[i] = (r.nextDouble() * 2.0 - 1.0) * vmax;
+            bestX[i] = x[i];
+            bestY[i] = y[i];
+        }
+        boolean approximated = TieredProblem.isApproximate(problem);
+        problem.evaluate(x, y, bestValue, 0, numParticles);
+
+        Best globalBest = null;
+        for (int i = 0; i < numParticles; i++) {
+            Best candidate = new Best(x[i], y[i], vx[i], vy[i], bestValue[i], i);
+            if (globalBest == null || candidate.betterThan(globalBest)) {
+                globalBest = candidate;
+            }
+        }
+        AtomicReference<Best> published = new AtomicReference<>(globalBest);
+        ArraySwarmView view = new ArraySwarmView(x, y, vx, vy, bestX, bestY, bestValue);
+
+        int numChunks = (numParticles + chunkSize - 1) / chunkSize;
+        List<Callable<Best>> tasks = new ArrayList<>(numChunks);
+        for (int c = 0; c < numChunks; c++) {
+            int from = c * chunkSize;
+            int to = Math.min(numParticles, from + chunkSize);
+            tasks.add(() -> step(from, to, published, vmax, xMin, xMax, yMin, yMax));
+        }
+
+        // BUCLE PRINCIPAL -----------------------------------------------------
+
+        for (int iters = 1; iters <= numIterations; iters++) {
+            approximated |= TieredProblem.isApproximate(problem);
+            List<Future<Best>> results;
+            try {
+                results = executor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // Combinar los mejores de cada bloque (en orden de bloque para que sea determinista)
+            Best iterationBest = published.get();
+            for (Future<Best> f : results) {
+                Best chunkBest = join(f);
+                if (chunkBest != null && chunkBest.betterThan(iterationBest)) {
+                    iterationBest = chunkBest;
+                }
+            }
+            published.set(iterationBest);
+
+            if (listener != null) {
+                listener.onIteration(iters, view.update(iters, iterationBest.x(), iterationBest.y(), iterationBest.value()));
+            }
+        }
+
+        // Con evaluaciones aproximadas, el mejor se elige de nuevo con precisión completa
+        if (approximated) {
+            int b = TieredProblem.verifyBests((TieredProblem) problem, bestX, bestY, bestValue, numParticles);
+            return new Particle(bestX[b], bestY[b], vx[b], vy[b]);
+        }
+        return toParticle(published.get());
+    }
+
+    // Compatibilidad con SimplePSO: run() delega a run(null)
+    public Particle run() {
+        return run(null);
+    }
+
+    /**
+     * Mueve y evalúa las partículas [from, to). Devuelve el mejor punto nuevo del bloque
+     * (o null si ninguno mejora su mejor local).
+     */
+    private Best step(int from, int to, AtomicReference<Best> published, double vmax,
+                      double xMin, double xMax, double yMin, double yMax) {
+        // En modo síncrono el gbest publicado no cambia durante la iteración
+        Best g = published.get();
+        double gx = g.x();
+        double gy = g.y();
+        for (int i = from; i < to; i++) {
+            RandomGenerator r = rands[i];
+            double r1 = r.nextDouble();
+            double r2 = r.nextDouble();
+            double px = x[i];
+            double py = y[i];
+            double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+            double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+
+            nvx = Math.max(-vmax, Math.min(vmax, nvx));
+            nvy = Math.max(-vmax, Math.min(vmax, nvy));
+
+            x[i] = Math.max(xMin, Math.min(xMax, px + nvx));
+            y[i] = Math.max(yMin, Math.min(yMax, py + nvy));
+            vx[i] = nvx;
+            vy[i] = nvy;
+        }
+
+        problem.evaluate(x, y, value, from, to);
+
+        int bestIndex = -1;
+        for (int i = from; i < to; i++) {
+            double v = value[i];
+            if (v < bestValue[i]) {
+                bestX[i] = x[i];
+                bestY[i] = y[i];
+                bestValue[i] = v;
+                if (bestIndex < 0 || v < value[bestIndex]) {
+                    bestIndex = i;
+                }
+            }
+        }
+        if (bestIndex < 0) {
+            return null;
+        }
+        Best chunkBest = new Best(x[bestIndex], y[bestIndex], vx[bestIndex], vy[bestIndex], value[bestIndex], bestIndex);
+
+        if (mode == Mode.ASYNC) {
+            // Publicación sin bloqueos: reintentar solo si otro bloque publicó entretanto
+            Best current = published.get();
+            while (chunkBest.betterThan(current) && !published.compareAndSet(current, chunkBest)) {
+                current = published.get();
+            }
+        }
+        return chunkBest;
+    }
+
+    private static Best join(Future<Best> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fallo al evaluar un bloque de partículas", e.getCause());
+        }
+    }
+
+    private static Particle toParticle(Best b) {
+        return new Particle(b.x(), b.y(), b.vx(), b.vy());
+    }
+}
@@ -0,0 +1,582 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Archivo externo acotado de soluciones no dominadas (minimización), para {@link MOPSO}.
+ * <p>
+ * La dominancia se resuelve con un ND-tree (Jaszkiewicz y Lust, 2018): cada nodo guarda
+ * el punto ideal y el nadir de sus soluciones, de modo que con dos comparaciones se
+ * sabe si un candidato está dominado por todo el nodo, si domina a todo el nodo o si no
+ * puede tener relación con ninguna de sus soluciones, y solo se baja a los nodos que
+ * quedan en medio. Insertar cuesta así del orden del logaritmo del tamaño en lugar de
+ * comparar con todo el archivo.
+ * </p>
+ * <p>
+ * La densidad se mide con una rejilla adaptativa de hipercubos en el espacio de
+ * objetivos (Coello, Pulido y Lechuga, 2004), que se recalcula cuando llega una
+ * solución fuera de sus límites. Al superar la capacidad se descarta una solución al
+ * azar del hipercubo más poblado (que se localiza en tiempo constante), y los líderes
+ * se eligen por ruleta con probabilidad inversa a la población del hipercubo, con lo
+ * que se favorecen las zonas poco exploradas del frente.
+ * </p>
+ */
+public final class ParetoArchive {
+    private static final int LEAF_SIZE = 20;
+
+    private final int m;
+    private final int capacity;
+    private final int divisions;
+    private final RandomGenerator rand;
+
+    // Soluciones por ranura; las ranuras libres se reutilizan
+    private double[] xs, ys, fs;
+    private Node[] leafOf;
+    private int[] leafPos;
+    private int[] freeSlots;
+    private int free;
+    // Ranuras vivas en orden compacto, para el acceso por índice
+    private int[] live;
+    private int[] livePos;
+    private int size;
+
+    private Node root = new Node(null);
+
+    // Rejilla de hipercubos
+    private final double[] gridLow, gridStep;
+    private boolean gridValid;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private Cell[] cellOf;
+    private int[] cellPos;
+    // Hipercubos agrupados por población, para encontrar el más poblado en O(1)
+    private final ArrayList<ArrayList<Cell>> buckets = new ArrayList<>();
+    private int maxCount;
+
+    // Ruleta de líderes
+    private Cell[] wheel = new Cell[0];
+    private double[] cumulative = new double[0];
+    private int wheelSize;
+
+    /**
+     * Archivo con 30 divisiones por objetivo en la rejilla.
+     *
+     * @param objectives número de objetivos
+     * @param capacity número máximo de soluciones
+     */
+    public ParetoArchive(int objectives, int capacity) {
+        this(objectives, capacity, 30, new Random());
+    }
+
+    /**
+     * @param objectives número de objetivos
+     * @param capacity número máximo de soluciones
+     * @param divisions divisiones por objetivo de la rejilla de hipercubos
+     * @param rand generador para descartar soluciones y elegir líderes
+     */
+    public ParetoArchive(int objectives, int capacity, int divisions, RandomGenerator rand) {
+        if (objectives < 1) throw new IllegalArgumentException("objectives debe ser >= 1");
+        if (capacity < 1) throw new IllegalArgumentException("capacity debe ser >= 1");
+        if (divisions < 1 || objectives * Math.log(divisions) >= 63 * Math.log(2)) {
+            throw new IllegalArgumentException("divisions fuera de rango para " + objectives + " objetivos");
+        }
+        this.m = objectives;
+        this.capacity = capacity;
+        this.divisions = divisions;
+        this.rand = rand;
+        int slots = capacity + 1;
+        xs = new double[slots];
+        ys = new double[slots];
+        fs = new double[slots * m];
+        leafOf = new Node[slots];
+        leafPos = new int[slots];
+        cellOf = new Cell[slots];
+        cellPos = new int[slots];
+        live = new int[slots];
+        livePos = new int[slots];
+        freeSlots = new int[slots];
+        for (int s = slots - 1; s >= 0; s--) freeSlots[free++] = s;
+        gridLow = new double[m];
+        gridStep = new double[m];
+        for (int c = 0; c <= slots; c++) buckets.add(new ArrayList<>());
+    }
+
+    /**
+     * Intenta añadir la solución (x, y) con objetivos {@code f[offset .. offset + m)}.
+     * Si alguna solución del archivo la domina (o es igual), no se añade; si no, se
+     * eliminan las que ella domina y, si se supera la capacidad, se descarta una del
+     * hipercubo más poblado.
+     *
+     * @return true si la solución queda en el archivo
+     */
+    public boolean add(double x, double y, double[] f, int offset) {
+        if (!update(root, f, offset)) return false;
+        if (root.size == 0) root = new Node(null);
+
+        int slot = freeSlots[--free];
+        xs[slot] = x;
+        ys[slot] = y;
+        System.arraycopy(f, offset, fs, slot * m, m);
+        live[size] = slot;
+        livePos[slot] = size++;
+        insert(slot);
+        addToGrid(slot);
+
+        if (size > capacity) {
+            ArrayList<Cell> crowded = buckets.get(maxCount);
+            Cell cell = crowded.get(rand.nextInt(crowded.size()));
+            int victim = cell.members[rand.nextInt(cell.count)];
+            remove(victim);
+            return victim != slot;
+        }
+        return true;
+    }
+
+    /** Número de soluciones en el archivo. */
+    public int size() { return size; }
+
+    public int objectives() { return m; }
+
+    public int capacity() { return capacity; }
+
+    /** Posición x de la solución i (0 <= i < size()). */
+    public double x(int i) { return xs[live[i]]; }
+
+    /** Posición y de la solución i. */
+    public double y(int i) { return ys[live[i]]; }
+
+    /** Objetivo k de la solución i. */
+    public double objective(int i, int k) { return fs[live[i] * m + k]; }
+
+    /**
+     * Hipervolumen (área en 2D) dominado por el archivo y acotado por el punto de
+     * referencia; las soluciones que no dominan al punto de referencia no cuentan.
+     * Exacto: por barrido en 2 objetivos y por cortes sucesivos en más (coste
+     * O(n^(m-1) log n), pensado para archivos de cientos de soluciones).
+     */
+    public double hypervolume(double... reference) {
+        if (reference.length != m) throw new IllegalArgumentException("El punto de referencia debe tener " + m + " objetivos");
+        double[][] points = new double[size][];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            int base = live[i] * m;
+            boolean inside = true;
+            for (int k = 0; k < m; k++) inside &= fs[base + k] < reference[k];
+            if (inside) points[n++] = Arrays.copyOfRange(fs, base, base + m);
+        }
+        return hypervolume(Arrays.copyOf(points, n), n, m, reference);
+    }
+
+    private static double hypervolume(double[][] points, int n, int dims, double[] reference) {
+        if (n == 0) return 0;
+        int last = dims - 1;
+        Arrays.sort(points, 0, n, (a, b) -> Double.compare(a[last], b[last]));
+        double volume = 0;
+        if (dims == 2) {
+            double best = reference[0];
+            for (int i = 0; i < n; i++) {
+                best = Math.min(best, points[i][0]);
+                double next = i + 1 < n ? points[i + 1][1] : reference[1];
+                volume += (reference[0] - best) * (next - points[i][1]);
+            }
+            return volume;
+        }
+        double[][] slice = new double[n][];
+        for (int i = 0; i < n; i++) {
+            double next = i + 1 < n ? points[i + 1][last] : reference[last];
+            double depth = next - points[i][last];
+            if (depth > 0) {
+                System.arraycopy(points, 0, slice, 0, i + 1);
+                volume += hypervolume(slice, i + 1, dims - 1, reference) * depth;
+            }
+        }
+        return volume;
+    }
+
+    // ND-TREE --------------------------------------------------------------
+
+    private final class Node {
+        Node parent;
+        final double[] ideal = new double[m];
+        final double[] nadir = new double[m];
+        int size;
+        // Hoja
+        int[] items = new int[LEAF_SIZE + 1];
+        int count;
+        // Nodo interno
+        Node[] children;
+        int childCount;
+
+        Node(Node parent) {
+            this.parent = parent;
+        }
+
+        boolean leaf() {
+            return children == null;
+        }
+    }
+
+    /**
+     * Compara el candidato con las soluciones del nodo: devuelve false si alguna lo domina
+     * (o es igual) y elimina las que él domina.
+     */
+    private boolean update(Node n, double[] f, int off) {
+        if (n.size == 0) return true;
+        if (weaklyDominates(n.nadir, 0, f, off)) return false;
+        if (weaklyDominates(f, off, n.ideal, 0)) {
+            removeAll(n);
+            return true;
+        }
+        if (!weaklyDominates(n.ideal, 0, f, off) && !weaklyDominates(f, off, n.nadir, 0)) return true;
+
+        if (n.leaf()) {
+            for (int i = 0; i < n.count; ) {
+                int base = n.items[i] * m;
+                boolean le = true, ge = true;
+                for (int k = 0; k < m; k++) {
+                    double a = fs[base + k], b = f[off + k];
+                    le &= a <= b;
+                    ge &= a >= b;
+                }
+                if (le) return false;
+                if (ge) {
+                    remove(n.items[i]); // el último de la hoja pasa a la posición i
+                } else {
+                    i++;
+                }
+            }
+            return true;
+        }
+        for (int c = 0; c < n.childCount; ) {
+            Node child = n.children[c];
+            if (!update(child, f, off)) return false;
+            if (child.size == 0) {
+                n.children[c] = n.children[--n.childCount];
+                n.children[n.childCount] = null;
+            } else {
+                c++;
+            }
+        }
+        if (n.childCount == 1) pullUp(n);
+        return true;
+    }
+
+    /** Sustituye un nodo interno con un único hijo por ese hijo. */
+    private void pullUp(Node n) {
+        Node child = n.children[0];
+        System.arraycopy(child.ideal, 0, n.ideal, 0, m);
+        System.arraycopy(child.nadir, 0, n.nadir, 0, m);
+        n.children = child.children;
+        n.childCount = child.childCount;
+        n.items = child.items;
+        n.count = child.count;
+        if (n.leaf()) {
+            for (int i = 0; i < n.count; i++) leafOf[n.items[i]] = n;
+        } else {
+            for (int c = 0; c < n.childCount; c++) n.children[c].parent = n;
+        }
+    }
+
+    private void removeAll(Node n) {
+        if (n.leaf()) {
+            while (n.count > 0) remove(n.items[n.count - 1]);
+        } else {
+            for (int c = 0; c < n.childCount; c++) removeAll(n.children[c]);
+        }
+    }
+
+    private void insert(int slot) {
+        int base = slot * m;
+        Node n = root;
+        while (true) {
+            if (n.size == 0) {
+                System.arraycopy(fs, base, n.ideal, 0, m);
+                System.arraycopy(fs, base, n.nadir, 0, m);
+                if (!n.leaf()) {
+                    // Todas sus hojas se vaciaron al descartar soluciones: vuelve a ser hoja
+                    n.children = null;
+                    n.childCount = 0;
+                    n.items = new int[LEAF_SIZE + 1];
+                    n.count = 0;
+                }
+            } else {
+                for (int k = 0; k < m; k++) {
+                    double v = fs[base + k];
+                    if (v < n.ideal[k]) n.ideal[k] = v;
+                    if (v > n.nadir[k]) n.nadir[k] = v;
+                }
+            }
+            n.size++;
+            if (n.leaf()) {
+                leafOf[slot] = n;
+                leafPos[slot] = n.count;
+                n.items[n.count++] = slot;
+                if (n.count > LEAF_SIZE) split(n);
+                return;
+            }
+            n = closestChild(n, base);
+        }
+    }
+
+    /** Hijo no vacío cuyo punto medio entre ideal y nadir está más cerca de la solución. */
+    private Node closestChild(Node n, int base) {
+        Node best = n.children[0];
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int c = 0; c < n.childCount; c++) {
+            Node child = n.children[c];
+            if (child.size == 0) continue;
+            double d = 0;
+            for (int k = 0; k < m; k++) {
+                double t = fs[base + k] - 0.5 * (child.ideal[k] + child.nadir[k]);
+                d += t * t;
+            }
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Divide una hoja llena en m + 1 hojas: las semillas son la solución más alejada de
+     * las demás y, sucesivamente, la más alejada de las semillas ya elegidas; el resto va
+     * a la hoja de la semilla más cercana.
+     */
+    private void split(Node leaf) {
+        int n = leaf.count;
+        int k = Math.min(m + 1, n);
+        int[] items = Arrays.copyOf(leaf.items, n);
+        int[] seeds = new int[k];
+        double[] nearest = new double[n];
+
+        double farthest = -1;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int j = 0; j < n; j++) sum += distance(items[i], items[j]);
+            if (sum > farthest) {
+                farthest = sum;
+                seeds[0] = i;
+            }
+        }
+        for (int i = 0; i < n; i++) nearest[i] = distance(items[i], items[seeds[0]]);
+        for (int s = 1; s < k; s++) {
+            int pick = 0;
+            for (int i = 1; i < n; i++) if (nearest[i] > nearest[pick]) pick = i;
+            seeds[s] = pick;
+            for (int i = 0; i < n; i++) nearest[i] = Math.min(nearest[i], distance(items[i], items[pick]));
+        }
+
+        leaf.children = new Node[k];
+        leaf.childCount = k;
+        for (int s = 0; s < k; s++) leaf.children[s] = new Node(leaf);
+        for (int i = 0; i < n; i++) {
+            int group = 0;
+            double d = Double.POSITIVE_INFINITY;
+            for (int s = 0; s < k; s++) {
+                double t = distance(items[i], items[seeds[s]]);
+                if (t < d) {
+                    d = t;
+                    group = s;
+                }
+            }
+            Node child = leaf.children[group];
+            int base = items[i] * m;
+            if (child.size == 0) {
+                System.arraycopy(fs, base, child.ideal, 0, m);
+                System.arraycopy(fs, base, child.nadir, 0, m);
+            } else {
+                for (int j = 0; j < m; j++) {
+                    child.ideal[j] = Math.min(child.ideal[j], fs[base + j]);
+                    child.nadir[j] = Math.max(child.nadir[j], fs[base + j]);
+                }
+            }
+            child.size++;
+            leafOf[items[i]] = child;
+            leafPos[items[i]] = child.count;
+            child.items[child.count++] = items[i];
+        }
+        leaf.items = null;
+        leaf.count = 0;
+    }
+
+    private double distance(int a, int b) {
+        double d = 0;
+        for (int k = 0; k < m; k++) {
+            double t = fs[a * m + k] - fs[b * m + k];
+            d += t * t;
+        }
+        return d;
+    }
+
+    private boolean weaklyDominates(double[] a, int ao, double[] b, int bo) {
+        for (int k = 0; k < m; k++) {
+            if (a[ao + k] > b[bo + k]) return false;
+        }
+        return true;
+    }
+
+    /** Quita una solución del árbol, de la rejilla y de la lista compacta. */
+    private void remove(int slot) {
+        Node leaf = leafOf[slot];
+        int pos = leafPos[slot];
+        int moved = leaf.items[--leaf.count];
+        leaf.items[pos] = moved;
+        leafPos[moved] = pos;
+        for (Node a = leaf; a != null; a = a.parent) a.size--;
+        leafOf[slot] = null;
+
+        removeFromGrid(slot);
+
+        int at = livePos[slot];
+        int last = live[--size];
+        live[at] = last;
+        livePos[last] = at;
+        freeSlots[free++] = slot;
+    }
+
+    // REJILLA DE HIPERCUBOS --------------------------------------------------
+
+    private static final class Cell {
+        final long key;
+        int[] members = new int[4];
+        int count;
+        int bucketPos;
+
+        Cell(long key) {
+            this.key = key;
+        }
+    }
+
+    private void addToGrid(int slot) {
+        long key = gridValid ? cellKey(slot) : -1;
+        if (key < 0) {
+            rebuildGrid();
+            return;
+        }
+        place(slot, key);
+    }
+
+    /** Índice del hipercubo de la solución, o -1 si cae fuera de la rejilla. */
+    private long cellKey(int slot) {
+        long key = 0;
+        for (int k = m - 1; k >= 0; k--) {
+            double t = (fs[slot * m + k] - gridLow[k]) / gridStep[k];
+            if (!(t >= 0 && t < divisions)) return -1;
+            key = key * divisions + (long) t;
+        }
+        return key;
+    }
+
+    private void place(int slot, long key) {
+        Cell cell = cells.computeIfAbsent(key, Cell::new);
+        if (cell.count > 0) unbucket(cell);
+        if (cell.count == cell.members.length) cell.members = Arrays.copyOf(cell.members, cell.count * 2);
+        cellOf[slot] = cell;
+        cellPos[slot] = cell.count;
+        cell.members[cell.count++] = slot;
+        bucket(cell);
+    }
+
+    private void removeFromGrid(int slot) {
+        Cell cell = cellOf[slot];
+        cellOf[slot] = null;
+        unbucket(cell);
+        int pos = cellPos[slot];
+        int moved = cell.members[--cell.count];
+        cell.members[pos] = moved;
+        cellPos[moved] = pos;
+        if (cell.count > 0) {
+            bucket(cell);
+        } else {
+            cells.remove(cell.key);
+        }
+    }
+
+    private void bucket(Cell cell) {
+        ArrayList<Cell> b = buckets.get(cell.count);
+        cell.bucketPos = b.size();
+        b.add(cell);
+        if (cell.count > maxCount) maxCount = cell.count;
+    }
+
+    private void unbucket(Cell cell) {
+        ArrayList<Cell> b = buckets.get(cell.count);
+        Cell last = b.remove(b.size() - 1);
+        if (last != cell) {
+            b.set(cell.bucketPos, last);
+            last.bucketPos = cell.bucketPos;
+        }
+        while (maxCount > 0 && buckets.get(maxCount).isEmpty()) maxCount--;
+    }
+
+    /** Recalcula los límites de la rejilla (con un margen del 10 %) y recoloca todas las soluciones. */
+    private void rebuildGrid() {
+        for (int k = 0; k < m; k++) {
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                double v = fs[live[i] * m + k];
+                lo = Math.min(lo, v);
+                hi = Math.max(hi, v);
+            }
+            double span = hi - lo;
+            if (!(span > 0)) span = Math.max(Math.abs(lo), 1.0) * 1e-9;
+            gridLow[k] = lo - 0.05 * span;
+            gridStep[k] = 1.1 * span / divisions;
+        }
+        cells.clear();
+        for (ArrayList<Cell> b : buckets) b.clear();
+        maxCount = 0;
+        gridValid = true;
+        for (int i = 0; i < size; i++) {
+            int slot = live[i];
+            long key = cellKey(slot);
+            if (key < 0) { // valores no finitos: se dejan en el primer hipercubo
+                key = 0;
+            }
+            place(slot, key);
+        }
+    }
+
+    // LÍDERES ---------------------------------------------------------------
+
+    /**
+     * Prepara la ruleta de líderes con el estado actual: cada hipercubo ocupado pesa
+     * 10 / población. Debe llamarse después de modificar el archivo y antes de
+     * {@link #leader(RandomGenerator)}.
+     */
+    public void prepareLeaders() {
+        if (wheel.length < cells.size()) {
+            wheel = new Cell[cells.size()];
+            cumulative = new double[cells.size()];
+        }
+        wheelSize = 0;
+        double total = 0;
+        for (Cell cell : cells.values()) {
+            total += 10.0 / cell.count;
+            wheel[wheelSize] = cell;
+            cumulative[wheelSize++] = total;
+        }
+    }
+
+    /**
+     * Elige un líder: hipercubo por ruleta (búsqueda binaria) y una de sus soluciones al
+     * azar.
+     *
+     * @return índice de la solución (0 <= i < size())
+     */
+    public int leader(RandomGenerator rand) {
+        double r = rand.nextDouble() * cumulative[wheelSize - 1];
+        int lo = 0, hi = wheelSize - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] <= r) lo = mid + 1; else hi = mid;
+        }
+        Cell cell = wheel[lo];
+        return livePos[cell.members[rand.nextInt(cell.count)]];
+    }
+}
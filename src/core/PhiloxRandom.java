@@ -0,0 +1,73 @@
+package core;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generador basado en contador Philox4x32-10 (Salmon et al., "Parallel random numbers:
+ * as easy as 1, 2, 3", SC 2011).
+ * <p>
+ * No guarda un estado que evolucione: el bloque {@code k} de la secuencia es una
+ * función pura de la clave y de {@code k} (diez rondas de multiplicaciones 32×32→64 y
+ * XOR con la clave). Cada bloque da cuatro enteros de 32 bits, es decir dos
+ * {@code long}. Así se puede saltar a cualquier posición con {@link #seek(long)} en
+ * tiempo constante, y dos claves distintas dan secuencias independientes sin ninguna
+ * coordinación entre hilos. Supera la batería BigCrush.
+ * </p>
+ * <p>
+ * No es seguro entre hilos: cada hilo o partícula debe usar su propia instancia.
+ * </p>
+ */
+public final class PhiloxRandom implements RandomGenerator {
+    private static final int M0 = 0xD2511F53, M1 = 0xCD9E8D57;
+    private static final int W0 = 0x9E3779B9, W1 = 0xBB67AE85;
+
+    private final int k0, k1;
+    private long counter;
+    // Segundo long del último bloque, pendiente de devolver
+    private long spare;
+    private boolean hasSpare;
+
+    /**
+     * @param key clave de 64 bits que identifica la secuencia
+     */
+    public PhiloxRandom(long key) {
+        this.k0 = (int) key;
+        this.k1 = (int) (key >>> 32);
+    }
+
+    /**
+     * Sitúa el generador al principio del bloque {@code block} (cada bloque son dos
+     * llamadas a {@link #nextLong()}).
+     */
+    public void seek(long block) {
+        counter = block;
+        hasSpare = false;
+    }
+
+    @Override
+    public long nextLong() {
+        if (hasSpare) {
+            hasSpare = false;
+            return spare;
+        }
+        // Philox4x32-10 sobre el contador de 128 bits (counter, 0)
+        long block = counter++;
+        int c0 = (int) block, c1 = (int) (block >>> 32), c2 = 0, c3 = 0;
+        int r0 = k0, r1 = k1;
+        for (int round = 0; round < 10; round++) {
+            long p0 = (M0 & 0xFFFFFFFFL) * (c0 & 0xFFFFFFFFL);
+            long p1 = (M1 & 0xFFFFFFFFL) * (c2 & 0xFFFFFFFFL);
+            int n0 = (int) (p1 >>> 32) ^ c1 ^ r0;
+            int n2 = (int) (p0 >>> 32) ^ c3 ^ r1;
+            c1 = (int) p1;
+            c3 = (int) p0;
+            c0 = n0;
+            c2 = n2;
+            r0 += W0;
+            r1 += W1;
+        }
+        spare = ((long) c2 << 32) | (c3 & 0xFFFFFFFFL);
+        hasSpare = true;
+        return ((long) c0 << 32) | (c1 & 0xFFFFFFFFL);
+    }
+}
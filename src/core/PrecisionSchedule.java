@@ -0,0 +1,70 @@
+package core;
+
+/**
+ * Listener que empieza evaluando en {@link EvaluationPrecision#FAST} y pasa a
+ * {@link EvaluationPrecision#EXACT} cuando el enjambre converge: en cuanto todas las
+ * partículas están a menos de {@code spread} (fracción del dominio, por ejes) del mejor
+ * global. Los mejores personales guardados antes del cambio conservan el error de la
+ * aproximación hasta que se mejoran; el resultado final de {@link SimplePSO} se
+ * verifica de todas formas con precisión completa.
+ * <p>
+ * La precisión no se cambia en la función, que puede estar compartida con otras
+ * ejecuciones, sino en una {@link PrecisionView} propia del programa, {@link #problem()},
+ * que es la que hay que dar al motor. Cada ejecución necesita su propio programa.
+ * </p>
+ * <pre>
+ * PrecisionSchedule schedule = new PrecisionSchedule(new Function5(), 1e-3);
+ * RunResult r = new SimplePSO(100, 1000, 0.7, 1.5, 1.5, schedule.problem()).solve(schedule);
+ * </pre>
+ */
+public class PrecisionSchedule implements SimplePSO.PSOListener {
+    private final PrecisionView problem;
+    private final double spread;
+    private final SimplePSO.PSOListener next;
+    private int switchedAt = -1;
+
+    /**
+     * @param problem problema que se evalúa (no se modifica)
+     * @param spread fracción del dominio por debajo de la cual se pasa a EXACT
+     * @param next listener al que se reenvía cada iteración, o null
+     */
+    public PrecisionSchedule(TieredProblem problem, double spread, SimplePSO.PSOListener next) {
+        if (!(spread >= 0)) throw new IllegalArgumentException("spread debe ser >= 0");
+        this.problem = new PrecisionView(problem, EvaluationPrecision.FAST);
+        this.spread = spread;
+        this.next = next;
+    }
+
+    public PrecisionSchedule(TieredProblem problem, double spread) {
+        this(problem, spread, null);
+    }
+
+    @Override
+    public void onIteration(int iteration, SwarmView swarm) {
+        if (switchedAt < 0 && converged(swarm)) {
+            problem.setPrecision(EvaluationPrecision.EXACT);
+            switchedAt = iteration;
+        }
+        if (next != null) next.onIteration(iteration, swarm);
+    }
+
+    private boolean converged(SwarmView swarm) {
+        double dx = spread * (problem.xMax() - problem.xMin());
+        double dy = spread * (problem.yMax() - problem.yMin());
+        double bx = swarm.bestX(), by = swarm.bestY();
+        for (int i = 0, n = swarm.size(); i < n; i++) {
+            if (Math.abs(swarm.x(i) - bx) > dx || Math.abs(swarm.y(i) - by) > dy) return false;
+        }
+        return true;
+    }
+
+    /** Problema que hay que dar al motor: evalúa en FAST hasta el cambio y en EXACT después. */
+    public PrecisionView problem() {
+        return problem;
+    }
+
+    /** Iteración en la que se pasó a precisión completa, o -1 si aún no. */
+    public int switchedAt() {
+        return switchedAt;
+    }
+}
@@ -0,0 +1,60 @@
+package core;
+
+/**
+ * Vista de un {@link TieredProblem} con un nivel de precisión propio, que se puede
+ * cambiar mientras se ejecuta.
+ * <p>
+ * El problema subyacente no cambia: cada ejecución que necesite cambiar de nivel (por
+ * ejemplo con {@link PrecisionSchedule}) recibe su propia vista, y las demás ejecuciones
+ * que comparten la función siguen con el nivel de la función. El nivel se guarda en un
+ * campo volatile, así que se puede cambiar desde un listener o desde otro hilo.
+ * </p>
+ */
+public final class PrecisionView implements TieredProblem {
+    private final TieredProblem problem;
+    private volatile EvaluationPrecision precision;
+
+    /**
+     * @param problem problema que se evalúa
+     * @param precision nivel inicial de la vista
+     */
+    public PrecisionView(TieredProblem problem, EvaluationPrecision precision) {
+        this.problem = problem;
+        this.precision = precision;
+    }
+
+    /** Cambia el nivel de las evaluaciones siguientes hechas a través de esta vista. */
+    public void setPrecision(EvaluationPrecision precision) {
+        this.precision = precision;
+    }
+
+    @Override
+    public EvaluationPrecision precision() {
+        return precision;
+    }
+
+    /** Problema subyacente. */
+    public TieredProblem problem() {
+        return problem;
+    }
+
+    @Override
+    public double evaluate(Particle p, EvaluationPrecision precision) {
+        return problem.evaluate(p, precision);
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to, EvaluationPrecision precision) {
+        problem.evaluate(xs, ys, out, from, to, precision);
+    }
+
+    @Override public double xMin() { return problem.xMin(); }
+    @Override public double xMax() { return problem.xMax(); }
+    @Override public double yMin() { return problem.yMin(); }
+    @Override public double yMax() { return problem.yMax(); }
+
+    @Override
+    public String toString() {
+        return problem + " (" + precision + ")";
+    }
+}
@@ -1,9 +1,35 @@
 package core;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface Problem {
     /** Evalúa la función objetivo para la partícula dada. */
     double evaluate(Particle p);
 
+    /**
+     * Evalúa por lotes los puntos (xs[i], ys[i]) con i en [from, to) y escribe cada
+     * resultado en out[i]. La implementación por defecto delega en
+     * {@link #evaluate(Particle)}; las funciones pueden sobrescribirla con un bucle
+     * sobre arrays primitivos que el JIT puede compilar (y vectorizar) de una vez, sin
+     * crear una partícula ni pasar por la interfaz en cada punto.
+     */
+    default void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = evaluate(new Particle(xs[i], ys[i], 0, 0));
+        }
+    }
+
+    /**
+     * Evalúa la partícula sin bloquear al llamante. La implementación por defecto
+     * ejecuta {@link #evaluate(Particle)} en el ejecutor dado; los problemas que delegan
+     * en un simulador o un subproceso pueden sobrescribirla para completar el futuro
+     * cuando llegue la respuesta, sin ocupar un hilo mientras esperan.
+     */
+    default CompletableFuture<Double> evaluateAsync(Particle p, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> evaluate(p), executor);
+    }
+
     /** Dominio obligatorio: límites en X e Y. */
     double xMin();
     double xMax();
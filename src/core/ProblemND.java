@@ -0,0 +1,94 @@
+package core;
+
+/**
+ * Función objetivo de dimensión arbitraria con límites por dimensión.
+ * <p>
+ * Los puntos se leen de un array plano: las coordenadas de un punto ocupan
+ * {@code dimension()} posiciones consecutivas a partir de {@code offset}. Así un
+ * enjambre completo cabe en un único {@code double[]} contiguo (ver {@link Swarm}).
+ * </p>
+ * <p>
+ * Los problemas 2D existentes se adaptan con {@link #of(Problem)}, y un problema
+ * de dimensión 2 se puede ver como {@link Problem} con {@link #asProblem()} para
+ * dibujarlo con {@code ui.FunctionPlotter}.
+ * </p>
+ */
+public interface ProblemND {
+    /** Número de variables del problema. */
+    int dimension();
+
+    /** Límite inferior de la dimensión d. */
+    double lower(int d);
+
+    /** Límite superior de la dimensión d. */
+    double upper(int d);
+
+    /** Evalúa el punto cuyas coordenadas empiezan en coords[offset]. */
+    double evaluate(double[] coords, int offset);
+
+    /**
+     * Evalúa por lotes los puntos i en [from, to) de un array plano de posiciones
+     * (punto i en {@code positions[i * dimension()]}) y escribe cada valor en out[i].
+     */
+    default void evaluate(double[] positions, double[] out, int from, int to) {
+        int dim = dimension();
+        for (int i = from; i < to; i++) {
+            out[i] = evaluate(positions, i * dim);
+        }
+    }
+
+    /**
+     * Vista 2D de este problema. Solo es válida si {@code dimension() == 2}.
+     *
+     * @return un {@link Problem} que evalúa (x, y) con este problema
+     */
+    default Problem asProblem() {
+        if (dimension() != 2) {
+            throw new IllegalStateException("Solo un problema de dimensión 2 se puede ver como Problem (dimensión " + dimension() + ")");
+        }
+        ProblemND self = this;
+        return new Problem() {
+            @Override
+            public double evaluate(Particle p) {
+                return self.evaluate(new double[] { p.x(), p.y() }, 0);
+            }
+
+            @Override public double xMin() { return self.lower(0); }
+            @Override public double xMax() { return self.upper(0); }
+            @Override public double yMin() { return self.lower(1); }
+            @Override public double yMax() { return self.upper(1); }
+        };
+    }
+
+    /**
+     * Adapta un {@link Problem} 2D a la interfaz de dimensión arbitraria.
+     *
+     * @param problem problema de dos variables
+     * @return el mismo problema visto como {@code ProblemND} de dimensión 2
+     */
+    static ProblemND of(Problem problem) {
+        return new ProblemND() {
+            @Override public int dimension() { return 2; }
+
+            @Override
+            public double lower(int d) {
+                return d == 0 ? problem.xMin() : problem.yMin();
+            }
+
+            @Override
+            public double upper(int d) {
+                return d == 0 ? problem.xMax() : problem.yMax();
+            }
+
+            @Override
+            public double evaluate(double[] coords, int offset) {
+                return problem.evaluate(new Particle(coords[offset], coords[offset + 1], 0, 0));
+            }
+
+            @Override
+            public Problem asProblem() {
+                return problem;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package core;
+
+import java.io.PrintStream;
+
+/**
+ * Destino del progreso de una ejecución (mejor global tras cada iteración).
+ * <p>
+ * El optimizador llama a {@link #start()} antes del bucle principal, a
+ * {@link #onIteration(int, double, double, double)} tras cada iteración y a
+ * {@link #end()} al terminar. Las implementaciones no deben construir cadenas ni
+ * escribir en la consola en cada llamada si no es necesario: el destino por
+ * defecto ({@link #none()}) no hace nada.
+ * </p>
+ */
+public interface ProgressSink extends AutoCloseable {
+
+    /** Se llama una vez antes de la primera iteración. */
+    default void start() { }
+
+    /** Se llama tras cada iteración con el mejor global actual. */
+    void onIteration(int iteration, double bestX, double bestY, double bestValue);
+
+    /** Se llama una vez al terminar la ejecución; vuelca lo que haya en memoria. */
+    default void end() { }
+
+    /** Libera los recursos del destino (ficheros). */
+    @Override
+    default void close() { }
+
+    /** Destino que descarta el progreso. */
+    static ProgressSink none() {
+        return (iteration, bestX, bestY, bestValue) -> { };
+    }
+
+    /**
+     * Formato original del tutorial en la salida estándar:
+     * cabecera {@code Iteración;Mejor solución;Valor} y una línea por iteración.
+     */
+    static ProgressSink console() {
+        return console(System.out);
+    }
+
+    /** Formato original del tutorial en el flujo dado. */
+    static ProgressSink console(PrintStream out) {
+        return new ProgressSink() {
+            @Override
+            public void start() {
+                out.println("Iteración;Mejor solución;Valor");
+            }
+
+            @Override
+            public void onIteration(int iteration, double bestX, double bestY, double bestValue) {
+                out.println(iteration + ";(" + bestX + ", " + bestY + ");" + bestValue);
+            }
+        };
+    }
+
+    /**
+     * Envuelve un destino para que solo reciba una de cada {@code every} iteraciones
+     * (siempre la primera).
+     */
+    static ProgressSink sampled(ProgressSink sink, int every) {
+        if (every < 1) throw new IllegalArgumentException("every debe ser >= 1");
+        return new ProgressSink() {
+            @Override
+            public void start() {
+                sink.start();
+            }
+
+            @Override
+            public void onIteration(int iteration, double bestX, double bestY, double bestValue) {
+                if (iteration == 1 || iteration % every == 0) {
+                    sink.onIteration(iteration, bestX, bestY, bestValue);
+                }
+            }
+
+            @Override
+            public void end() {
+                sink.end();
+            }
+
+            @Override
+            public void close() {
+                sink.close();
+            }
+        };
+    }
+}
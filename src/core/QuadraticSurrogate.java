@@ -0,0 +1,146 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * Modelo sustituto cuadrático local.
+ * <p>
+ * Guarda los últimos {@code capacity} puntos evaluados en arrays primitivos (un buffer
+ * circular: el enjambre se concentra y los puntos recientes son los que describen la
+ * zona que se explora). Para predecir en (x, y) toma los {@code neighbors} puntos más
+ * cercanos y ajusta por mínimos cuadrados ponderados
+ * {@code f ≈ a0 + a1·u + a2·v + a3·u² + a4·u·v + a5·v²}, con (u, v) la posición relativa
+ * a (x, y) escalada por el radio de la vecindad, de modo que la predicción es {@code a0}.
+ * </p>
+ * <p>
+ * Añadir un punto cuesta O(1): no hay un ajuste global que rehacer. Cada predicción
+ * recorre el archivo una vez y resuelve un sistema 6×6, sin reservar memoria. La clase
+ * no es segura para uso concurrente.
+ * </p>
+ */
+public class QuadraticSurrogate implements Surrogate {
+    private static final int TERMS = 6;
+
+    private final double[] xs, ys, values;
+    private final int neighbors;
+    private int size, next;
+
+    // Buffers reutilizados en cada predicción
+    private final int[] nearest;
+    private final double[] nearestDist;
+    private final double[] ata = new double[TERMS * TERMS];
+    private final double[] atb = new double[TERMS];
+    private final double[] row = new double[TERMS];
+
+    /** Archivo de 500 puntos y 12 vecinos. */
+    public QuadraticSurrogate() {
+        this(500, 12);
+    }
+
+    /**
+     * @param capacity puntos que se conservan en el archivo
+     * @param neighbors vecinos usados en cada ajuste (>= 7, para que el sistema esté sobredeterminado)
+     */
+    public QuadraticSurrogate(int capacity, int neighbors) {
+        if (neighbors <= TERMS) throw new IllegalArgumentException("neighbors debe ser > " + TERMS);
+        if (capacity < neighbors) throw new IllegalArgumentException("capacity debe ser >= neighbors");
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.values = new double[capacity];
+        this.neighbors = neighbors;
+        this.nearest = new int[neighbors];
+        this.nearestDist = new double[neighbors];
+    }
+
+    @Override
+    public void add(double x, double y, double value) {
+        if (!Double.isFinite(value)) return;
+        xs[next] = x;
+        ys[next] = y;
+        values[next] = value;
+        next = (next + 1) % xs.length;
+        if (size < xs.length) size++;
+    }
+
+    @Override
+    public double predict(double x, double y) {
+        int k = neighbors;
+        if (size < k) return Double.NaN;
+
+        // k vecinos más cercanos por inserción en una lista ordenada corta
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            double dx = xs[i] - x, dy = ys[i] - y;
+            double d = dx * dx + dy * dy;
+            if (found == k && d >= nearestDist[k - 1]) continue;
+            int j = found < k ? found++ : k - 1;
+            while (j > 0 && nearestDist[j - 1] > d) {
+                nearestDist[j] = nearestDist[j - 1];
+                nearest[j] = nearest[j - 1];
+                j--;
+            }
+            nearestDist[j] = d;
+            nearest[j] = i;
+        }
+        if (nearestDist[0] == 0) return values[nearest[0]]; // punto ya evaluado
+        double r2 = nearestDist[k - 1];
+        double scale = 1.0 / Math.sqrt(r2);
+
+        Arrays.fill(ata, 0);
+        Arrays.fill(atb, 0);
+        for (int n = 0; n < k; n++) {
+            int i = nearest[n];
+            double u = (xs[i] - x) * scale, v = (ys[i] - y) * scale;
+            double weight = Math.exp(-nearestDist[n] / r2); // más peso a los vecinos cercanos
+            row[0] = 1; row[1] = u; row[2] = v; row[3] = u * u; row[4] = u * v; row[5] = v * v;
+            for (int a = 0; a < TERMS; a++) {
+                double wa = weight * row[a];
+                atb[a] += wa * values[i];
+                for (int b = 0; b <= a; b++) ata[a * TERMS + b] += wa * row[b];
+            }
+        }
+        // Regularización mínima para vecindades casi degeneradas (puntos alineados)
+        double ridge = 1e-9 * (ata[0] + ata[3 * TERMS + 3] + ata[5 * TERMS + 5]);
+        for (int a = 0; a < TERMS; a++) ata[a * TERMS + a] += ridge;
+        return solveFirst();
+    }
+
+    /** Resuelve (AᵀA)·c = Aᵀb por Cholesky y devuelve c0 (NaN si el sistema es singular). */
+    private double solveFirst() {
+        for (int a = 0; a < TERMS; a++) {
+            for (int b = 0; b <= a; b++) {
+                double s = ata[a * TERMS + b];
+                for (int c = 0; c < b; c++) s -= ata[a * TERMS + c] * ata[b * TERMS + c];
+                if (a == b) {
+                    if (!(s > 0)) return Double.NaN;
+                    ata[a * TERMS + a] = Math.sqrt(s);
+                } else {
+                    ata[a * TERMS + b] = s / ata[b * TERMS + b];
+                }
+            }
+        }
+        // L·z = Aᵀb y Lᵀ·c = z (solo hasta c0)
+        for (int a = 0; a < TERMS; a++) {
+            double s = atb[a];
+            for (int c = 0; c < a; c++) s -= ata[a * TERMS + c] * atb[c];
+            atb[a] = s / ata[a * TERMS + a];
+        }
+        for (int a = TERMS - 1; a >= 0; a--) {
+            double s = atb[a];
+            for (int c = a + 1; c < TERMS; c++) s -= ata[c * TERMS + a] * atb[c];
+            atb[a] = s / ata[a * TERMS + a];
+        }
+        return atb[0];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,109 @@
+package core;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Flujos de números aleatorios reproducibles derivados de una única semilla maestra.
+ * <p>
+ * Cada ejecución ({@link #run(long)}) y, dentro de ella, cada partícula
+ * ({@link #particle(int)}) tiene su propio generador, cuya semilla se obtiene de la
+ * semilla maestra y de su identificador con una función de mezcla de 64 bits. Como
+ * ninguna partícula consume números de la secuencia de otra, el resultado no depende
+ * del orden en que se procesen las partículas ni de cuántos hilos se usen, y no hay
+ * un generador compartido que sincronizar (como el {@code compareAndSet} de
+ * {@link java.util.Random}). Las decisiones que afectan a todo el enjambre (por
+ * ejemplo reconectar la topología) usan {@link #shared()}.
+ * </p>
+ * <p>
+ * Los algoritmos son los de {@link RandomGeneratorFactory} (por ejemplo
+ * {@code "L64X128MixRandom"}, {@code "Xoroshiro128PlusPlus"} o
+ * {@code "SplittableRandom"}) más {@link #PHILOX}, el generador basado en contador
+ * {@link PhiloxRandom}. Los generadores LXM están pensados para que semillas distintas
+ * den flujos estadísticamente independientes; con Philox la semilla es la clave, y
+ * claves distintas dan secuencias independientes por construcción.
+ * </p>
+ */
+public final class RandomStreams {
+    /** Nombre del generador basado en contador {@link PhiloxRandom}. */
+    public static final String PHILOX = "Philox4x32";
+
+    private static final long GOLDEN = 0x9E37_79B9_7F4A_7C15L;
+
+    private final String algorithm;
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+    private final long key;
+
+    private RandomStreams(String algorithm, RandomGeneratorFactory<RandomGenerator> factory, long key) {
+        this.algorithm = algorithm;
+        this.factory = factory;
+        this.key = key;
+    }
+
+    /**
+     * Flujos del algoritmo dado a partir de una semilla maestra.
+     *
+     * @param algorithm nombre de un {@link RandomGeneratorFactory} o {@link #PHILOX}
+     * @param masterSeed semilla maestra
+     * @throws IllegalArgumentException si el algoritmo no existe
+     */
+    public static RandomStreams of(String algorithm, long masterSeed) {
+        RandomGeneratorFactory<RandomGenerator> factory = PHILOX.equals(algorithm) ? null
+                : RandomGeneratorFactory.of(algorithm);
+        return new RandomStreams(algorithm, factory, mix(masterSeed));
+    }
+
+    /** Generadores L64X128MixRandom (LXM): rápidos y de periodo 2^64·(2^128−1). */
+    public static RandomStreams lxm(long masterSeed) {
+        return of("L64X128MixRandom", masterSeed);
+    }
+
+    /** Generadores Xoroshiro128++: los más rápidos de la JDK, de periodo 2^128. */
+    public static RandomStreams xoroshiro(long masterSeed) {
+        return of("Xoroshiro128PlusPlus", masterSeed);
+    }
+
+    /** Generadores basados en contador {@link PhiloxRandom}. */
+    public static RandomStreams philox(long masterSeed) {
+        return of(PHILOX, masterSeed);
+    }
+
+    /** Nombre del algoritmo. */
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Flujos de la ejecución {@code run}: cada ejecución de un barrido de semillas tiene
+     * los suyos, independientes de los de las demás.
+     */
+    public RandomStreams run(long run) {
+        return new RandomStreams(algorithm, factory, mix(key ^ mix(run + GOLDEN)));
+    }
+
+    /** Generador propio de la partícula {@code i}. */
+    public RandomGenerator particle(int i) {
+        return create(mix(key + GOLDEN * (i + 2L)));
+    }
+
+    /** Generador para las decisiones que afectan a todo el enjambre. */
+    public RandomGenerator shared() {
+        return create(mix(key + GOLDEN));
+    }
+
+    private RandomGenerator create(long seed) {
+        return factory == null ? new PhiloxRandom(seed) : factory.create(seed);
+    }
+
+    /** Función de mezcla de SplitMix64 (variante 13 de Stafford): biyectiva y con buena avalancha. */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return algorithm;
+    }
+}
@@ -0,0 +1,24 @@
+package core;
+
+/**
+ * Resultado detallado de una ejecución.
+ *
+ * @param best mejor partícula global
+ * @param bestValue valor de la mejor partícula global
+ * @param iterations iteraciones completadas
+ * @param evaluations evaluaciones de la función objetivo (incluida la inicialización)
+ * @param elapsedNanos tiempo de reloj de la ejecución
+ * @param stopReason condición que terminó la ejecución ({@code "maxIterations"} si se completaron todas)
+ * @param verifications evaluaciones con precisión completa hechas al terminar para verificar
+ *        resultados aproximados ({@link TieredProblem}); no se cuentan en {@code evaluations}
+ *        ni en el presupuesto de {@link StopCondition#maxEvaluations}
+ */
+public record RunResult(Particle best, double bestValue, int iterations, long evaluations, long elapsedNanos,
+                        String stopReason, long verifications) {
+
+    /** Resultado sin evaluaciones de verificación. */
+    public RunResult(Particle best, double bestValue, int iterations, long evaluations, long elapsedNanos,
+                     String stopReason) {
+        this(best, bestValue, iterations, evaluations, elapsedNanos, stopReason, 0);
+    }
+}
@@ -0,0 +1,37 @@
+package core;
+
+/**
+ * Estado de una ejecución que el optimizador actualiza tras cada iteración y que
+ * consultan las {@link StopCondition}.
+ */
+public class RunState {
+    private final long startNanos;
+    private final SwarmView swarm;
+    int iteration;
+    long evaluations;
+    double bestValue = Double.POSITIVE_INFINITY;
+    int lastImprovement;
+
+    RunState(SwarmView swarm, long startNanos) {
+        this.swarm = swarm;
+        this.startNanos = startNanos;
+    }
+
+    /** Iteraciones completadas. */
+    public int iteration() { return iteration; }
+
+    /** Evaluaciones de la función objetivo realizadas (incluida la inicialización). */
+    public long evaluations() { return evaluations; }
+
+    /** Valor del mejor global actual. */
+    public double bestValue() { return bestValue; }
+
+    /** Última iteración en la que mejoró el mejor global (0 si no ha mejorado desde la inicialización). */
+    public int lastImprovement() { return lastImprovement; }
+
+    /** Tiempo transcurrido desde el inicio de la ejecución. */
+    public long elapsedNanos() { return System.nanoTime() - startNanos; }
+
+    /** Vista del enjambre actual (válida mientras se evalúan las condiciones). */
+    public SwarmView swarm() { return swarm; }
+}
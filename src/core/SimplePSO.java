@@ -1,6 +1,7 @@
 package core;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementación simple de Particle Swarm Optimization (PSO) en 2D.
@@ -25,6 +26,14 @@ public class SimplePSO {
     private final Random rand = new Random(); // para reproducibilidad opcional se puede pasar semilla
     // Límite máximo absoluto de la velocidad (vmax). Si es NaN, se deriva del dominio en tiempo de ejecución.
     private final double vmaxLimit;
+    // Destino del progreso por iteración; por defecto no se escribe nada en el bucle principal
+    private ProgressSink progress = ProgressSink.none();
+    // Condición de parada adicional al número de iteraciones (null = solo iteraciones)
+    private StopCondition stopCondition;
+    // Topología de vecindad (null = mejor global)
+    private Neighborhood neighborhood;
+    // Un generador por partícula derivado de una semilla maestra (null = el generador compartido rand)
+    private RandomStreams streams;
 
     /**
      * Constructor por defecto que no fija un límite de velocidad: el vmax será
@@ -68,7 +77,62 @@ public class SimplePSO {
         this.vmaxLimit = Math.max(0.0, vmax);
     }
 
-    private Particle[] creaEnjambreAleatorio(double xMin, double xMax, double yMin, double yMax) {
+    /**
+     * Fija la semilla del generador aleatorio para obtener ejecuciones reproducibles.
+     *
+     * @param seed semilla del generador
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
+    /**
+     * Define dónde se informa del mejor global tras cada iteración. Por defecto no se
+     * informa; {@link ProgressSink#console()} recupera el formato
+     * {@code Iteración;Mejor solución;Valor} por la salida estándar.
+     *
+     * @param progress destino del progreso (null equivale a {@link ProgressSink#none()})
+     */
+    public void setProgressSink(ProgressSink progress) {
+        this.progress = progress == null ? ProgressSink.none() : progress;
+    }
+
+    /**
+     * Define una condición de parada que se comprueba tras cada iteración, además del
+     * número máximo de iteraciones. El límite de evaluaciones
+     * ({@link StopCondition#maxEvaluations(long)}) se respeta también dentro de la iteración.
+     *
+     * @param stopCondition condición de parada (null para usar solo el número de iteraciones)
+     */
+    public void setStopCondition(StopCondition stopCondition) {
+        this.stopCondition = stopCondition;
+    }
+
+    /**
+     * Define la topología de vecindad: el término social de cada partícula usa el mejor
+     * de su vecindario en lugar del mejor global. Con null o {@link Neighborhood#global()}
+     * el algoritmo es el clásico.
+     *
+     * @param neighborhood topología de vecindad
+     */
+    public void setNeighborhood(Neighborhood neighborhood) {
+        this.neighborhood = neighborhood;
+    }
+
+    /**
+     * Usa un generador independiente por partícula, derivado de una semilla maestra, en
+     * lugar del {@link Random} compartido. Cada partícula consume solo su propio flujo,
+     * así que el resultado no depende del orden en que se procesen; para un barrido de
+     * semillas, {@code streams.run(r)} da los flujos de la ejecución r. Con null se vuelve
+     * al generador compartido (y a {@link #setSeed(long)}).
+     *
+     * @param streams flujos por partícula, o null
+     */
+    public void setRandomStreams(RandomStreams streams) {
+        this.streams = streams;
+    }
+
+    private Particle[] creaEnjambreAleatorio(double xMin, double xMax, double yMin, double yMax, RandomGenerator[] prng) {
         // Inicializamos las partículas (posición y velocidad) usando umbrales
         Particle[] particles = new Particle[numParticles];
         double xrange = xMax - xMin;
@@ -76,10 +140,11 @@ public class SimplePSO {
         // Si el usuario definió un vmaxLimit en el constructor, úsalo; si no, por defecto usamos el mayor rango
         double vmax = Double.isNaN(this.vmaxLimit) ? Math.max(xrange, yrange) : this.vmaxLimit;
         for (int i = 0; i < numParticles; i++) {
-            double x = xMin + rand.nextDouble() * xrange;
-            double y = yMin + rand.nextDouble() * yrange;
-            double vx = (rand.nextDouble() * 2.0 - 1.0) * vmax; // en [-vmax, vmax]
-            double vy = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            RandomGenerator r = prng == null ? rand : prng[i];
+            double x = xMin + r.nextDouble() * xrange;
+            double y = yMin + r.nextDouble() * yrange;
+            double vx = (r.nextDouble() * 2.0 - 1.0) * vmax; // en [-vmax, vmax]
+            double vy = (r.nextDouble() * 2.0 - 1.0) * vmax;
             particles[i] = new Particle(x, y, vx, vy);
         }
         return particles;
@@ -88,11 +153,50 @@ public class SimplePSO {
     // New listener interface for visualization / callbacks
     public interface PSOListener {
         /**
-         * Called after each iteration with current particles and current global best.
-         * Implementors should not block the caller for long; use SwingUtilities.invokeLater
+         * Called after each iteration with a read-only view of the swarm and its global best.
+         * The view reads the optimizer state directly (no copy) and is only valid during
+         * the call. Implementors must not block the caller: copy what they need (for
+         * instance into a {@link SwarmFrameBuffer}) and use SwingUtilities.invokeLater
          * if updating GUI components.
          */
-        void onIteration(int iteration, Particle[] particles, Particle globalBest, double globalBestValue);
+        void onIteration(int iteration, SwarmView swarm);
+    }
+
+    /** Vista sin copia sobre los arrays de partículas y mejores personales del bucle principal. */
+    private static final class ParticlesView implements SwarmView {
+        private final Particle[] particles;
+        private final Particle[] localBest;
+        private final double[] localBestValue;
+        private int iteration;
+        private Particle best;
+        private double bestValue;
+
+        ParticlesView(Particle[] particles, Particle[] localBest, double[] localBestValue) {
+            this.particles = particles;
+            this.localBest = localBest;
+            this.localBestValue = localBestValue;
+        }
+
+        ParticlesView update(int iteration, Particle best, double bestValue) {
+            this.iteration = iteration;
+            this.best = best;
+            this.bestValue = bestValue;
+            return this;
+        }
+
+        @Override public int iteration() { return iteration; }
+        @Override public int size() { return particles.length; }
+        @Override public double x(int i) { return particles[i].x(); }
+        @Override public double y(int i) { return particles[i].y(); }
+        @Override public double vx(int i) { return particles[i].vx(); }
+        @Override public double vy(int i) { return particles[i].vy(); }
+        @Override public double bestX() { return best.x(); }
+        @Override public double bestY() { return best.y(); }
+        @Override public double bestValue() { return bestValue; }
+        @Override public Particle best() { return best; }
+        @Override public double pbestX(int i) { return localBest[i].x(); }
+        @Override public double pbestY(int i) { return localBest[i].y(); }
+        @Override public double pbestValue(int i) { return localBestValue[i]; }
     }
 
     /**
@@ -103,6 +207,19 @@ public class SimplePSO {
      * @return la mejor partícula global encontrada
      */
     public Particle run(PSOListener listener) {
+        RunResult result = solve(listener);
+        return result == null ? null : result.best();
+    }
+
+    /**
+     * Ejecuta el algoritmo PSO e informa de cómo terminó.
+     *
+     * @param listener receptor de actualizaciones por iteración, o null
+     * @return mejor global, iteraciones, evaluaciones, tiempo y condición de parada que se
+     *         cumplió, o null si no hay partículas
+     */
+    public RunResult solve(PSOListener listener) {
+        long start = System.nanoTime();
 
         // INICIALIZACIÓN -----------------------------------------------------
 
@@ -116,8 +233,17 @@ public class SimplePSO {
         // Determinar el tope de velocidad efectivo: si el usuario pasó un vmaxLimit lo usamos, si no lo derivamos del domain range
         double vmax = Double.isNaN(this.vmaxLimit) ? Math.max(xrange, yrange) : this.vmaxLimit; // tope de velocidad
 
+        // Generadores: uno por partícula y otro para el enjambre, o el compartido de siempre
+        RandomGenerator[] prng = null;
+        RandomGenerator shared = rand;
+        if (streams != null) {
+            prng = new RandomGenerator[numParticles];
+            for (int i = 0; i < numParticles; i++) prng[i] = streams.particle(i);
+            shared = streams.shared();
+        }
+
         // Inicializamos las partículas (posicion y velocidad)
-        Particle[] particles = creaEnjambreAleatorio(xMin, xMax, yMin, yMax);
+        Particle[] particles = creaEnjambreAleatorio(xMin, xMax, yMin, yMax, prng);
 
         // Mejores partículas locales (y sus valores)
         Particle[] localBest = new Particle[numParticles];
@@ -130,6 +256,8 @@ public class SimplePSO {
 
         // Inicializamos tomando la primera partícula para evitar que el analizador piense
         // que `globalBest` puede ser null cuando se usa más adelante.
+        // Si alguna evaluación de la ejecución es aproximada, el resultado se verifica al final
+        boolean approximated = TieredProblem.isApproximate(problem);
         localBest[0] = new Particle(particles[0].x(), particles[0].y(), particles[0].vx(), particles[0].vy());
         localBestValue[0] = problem.evaluate(particles[0]);
         Particle globalBest = new Particle(particles[0].x(), particles[0].y(), particles[0].vx(), particles[0].vy());
@@ -144,17 +272,46 @@ public class SimplePSO {
             }
         }
 
+        // Mejor de cada vecindario como índice de partícula (solo con topologías locales)
+        NeighborGraph graph = neighborhood == null ? null : neighborhood.connect(numParticles, shared);
+        int[] lbest = graph == null ? null : new int[numParticles];
+        if (graph != null) graph.initBest(localBestValue, lbest);
+
+        ParticlesView view = listener == null && stopCondition == null ? null : new ParticlesView(particles, localBest, localBestValue);
+        RunState state = new RunState(view, start);
+        state.evaluations = numParticles;
+        state.bestValue = globalBestValue;
+        long evaluationLimit = stopCondition == null ? Long.MAX_VALUE : stopCondition.evaluationLimit();
+        StopCondition fired = null;
+        int completed = 0;
+
         // BUCLE PRINCIPAL -----------------------------------------------------
 
-        System.out.println("Iteración;Mejor solución;Valor");
+        progress.start();
+        iterations:
         for (int iters = 1; iters <= numIterations; iters++) {
+            double previousBest = globalBestValue;
+            approximated |= TieredProblem.isApproximate(problem);
             // Iteramos sobre las partículas
             for (int i = 0; i < numParticles; i++) {
+                // Presupuesto de evaluaciones agotado a mitad de iteración
+                if (state.evaluations >= evaluationLimit) {
+                    fired = stopCondition.firing(state);
+                    break iterations;
+                }
                 // Calculamos nueva velocidad (usar rand en lugar de Math.random)
-                double r1 = rand.nextDouble();
-                double r2 = rand.nextDouble();
-                double vx = w * particles[i].vx() + c1 * r1 * (localBest[i].x() - particles[i].x()) + c2 * r2 * (globalBest.x() - particles[i].x());
-                double vy = w * particles[i].vy() + c1 * r1 * (localBest[i].y() - particles[i].y()) + c2 * r2 * (globalBest.y() - particles[i].y());
+                double r1, r2;
+                if (prng == null) {
+                    r1 = rand.nextDouble();
+                    r2 = rand.nextDouble();
+                } else {
+                    RandomGenerator r = prng[i];
+                    r1 = r.nextDouble();
+                    r2 = r.nextDouble();
+                }
+                Particle social = graph == null ? globalBest : localBest[lbest[i]];
+                double vx = w * particles[i].vx() + c1 * r1 * (localBest[i].x() - particles[i].x()) + c2 * r2 * (social.x() - particles[i].x());
+                double vy = w * particles[i].vy() + c1 * r1 * (localBest[i].y() - particles[i].y()) + c2 * r2 * (social.y() - particles[i].y());
 
                 // Limitar velocidad
                 vx = Math.max(-vmax, Math.min(vmax, vx));
@@ -174,11 +331,13 @@ public class SimplePSO {
 
                 // Evaluar una sola vez y reusar el valor
                 double value = problem.evaluate(newParticle);
+                state.evaluations++;
 
                 // Actualizamos la mejor partícula local
                 if (value < localBestValue[i]) {
                     localBest[i] = new Particle(x, y, vx, vy);
                     localBestValue[i] = value;
+                    if (graph != null) graph.improved(i, localBestValue, lbest);
                 }
 
                 // Actualizamos la mejor partícula global
@@ -187,25 +346,47 @@ public class SimplePSO {
                     globalBest = new Particle(x, y, vx, vy);
                 }
             }
-            System.out.println(iters+";(" + globalBest.x() + ", " + globalBest.y() + ");" + globalBestValue);
+            completed = iters;
+            if (graph != null && globalBestValue >= previousBest && neighborhood.rewireOnStagnation()) {
+                graph = neighborhood.connect(numParticles, shared);
+                graph.initBest(localBestValue, lbest);
+            }
+            progress.onIteration(iters, globalBest.x(), globalBest.y(), globalBestValue);
 
-            // Notificar listener con una copia de las partículas para visualización
+            // Notificar al listener sin copiar: el optimizador no espera a la visualización
             if (listener != null) {
-                Particle[] copy = new Particle[numParticles];
-                for (int k = 0; k < numParticles; k++) {
-                    copy[k] = new Particle(particles[k].x(), particles[k].y(), particles[k].vx(), particles[k].vy());
+                listener.onIteration(iters, view.update(iters, globalBest, globalBestValue));
+            }
+
+            if (stopCondition != null) {
+                if (globalBestValue < state.bestValue) {
+                    state.bestValue = globalBestValue;
+                    state.lastImprovement = iters;
                 }
-                listener.onIteration(iters, copy, new Particle(globalBest.x(), globalBest.y(), globalBest.vx(), globalBest.vy()), globalBestValue);
-                // Small pause so visualization can update (non-blocking for GUI if listener uses invokeLater)
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                state.iteration = iters;
+                view.update(iters, globalBest, globalBestValue);
+                if ((fired = stopCondition.firing(state)) != null) break;
+            }
+        }
+
+        // Tras evaluar con aproximaciones, el resultado se elige y se devuelve con precisión completa
+        long verifications = 0;
+        if (approximated) {
+            TieredProblem tiered = (TieredProblem) problem;
+            globalBestValue = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < numParticles; i++) {
+                double exact = tiered.evaluateExact(localBest[i]);
+                if (exact < globalBestValue) {
+                    globalBestValue = exact;
+                    globalBest = localBest[i];
                 }
             }
+            verifications = numParticles;
         }
 
-        return globalBest;
+        progress.end();
+        return new RunResult(globalBest, globalBestValue, completed, state.evaluations, state.elapsedNanos(),
+                fired == null ? "maxIterations" : fired.name(), verifications);
     }
 
     // Compatibilidad: run() delega a run(null)
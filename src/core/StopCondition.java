@@ -0,0 +1,127 @@
+package core;
+
+import java.time.Duration;
+
+/**
+ * Condición de parada de una ejecución, evaluada una vez por iteración.
+ * <p>
+ * Las condiciones se combinan con {@link #anyOf(StopCondition...)}; el resultado de la
+ * ejecución ({@link RunResult}) indica cuál se cumplió. Todas son baratas de comprobar:
+ * comparaciones sobre {@link RunState}, salvo {@link #swarmDiameter(double)}, que
+ * recorre una vez las posiciones. El límite de evaluaciones se respeta además dentro de
+ * la iteración mediante {@link #evaluationLimit()}.
+ * </p>
+ */
+public interface StopCondition {
+
+    /** True si la ejecución debe terminar. */
+    boolean isMet(RunState state);
+
+    /** Nombre con el que se informa de la condición en {@link RunResult#stopReason()}. */
+    String name();
+
+    /** Máximo de evaluaciones permitido por la condición (sin límite por defecto). */
+    default long evaluationLimit() {
+        return Long.MAX_VALUE;
+    }
+
+    /** Devuelve la condición concreta que se cumple, o null si ninguna. */
+    default StopCondition firing(RunState state) {
+        return isMet(state) ? this : null;
+    }
+
+    /** Termina al alcanzar {@code max} evaluaciones de la función objetivo. */
+    static StopCondition maxEvaluations(long max) {
+        return new StopCondition() {
+            @Override public boolean isMet(RunState s) { return s.evaluations() >= max; }
+            @Override public String name() { return "maxEvaluations(" + max + ")"; }
+            @Override public long evaluationLimit() { return max; }
+        };
+    }
+
+    /** Termina cuando el mejor global es menor o igual que {@code target}. */
+    static StopCondition targetFitness(double target) {
+        return new StopCondition() {
+            @Override public boolean isMet(RunState s) { return s.bestValue() <= target; }
+            @Override public String name() { return "targetFitness(" + target + ")"; }
+        };
+    }
+
+    /** Termina si el mejor global no mejora durante {@code iterations} iteraciones. */
+    static StopCondition stagnation(int iterations) {
+        return new StopCondition() {
+            @Override public boolean isMet(RunState s) { return s.iteration() - s.lastImprovement() >= iterations; }
+            @Override public String name() { return "stagnation(" + iterations + ")"; }
+        };
+    }
+
+    /**
+     * Termina cuando el enjambre cabe en una caja cuya diagonal es menor que
+     * {@code epsilon}. La diagonal es una cota superior del diámetro y se calcula en
+     * una sola pasada, en lugar de comparar todos los pares de partículas.
+     */
+    static StopCondition swarmDiameter(double epsilon) {
+        return new StopCondition() {
+            @Override
+            public boolean isMet(RunState s) {
+                SwarmView v = s.swarm();
+                int n = v.size();
+                if (n == 0) return true;
+                double minX = v.x(0), maxX = minX, minY = v.y(0), maxY = minY;
+                for (int i = 1; i < n; i++) {
+                    double x = v.x(i), y = v.y(i);
+                    if (x < minX) minX = x; else if (x > maxX) maxX = x;
+                    if (y < minY) minY = y; else if (y > maxY) maxY = y;
+                }
+                double dx = maxX - minX, dy = maxY - minY;
+                return dx * dx + dy * dy < epsilon * epsilon;
+            }
+
+            @Override public String name() { return "swarmDiameter(" + epsilon + ")"; }
+        };
+    }
+
+    /** Termina cuando la ejecución supera la duración dada. */
+    static StopCondition deadline(Duration limit) {
+        long nanos = limit.toNanos();
+        return new StopCondition() {
+            @Override public boolean isMet(RunState s) { return s.elapsedNanos() >= nanos; }
+            @Override public String name() { return "deadline(" + limit + ")"; }
+        };
+    }
+
+    /** Termina en cuanto se cumple cualquiera de las condiciones (se comprueban en orden). */
+    static StopCondition anyOf(StopCondition... conditions) {
+        StopCondition[] cs = conditions.clone();
+        long limit = Long.MAX_VALUE;
+        for (StopCondition c : cs) limit = Math.min(limit, c.evaluationLimit());
+        long evaluationLimit = limit;
+        return new StopCondition() {
+            @Override
+            public boolean isMet(RunState s) {
+                return firing(s) != null;
+            }
+
+            @Override
+            public StopCondition firing(RunState s) {
+                for (StopCondition c : cs) {
+                    StopCondition f = c.firing(s);
+                    if (f != null) return f;
+                }
+                return null;
+            }
+
+            @Override
+            public String name() {
+                StringBuilder sb = new StringBuilder("anyOf(");
+                for (int i = 0; i < cs.length; i++) {
+                    if (i > 0) sb.append(", ");
+                    sb.append(cs[i].name());
+                }
+                return sb.append(')').toString();
+            }
+
+            @Override public long evaluationLimit() { return evaluationLimit; }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package core;
+
+/**
+ * Modelo barato que aproxima la función objetivo a partir de los puntos ya evaluados.
+ * Lo usa {@link SurrogatePSO} para decidir qué candidatos merecen una evaluación real.
+ */
+public interface Surrogate {
+
+    /** Añade al archivo un punto evaluado con la función real. */
+    void add(double x, double y, double value);
+
+    /**
+     * Predice el valor de la función en (x, y).
+     *
+     * @return valor estimado, o NaN si el modelo aún no tiene datos suficientes
+     */
+    double predict(double x, double y);
+
+    /** Puntos que hay en el archivo. */
+    int size();
+
+    /** Vacía el archivo. */
+    void clear();
+}
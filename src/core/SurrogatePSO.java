@@ -0,0 +1,157 @@
+package core;
+
+import java.util.Random;
+
+/**
+ * PSO asistido por un modelo sustituto, para funciones objetivo caras.
+ * <p>
+ * Sigue la regla de actualización de {@link SimplePSO}, pero antes de evaluar la
+ * nueva posición de una partícula consulta un {@link Surrogate} entrenado con todos
+ * los puntos evaluados hasta el momento. La función real solo se evalúa si la
+ * predicción mejora el mejor local de la partícula (candidato prometedor), si el
+ * modelo aún no puede predecir, o con probabilidad {@code explorationRate} para
+ * seguir corrigiendo el modelo en zonas que parecen peores. Los candidatos descartados
+ * mueven la partícula pero no actualizan pbest ni gbest, que siempre contienen
+ * valores reales.
+ * </p>
+ * <p>
+ * El resultado ({@link RunResult}) cuenta solo las evaluaciones reales;
+ * {@link #screened()} indica cuántas se ahorraron.
+ * </p>
+ */
+public class SurrogatePSO {
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final Problem problem;
+    private final Surrogate surrogate;
+    private final double explorationRate;
+    private final Random rand = new Random();
+    private long screened;
+
+    /**
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     * @param surrogate modelo sustituto (se vacía al empezar cada ejecución)
+     * @param explorationRate probabilidad de evaluar un candidato que el modelo descarta, en [0, 1]
+     */
+    public SurrogatePSO(int numParticles, int numIterations, double w, double c1, double c2, Problem problem,
+                        Surrogate surrogate, double explorationRate) {
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.surrogate = surrogate;
+        this.explorationRate = Math.max(0.0, Math.min(1.0, explorationRate));
+    }
+
+    /**
+     * Fija la semilla del generador aleatorio para obtener ejecuciones reproducibles.
+     *
+     * @param seed semilla del generador
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
+    /** Candidatos que el modelo descartó sin evaluar en la última ejecución. */
+    public long screened() {
+        return screened;
+    }
+
+    /**
+     * Ejecuta el algoritmo.
+     *
+     * @return mejor global, iteraciones, evaluaciones reales y tiempo, o null si no hay partículas
+     */
+    public RunResult run() {
+        int n = numParticles;
+        if (n == 0) return null;
+        long start = System.nanoTime();
+        surrogate.clear();
+        screened = 0;
+
+        double[] x = new double[n], y = new double[n], vx = new double[n], vy = new double[n];
+        double[] bestX = new double[n], bestY = new double[n], bestValue = new double[n];
+        double xMin = problem.xMin(), xMax = problem.xMax();
+        double yMin = problem.yMin(), yMax = problem.yMax();
+        double xrange = xMax - xMin, yrange = yMax - yMin;
+        double vmax = Math.max(xrange, yrange);
+
+        boolean approximated = TieredProblem.isApproximate(problem);
+        double gx = 0, gy = 0, gvx = 0, gvy = 0;
+        double globalBestValue = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            x[i] = xMin + rand.nextDouble() * xrange;
+            y[i] = yMin + rand.nextDouble() * yrange;
+            vx[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            vy[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            bestX[i] = x[i];
+            bestY[i] = y[i];
+            bestValue[i] = problem.evaluate(new Particle(x[i], y[i], vx[i], vy[i]));
+            surrogate.add(x[i], y[i], bestValue[i]);
+            if (i == 0 || bestValue[i] < globalBestValue) {
+                globalBestValue = bestValue[i];
+                gx = x[i]; gy = y[i]; gvx = vx[i]; gvy = vy[i];
+            }
+        }
+        long evaluations = n;
+
+        for (int iters = 1; iters <= numIterations; iters++) {
+            approximated |= TieredProblem.isApproximate(problem);
+            for (int i = 0; i < n; i++) {
+                double r1 = rand.nextDouble();
+                double r2 = rand.nextDouble();
+                double px = x[i];
+                double py = y[i];
+                double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+                double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+                nvx = Math.max(-vmax, Math.min(vmax, nvx));
+                nvy = Math.max(-vmax, Math.min(vmax, nvy));
+                px = Math.max(xMin, Math.min(xMax, px + nvx));
+                py = Math.max(yMin, Math.min(yMax, py + nvy));
+                x[i] = px; y[i] = py; vx[i] = nvx; vy[i] = nvy;
+
+                // Filtrado: solo se evalúan los candidatos prometedores y una parte de exploración
+                boolean explore = rand.nextDouble() < explorationRate;
+                double predicted = surrogate.predict(px, py);
+                if (!explore && predicted >= bestValue[i]) {
+                    screened++;
+                    continue;
+                }
+
+                double value = problem.evaluate(new Particle(px, py, nvx, nvy));
+                evaluations++;
+                surrogate.add(px, py, value);
+                if (value < bestValue[i]) {
+                    bestX[i] = px;
+                    bestY[i] = py;
+                    bestValue[i] = value;
+                }
+                if (value < globalBestValue) {
+                    globalBestValue = value;
+                    gx = px; gy = py; gvx = nvx; gvy = nvy;
+                }
+            }
+        }
+
+        // Con evaluaciones aproximadas, el mejor se elige de nuevo con precisión completa
+        long verifications = 0;
+        if (approximated) {
+            int b = TieredProblem.verifyBests((TieredProblem) problem, bestX, bestY, bestValue, n);
+            gx = bestX[b]; gy = bestY[b]; gvx = vx[b]; gvy = vy[b];
+            globalBestValue = bestValue[b];
+            verifications = n;
+        }
+        return new RunResult(new Particle(gx, gy, gvx, gvy), globalBestValue, numIterations, evaluations,
+                System.nanoTime() - start, "maxIterations", verifications);
+    }
+}
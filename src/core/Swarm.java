@@ -0,0 +1,57 @@
+package core;
+
+/**
+ * Enjambre de dimensión arbitraria guardado en arrays planos contiguos.
+ * <p>
+ * La coordenada d de la partícula i está en {@code [i * dimension + d]} de cada
+ * array, de modo que las coordenadas de una partícula son consecutivas en memoria y
+ * el coste de una iteración crece linealmente con la dimensión.
+ * </p>
+ */
+public class Swarm {
+    final int size;
+    final int dimension;
+    final double[] position;
+    final double[] velocity;
+    final double[] bestPosition;
+    final double[] bestValue;
+    final double[] value;
+
+    /**
+     * Reserva un enjambre vacío.
+     *
+     * @param size número de partículas
+     * @param dimension número de variables de cada partícula
+     */
+    public Swarm(int size, int dimension) {
+        this.size = size;
+        this.dimension = dimension;
+        this.position = new double[size * dimension];
+        this.velocity = new double[size * dimension];
+        this.bestPosition = new double[size * dimension];
+        this.bestValue = new double[size];
+        this.value = new double[size];
+    }
+
+    /** Número de partículas. */
+    public int size() { return size; }
+
+    /** Número de variables de cada partícula. */
+    public int dimension() { return dimension; }
+
+    /** Coordenada d de la posición actual de la partícula i. */
+    public double position(int i, int d) { return position[i * dimension + d]; }
+
+    /** Componente d de la velocidad actual de la partícula i. */
+    public double velocity(int i, int d) { return velocity[i * dimension + d]; }
+
+    /** Valor de la mejor posición visitada por la partícula i. */
+    public double bestValue(int i) { return bestValue[i]; }
+
+    /** Copia de la mejor posición visitada por la partícula i. */
+    public double[] bestPosition(int i) {
+        double[] copy = new double[dimension];
+        System.arraycopy(bestPosition, i * dimension, copy, 0, dimension);
+        return copy;
+    }
+}
@@ -0,0 +1,98 @@
+package core;
+
+/**
+ * Copia del estado del enjambre en arrays primitivos reutilizables.
+ * <p>
+ * {@link #copyFrom(SwarmView)} solo reserva memoria cuando cambia el número de
+ * partículas, por lo que un mismo frame se puede rellenar en cada iteración sin
+ * generar basura.
+ * </p>
+ */
+public class SwarmFrame implements SwarmView {
+    private int iteration;
+    private int size;
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] vx = new double[0];
+    private double[] vy = new double[0];
+    private double bestX = Double.NaN;
+    private double bestY = Double.NaN;
+    private double bestValue = Double.NaN;
+
+    /** Sustituye el contenido del frame por el estado de la vista dada. */
+    public void copyFrom(SwarmView view) {
+        if (view instanceof SwarmFrame other) {
+            copyFrom(other);
+            return;
+        }
+        int n = view.size();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            x[i] = view.x(i);
+            y[i] = view.y(i);
+            vx[i] = view.vx(i);
+            vy[i] = view.vy(i);
+        }
+        size = n;
+        iteration = view.iteration();
+        bestX = view.bestX();
+        bestY = view.bestY();
+        bestValue = view.bestValue();
+    }
+
+    /**
+     * Copia de otro frame que no lanza excepciones aunque el origen se esté escribiendo
+     * a la vez: cada campo se lee una sola vez y el tamaño se acota por los arrays
+     * leídos. {@link SwarmFrameBuffer} descarta después la copia si la versión cambió.
+     */
+    private void copyFrom(SwarmFrame other) {
+        double[] ox = other.x, oy = other.y, ovx = other.vx, ovy = other.vy;
+        int n = Math.min(Math.min(other.size, ox.length), Math.min(oy.length, Math.min(ovx.length, ovy.length)));
+        ensureCapacity(n);
+        System.arraycopy(ox, 0, x, 0, n);
+        System.arraycopy(oy, 0, y, 0, n);
+        System.arraycopy(ovx, 0, vx, 0, n);
+        System.arraycopy(ovy, 0, vy, 0, n);
+        size = n;
+        iteration = other.iteration;
+        bestX = other.bestX;
+        bestY = other.bestY;
+        bestValue = other.bestValue;
+    }
+
+    /** Sustituye el contenido del frame por unas partículas sueltas (compatibilidad). */
+    public void copyFrom(Particle[] particles, Particle globalBest) {
+        int n = particles == null ? 0 : particles.length;
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            x[i] = particles[i].x();
+            y[i] = particles[i].y();
+            vx[i] = particles[i].vx();
+            vy[i] = particles[i].vy();
+        }
+        size = n;
+        iteration = 0;
+        bestX = globalBest == null ? Double.NaN : globalBest.x();
+        bestY = globalBest == null ? Double.NaN : globalBest.y();
+        bestValue = Double.NaN;
+    }
+
+    private void ensureCapacity(int n) {
+        if (x.length < n) {
+            x = new double[n];
+            y = new double[n];
+            vx = new double[n];
+            vy = new double[n];
+        }
+    }
+
+    @Override public int iteration() { return iteration; }
+    @Override public int size() { return size; }
+    @Override public double x(int i) { return x[i]; }
+    @Override public double y(int i) { return y[i]; }
+    @Override public double vx(int i) { return vx[i]; }
+    @Override public double vy(int i) { return vy[i]; }
+    @Override public double bestX() { return bestX; }
+    @Override public double bestY() { return bestY; }
+    @Override public double bestValue() { return bestValue; }
+}
@@ -0,0 +1,159 @@
+package core;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canal entre el optimizador y quien visualiza o registra su progreso.
+ * <p>
+ * Se registra como {@link SimplePSO.PSOListener}: en cada iteración muestreada copia
+ * la vista del enjambre en uno de los frames de un buffer circular preasignado y
+ * lo publica. El optimizador nunca espera al consumidor: si el buffer está lleno se
+ * aplica la {@link DropPolicy} configurada. El consumidor (por ejemplo la interfaz
+ * gráfica) lee a su propio ritmo con {@link #readLatest(SwarmFrame)} (último frame) o
+ * {@link #poll(SwarmFrame)} (siguiente frame no leído, en orden).
+ * </p>
+ * <p>
+ * Cada frame se protege con un contador de versión (par = estable, impar = en
+ * escritura): el lector copia el frame y repite si la versión cambió entretanto, de
+ * modo que ni el productor ni el consumidor se bloquean. Se asume un único productor
+ * y un único consumidor que use {@code poll}.
+ * </p>
+ */
+public class SwarmFrameBuffer implements SimplePSO.PSOListener {
+
+    /** Qué hacer cuando el consumidor no ha leído todavía los frames del buffer. */
+    public enum DropPolicy {
+        /** Sobrescribir el frame más antiguo: el consumidor siempre ve lo más reciente. */
+        DROP_OLDEST,
+        /** Descartar el frame nuevo: el consumidor ve una secuencia continua hasta que se llena. */
+        DROP_NEWEST
+    }
+
+    private static final class Slot {
+        final SwarmFrame frame = new SwarmFrame();
+        volatile long version;
+        long frameNumber = -1;
+    }
+
+    private final Slot[] slots;
+    private final DropPolicy policy;
+    private final int samplingInterval;
+    // Número de frames publicados: el frame k está en slots[k % capacidad]
+    private volatile long published;
+    // Siguiente frame que devolverá poll()
+    private final AtomicLong consumed = new AtomicLong();
+    private volatile long dropped;
+
+    /**
+     * Buffer doble que conserva siempre el frame más reciente de cada iteración.
+     */
+    public SwarmFrameBuffer() {
+        this(2, DropPolicy.DROP_OLDEST, 1);
+    }
+
+    /**
+     * @param capacity número de frames del buffer circular (>= 1)
+     * @param policy política cuando el consumidor va retrasado
+     * @param samplingInterval publicar solo una de cada N iteraciones (>= 1)
+     */
+    public SwarmFrameBuffer(int capacity, DropPolicy policy, int samplingInterval) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity debe ser >= 1");
+        if (samplingInterval < 1) throw new IllegalArgumentException("samplingInterval debe ser >= 1");
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.policy = policy;
+        this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public void onIteration(int iteration, SwarmView swarm) {
+        if (iteration % samplingInterval != 0) {
+            return;
+        }
+        long n = published;
+        if (policy == DropPolicy.DROP_NEWEST && n - consumed.get() >= slots.length) {
+            dropped = dropped + 1; // solo escribe el productor
+            return;
+        }
+        Slot slot = slots[(int) (n % slots.length)];
+        long v = slot.version;
+        slot.version = v + 1; // impar: en escritura
+        VarHandle.storeStoreFence();
+        slot.frame.copyFrom(swarm);
+        slot.frameNumber = n;
+        slot.version = v + 2; // par: estable (escritura volatile = publicación)
+        published = n + 1;
+    }
+
+    /**
+     * Copia en {@code dst} el frame publicado más reciente.
+     *
+     * @return false si todavía no se ha publicado ningún frame
+     */
+    public boolean readLatest(SwarmFrame dst) {
+        while (true) {
+            long p = published;
+            if (p == 0) {
+                return false;
+            }
+            if (read(slots[(int) ((p - 1) % slots.length)], p - 1, dst)) {
+                consumed.accumulateAndGet(p, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Copia en {@code dst} el siguiente frame no leído, en orden de publicación. Si
+     * el productor ya sobrescribió frames no leídos, salta al más antiguo disponible.
+     *
+     * @return false si no hay frames nuevos
+     */
+    public boolean poll(SwarmFrame dst) {
+        while (true) {
+            long c = consumed.get();
+            long p = published;
+            if (c >= p) {
+                return false;
+            }
+            if (p - c > slots.length) {
+                c = p - slots.length;
+            }
+            if (read(slots[(int) (c % slots.length)], c, dst)) {
+                consumed.set(c + 1);
+                return true;
+            }
+        }
+    }
+
+    /** Número de frames publicados hasta ahora. */
+    public long published() {
+        return published;
+    }
+
+    /** Número de frames descartados por la política {@link DropPolicy#DROP_NEWEST}. */
+    public long dropped() {
+        return dropped;
+    }
+
+    /** Lectura optimista del slot; false si contiene otro frame distinto del esperado. */
+    private static boolean read(Slot slot, long expected, SwarmFrame dst) {
+        while (true) {
+            long v1 = slot.version;
+            if ((v1 & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long number = slot.frameNumber;
+            // La copia no lanza excepciones aunque lea un frame a medio escribir
+            dst.copyFrom(slot.frame);
+            VarHandle.loadLoadFence();
+            if (slot.version == v1) {
+                return number == expected;
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package core;
+
+import java.util.Random;
+
+/**
+ * PSO de dimensión arbitraria sobre un {@link ProblemND}.
+ * <p>
+ * Aplica el mismo algoritmo que {@link SimplePSO} a cada dimensión, con límites y
+ * rango de velocidad por dimensión, sobre un {@link Swarm} de arrays planos. Con un
+ * problema 2D adaptado mediante {@link ProblemND#of(Problem)} y la misma semilla
+ * devuelve exactamente la misma solución que {@link ArrayPSO}. Si ese problema es un
+ * {@link TieredProblem} que evalúa en {@link EvaluationPrecision#FAST}, los mejores
+ * personales se recalculan al terminar con precisión completa, como en los motores 2D.
+ * </p>
+ */
+public class SwarmPSO {
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final ProblemND problem;
+    private final Random rand = new Random();
+    // Límite máximo absoluto de la velocidad (vmax). Si es NaN, se deriva del dominio en tiempo de ejecución.
+    private final double vmaxLimit;
+    private final Swarm swarm;
+    private double globalBestValue = Double.NaN;
+
+    /**
+     * Constructor que deriva vmax del mayor rango del dominio.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param problem instancia de {@link ProblemND} que provee dominio y evaluación
+     */
+    public SwarmPSO(int numParticles, int numIterations, double w, double c1, double c2, ProblemND problem) {
+        this(numParticles, numIterations, w, c1, c2, Double.NaN, problem);
+    }
+
+    /**
+     * Constructor con un vmax explícito.
+     *
+     * @param numParticles número de partículas en el enjambre
+     * @param numIterations número de iteraciones a ejecutar
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param vmax máximo de velocidad absoluta por componente (>=0); NaN para derivarlo del dominio
+     * @param problem instancia de {@link ProblemND} que provee dominio y evaluación
+     */
+    public SwarmPSO(int numParticles, int numIterations, double w, double c1, double c2, double vmax, ProblemND problem) {
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.vmaxLimit = Double.isNaN(vmax) ? Double.NaN : Math.max(0.0, vmax);
+        this.swarm = new Swarm(numParticles, problem.dimension());
+    }
+
+    /**
+     * Fija la semilla del generador aleatorio para obtener ejecuciones reproducibles.
+     *
+     * @param seed semilla del generador
+     */
+    public void setSeed(long seed) {
+        rand.setSeed(seed);
+    }
+
+    /** Estado del enjambre tras la última ejecución. */
+    public Swarm getSwarm() {
+        return swarm;
+    }
+
+    /** Valor de la mejor solución de la última ejecución (NaN si no se ha ejecutado). */
+    public double getBestValue() {
+        return globalBestValue;
+    }
+
+    /**
+     * Ejecuta el algoritmo PSO.
+     *
+     * @return copia de la mejor posición global encontrada, o null si no hay partículas
+     */
+    public double[] run() {
+        if (numParticles == 0) {
+            return null; // caso extremo: no hay partículas
+        }
+        int dim = swarm.dimension;
+        double[] pos = swarm.position;
+        double[] vel = swarm.velocity;
+        double[] best = swarm.bestPosition;
+        double[] bestValue = swarm.bestValue;
+
+        // INICIALIZACIÓN -----------------------------------------------------
+
+        double[] lo = new double[dim];
+        double[] hi = new double[dim];
+        double maxRange = 0;
+        for (int d = 0; d < dim; d++) {
+            lo[d] = problem.lower(d);
+            hi[d] = problem.upper(d);
+            maxRange = Math.max(maxRange, hi[d] - lo[d]);
+        }
+        double vmax = Double.isNaN(this.vmaxLimit) ? maxRange : this.vmaxLimit;
+        // Un problema 2D adaptado con ProblemND.of conserva su nivel de precisión
+        Problem flat = dim == 2 ? problem.asProblem() : null;
+        boolean approximated = TieredProblem.isApproximate(flat);
+
+        for (int i = 0; i < numParticles; i++) {
+            int base = i * dim;
+            for (int d = 0; d < dim; d++) {
+                pos[base + d] = lo[d] + rand.nextDouble() * (hi[d] - lo[d]);
+            }
+            for (int d = 0; d < dim; d++) {
+                vel[base + d] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            }
+        }
+        System.arraycopy(pos, 0, best, 0, pos.length);
+
+        // El mejor global se copia en un array propio para que no cambie al mover la partícula
+        double[] gbest = new double[dim];
+        double gbestValue = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < numParticles; i++) {
+            bestValue[i] = problem.evaluate(pos, i * dim);
+            if (i == 0 || bestValue[i] < gbestValue) {
+                gbestValue = bestValue[i];
+                System.arraycopy(pos, i * dim, gbest, 0, dim);
+            }
+        }
+
+        // BUCLE PRINCIPAL -----------------------------------------------------
+
+        for (int iters = 1; iters <= numIterations; iters++) {
+            approximated |= TieredProblem.isApproximate(flat);
+            for (int i = 0; i < numParticles; i++) {
+                double r1 = rand.nextDouble();
+                double r2 = rand.nextDouble();
+                int base = i * dim;
+                for (int d = 0; d < dim; d++) {
+                    int k = base + d;
+                    double p = pos[k];
+                    double v = w * vel[k] + c1 * r1 * (best[k] - p) + c2 * r2 * (gbest[d] - p);
+                    v = Math.max(-vmax, Math.min(vmax, v));
+                    vel[k] = v;
+                    pos[k] = Math.max(lo[d], Math.min(hi[d], p + v));
+                }
+
+                double value = problem.evaluate(pos, base);
+                swarm.value[i] = value;
+
+                if (value < bestValue[i]) {
+                    System.arraycopy(pos, base, best, base, dim);
+                    bestValue[i] = value;
+                }
+
+                if (value < gbestValue) {
+                    gbestValue = value;
+                    System.arraycopy(pos, base, gbest, 0, dim);
+                }
+            }
+        }
+
+        // Con evaluaciones aproximadas, el mejor se elige de nuevo con precisión completa
+        if (approximated) {
+            TieredProblem tiered = (TieredProblem) flat;
+            int b = 0;
+            for (int i = 0; i < numParticles; i++) {
+                bestValue[i] = tiered.evaluateExact(new Particle(best[2 * i], best[2 * i + 1], 0, 0));
+                if (bestValue[i] < bestValue[b]) b = i;
+            }
+            gbestValue = bestValue[b];
+            System.arraycopy(best, 2 * b, gbest, 0, 2);
+        }
+
+        this.globalBestValue = gbestValue;
+        return gbest;
+    }
+}
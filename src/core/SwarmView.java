@@ -0,0 +1,49 @@
+package core;
+
+/**
+ * Vista de solo lectura del enjambre tras una iteración.
+ * <p>
+ * Los optimizadores pasan esta vista a {@link SimplePSO.PSOListener} sin copiar las
+ * partículas: lee directamente su estado interno y solo es válida durante la llamada
+ * al listener. Quien necesite conservar el estado debe copiarlo, por ejemplo con
+ * {@link SwarmFrame#copyFrom(SwarmView)} o publicándolo en un {@link SwarmFrameBuffer}.
+ * </p>
+ */
+public interface SwarmView {
+    /** Iteración a la que corresponde el estado (0 antes de la primera). */
+    int iteration();
+
+    /** Número de partículas. */
+    int size();
+
+    double x(int i);
+    double y(int i);
+    double vx(int i);
+    double vy(int i);
+
+    /** Posición y valor del mejor global. */
+    double bestX();
+    double bestY();
+    double bestValue();
+
+    /** Mejor posición personal (pbest) de la partícula i; NaN si el optimizador no la expone. */
+    default double pbestX(int i) { return Double.NaN; }
+    default double pbestY(int i) { return Double.NaN; }
+
+    /** Valor de la mejor posición personal de la partícula i; NaN si el optimizador no lo expone. */
+    default double pbestValue(int i) { return Double.NaN; }
+
+    /** Copia las partículas como objetos {@link Particle} (reserva memoria). */
+    default Particle[] toParticles() {
+        Particle[] particles = new Particle[size()];
+        for (int i = 0; i < particles.length; i++) {
+            particles[i] = new Particle(x(i), y(i), vx(i), vy(i));
+        }
+        return particles;
+    }
+
+    /** El mejor global como partícula (con velocidad nula). */
+    default Particle best() {
+        return new Particle(bestX(), bestY(), 0, 0);
+    }
+}
@@ -0,0 +1,67 @@
+package core;
+
+/**
+ * {@link Problem} que puede evaluarse con distintos niveles de precisión
+ * ({@link EvaluationPrecision}). Si alguna evaluación de una ejecución se hizo en
+ * {@link EvaluationPrecision#FAST} (también antes de que {@link PrecisionSchedule} pase
+ * a precisión completa), los motores del paquete ({@link SimplePSO}, {@link ArrayPSO},
+ * {@link ParallelPSO}, {@link AsyncPSO}, {@link SurrogatePSO}, {@link IslandPSO},
+ * {@code distributed.DistributedIslandPSO} y {@link SwarmPSO} con un problema adaptado por
+ * {@link ProblemND#of(Problem)}) recalculan al terminar los mejores personales con
+ * {@link #evaluateExact(Particle)}, de modo que el resultado devuelto siempre está
+ * evaluado con precisión completa. {@link CachedProblem} conserva el nivel del problema
+ * que envuelve.
+ * <p>
+ * El nivel de una instancia es fijo ({@link #precision()}): la misma función se puede
+ * compartir entre ejecuciones e hilos sin que una cambie la precisión de otra. Para
+ * cambiar el nivel durante una ejecución se le da al motor una {@link PrecisionView}
+ * propia de esa ejecución, como hace {@link PrecisionSchedule}.
+ * </p>
+ */
+public interface TieredProblem extends Problem {
+
+    /** Evalúa con el nivel dado, sea cual sea el de la instancia. */
+    double evaluate(Particle p, EvaluationPrecision precision);
+
+    /** Evaluación por lotes con el nivel dado (véase {@link #evaluate(double[], double[], double[], int, int)}). */
+    void evaluate(double[] xs, double[] ys, double[] out, int from, int to, EvaluationPrecision precision);
+
+    /** Nivel con el que evalúan {@link #evaluate(Particle)} y la evaluación por lotes. */
+    EvaluationPrecision precision();
+
+    @Override
+    default double evaluate(Particle p) {
+        return evaluate(p, precision());
+    }
+
+    @Override
+    default void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        evaluate(xs, ys, out, from, to, precision());
+    }
+
+    /** Evalúa con {@link Math} sea cual sea el nivel de la instancia. */
+    default double evaluateExact(Particle p) {
+        return evaluate(p, EvaluationPrecision.EXACT);
+    }
+
+    /** true si el problema es un {@code TieredProblem} que evalúa en {@link EvaluationPrecision#FAST}. */
+    static boolean isApproximate(Problem problem) {
+        return problem instanceof TieredProblem tiered && tiered.precision() == EvaluationPrecision.FAST;
+    }
+
+    /**
+     * Recalcula con precisión completa los mejores personales {@code [0, n)} de un motor
+     * con estructura de arrays: sustituye cada {@code bestValue[i]} por su valor exacto
+     * (salvo los que aún no se han evaluado, a +infinito) y devuelve el índice del menor.
+     */
+    static int verifyBests(TieredProblem problem, double[] bestX, double[] bestY, double[] bestValue, int n) {
+        int best = 0;
+        for (int i = 0; i < n; i++) {
+            if (bestValue[i] != Double.POSITIVE_INFINITY) {
+                bestValue[i] = problem.evaluateExact(new Particle(bestX[i], bestY[i], 0, 0));
+            }
+            if (bestValue[i] < bestValue[best]) best = i;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,186 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lectura de una trayectoria grabada con {@link TrajectoryRecorder}.
+ * <p>
+ * El fichero se proyecta en memoria en tramos de hasta 1 GiB formados por frames
+ * completos, y los valores se leen directamente de la proyección: abrir un fichero de
+ * decenas de gigabytes no carga nada en el heap y el sistema operativo solo lee las
+ * páginas de los frames que se visitan. Cualquier frame se localiza en tiempo
+ * constante por su posición; {@link #frameOf(int)} convierte una iteración en frame.
+ * Varios hilos pueden leer a la vez con cursores distintos.
+ * </p>
+ */
+public final class TrajectoryFile implements AutoCloseable {
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final int particles;
+    private final int valueBytes;
+    private final int samplingInterval;
+    private final long frameBytes;
+    private final int frames;
+    private final int framesPerChunk;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Abre una trayectoria. Si la grabación se interrumpió, se ignora el último frame
+     * incompleto.
+     *
+     * @param file fichero escrito por {@link TrajectoryRecorder}
+     * @throws IOException si no se puede leer o no es una trayectoria
+     */
+    public TrajectoryFile(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TrajectoryRecorder.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) { }
+            header.flip();
+            if (header.remaining() < TrajectoryRecorder.HEADER_BYTES || header.getInt() != TrajectoryRecorder.MAGIC
+                    || header.getShort() != TrajectoryRecorder.VERSION) {
+                throw new IOException("No es una trayectoria PSO: " + file);
+            }
+            valueBytes = header.get();
+            header.get();
+            particles = header.getInt();
+            samplingInterval = header.getInt();
+            frameBytes = header.getLong();
+            if (frameBytes != TrajectoryRecorder.FRAME_HEADER_BYTES
+                    + (long) TrajectoryRecorder.BLOCKS * particles * valueBytes) {
+                throw new IOException("Cabecera de trayectoria inconsistente: " + file);
+            }
+            long count = (channel.size() - TrajectoryRecorder.HEADER_BYTES) / frameBytes;
+            if (count > Integer.MAX_VALUE) throw new IOException("Demasiados frames: " + count);
+            frames = (int) count;
+
+            framesPerChunk = (int) Math.max(1, Math.min(Math.max(1, frames), MAX_CHUNK_BYTES / frameBytes));
+            chunks = new MappedByteBuffer[(frames + framesPerChunk - 1) / framesPerChunk];
+            for (int c = 0; c < chunks.length; c++) {
+                int n = Math.min(framesPerChunk, frames - c * framesPerChunk);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        TrajectoryRecorder.HEADER_BYTES + c * framesPerChunk * frameBytes, n * frameBytes);
+                chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Número de frames completos. */
+    public int frames() { return frames; }
+
+    /** Número de partículas de cada frame. */
+    public int particles() { return particles; }
+
+    /** Intervalo de muestreo con que se grabó (una de cada N iteraciones). */
+    public int samplingInterval() { return samplingInterval; }
+
+    /** Iteración grabada en el frame k. */
+    public int iteration(int frame) {
+        return chunk(frame).getInt(offset(frame));
+    }
+
+    /**
+     * Frame que contiene la iteración dada, o el último anterior a ella. Con grabaciones
+     * de intervalo fijo es un cálculo directo; si no cuadra (por ejemplo si la ejecución
+     * saltó iteraciones), se hace una búsqueda binaria sobre las iteraciones grabadas.
+     *
+     * @return índice del frame, o -1 si la iteración es anterior al primer frame
+     */
+    public int frameOf(int iteration) {
+        if (frames == 0 || iteration < iteration(0)) return -1;
+        long guess = (long) (iteration - iteration(0)) / samplingInterval;
+        if (guess < frames && iteration((int) guess) <= iteration
+                && (guess + 1 == frames || iteration((int) guess + 1) > iteration)) {
+            return (int) guess;
+        }
+        int lo = 0, hi = frames - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (iteration(mid) <= iteration) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    /** Cursor de lectura situado en el primer frame. */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private MappedByteBuffer chunk(int frame) {
+        if (frame < 0 || frame >= frames) throw new IndexOutOfBoundsException("Frame " + frame + " de " + frames);
+        return chunks[frame / framesPerChunk];
+    }
+
+    private int offset(int frame) {
+        return (int) ((frame % framesPerChunk) * frameBytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Vista de un frame que lee de la proyección sin copiar. Se mueve con
+     * {@link #seek(int)} y {@link #next()}; se puede pasar tal cual a
+     * {@code FunctionPlotter.updateParticles(SwarmView)} o a cualquier
+     * {@link SimplePSO.PSOListener}.
+     */
+    public final class Cursor implements SwarmView {
+        private MappedByteBuffer chunk;
+        private int base;
+        private int frame = -1;
+
+        private Cursor() {
+            if (frames > 0) seek(0);
+        }
+
+        /** Sitúa el cursor en el frame k. */
+        public Cursor seek(int frame) {
+            this.chunk = chunk(frame);
+            this.base = offset(frame);
+            this.frame = frame;
+            return this;
+        }
+
+        /** Avanza al frame siguiente; false si ya estaba en el último. */
+        public boolean next() {
+            if (frame + 1 >= frames) return false;
+            seek(frame + 1);
+            return true;
+        }
+
+        /** Frame actual. */
+        public int frame() {
+            return frame;
+        }
+
+        private double value(int block, int i) {
+            int at = base + TrajectoryRecorder.FRAME_HEADER_BYTES + (block * particles + i) * valueBytes;
+            return valueBytes == Float.BYTES ? chunk.getFloat(at) : chunk.getDouble(at);
+        }
+
+        @Override public int iteration() { return chunk.getInt(base); }
+        @Override public int size() { return particles; }
+        @Override public double x(int i) { return value(0, i); }
+        @Override public double y(int i) { return value(1, i); }
+        @Override public double vx(int i) { return value(2, i); }
+        @Override public double vy(int i) { return value(3, i); }
+        @Override public double pbestX(int i) { return value(4, i); }
+        @Override public double pbestY(int i) { return value(5, i); }
+        @Override public double pbestValue(int i) { return value(6, i); }
+        @Override public double bestX() { return chunk.getDouble(base + 8); }
+        @Override public double bestY() { return chunk.getDouble(base + 16); }
+        @Override public double bestValue() { return chunk.getDouble(base + 24); }
+    }
+}
@@ -0,0 +1,203 @@
+package core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Graba el estado completo del enjambre (posición, velocidad y mejor personal de cada
+ * partícula) en cada iteración muestreada, en un fichero binario de registros de
+ * tamaño fijo que se lee con {@link TrajectoryFile}.
+ * <p>
+ * Formato (little-endian): una cabecera de 64 bytes ({@code "PSOR"}, versión, bytes
+ * por valor, número de partículas, intervalo de muestreo y tamaño de frame) seguida
+ * de los frames. Cada frame empieza con 32 bytes (iteración, relleno, posición y valor
+ * del mejor global en {@code double}) y sigue con siete bloques contiguos de
+ * {@code n} valores: x, y, vx, vy, pbest x, pbest y y valor de pbest, en
+ * {@code float} o en {@code double}. Como todos los frames miden lo mismo, el frame k
+ * está en {@code 64 + k * tamaño}: el propio tamaño fijo es el índice.
+ * </p>
+ * <p>
+ * El optimizador solo copia el frame en un buffer directo; cuando se llena, un hilo
+ * de escritura lo vuelca al fichero mientras el optimizador sigue con el otro buffer.
+ * El optimizador espera únicamente si el disco es más lento que él. Un fichero
+ * interrumpido sigue siendo legible hasta el último frame completo.
+ * </p>
+ */
+public class TrajectoryRecorder implements SimplePSO.PSOListener, AutoCloseable {
+
+    /** Precisión de los valores por partícula (el mejor global siempre va en double). */
+    public enum Precision {
+        FLOAT32(Float.BYTES),
+        FLOAT64(Double.BYTES);
+
+        final int bytes;
+
+        Precision(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    static final int MAGIC = 0x524F5350; // "PSOR" en little-endian
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int FRAME_HEADER_BYTES = 32;
+    static final int BLOCKS = 7;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final int particles;
+    private final Precision precision;
+    private final int samplingInterval;
+    private final long frameBytes;
+    private final ArrayBlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(2);
+    private final ArrayBlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(2);
+    private final Thread writer;
+    private ByteBuffer current;
+    private volatile IOException failure;
+    private long frames;
+    private boolean closed;
+
+    /**
+     * @param file fichero de salida (se sobrescribe)
+     * @param particles número de partículas del enjambre
+     * @param precision precisión de los valores por partícula
+     * @param samplingInterval grabar solo una de cada N iteraciones (>= 1)
+     * @throws IOException si no se puede crear el fichero
+     */
+    public TrajectoryRecorder(Path file, int particles, Precision precision, int samplingInterval) throws IOException {
+        if (particles < 1) throw new IllegalArgumentException("particles debe ser >= 1");
+        if (samplingInterval < 1) throw new IllegalArgumentException("samplingInterval debe ser >= 1");
+        this.particles = particles;
+        this.precision = precision;
+        this.samplingInterval = samplingInterval;
+        this.frameBytes = FRAME_HEADER_BYTES + (long) BLOCKS * particles * precision.bytes;
+        if (frameBytes > Integer.MAX_VALUE / 2) throw new IllegalArgumentException("Demasiadas partículas: " + particles);
+
+        int capacity = (int) Math.max(BUFFER_BYTES, frameBytes);
+        for (int i = 0; i < 2; i++) {
+            free.add(ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).put((byte) precision.bytes).put((byte) 0)
+                .putInt(particles).putInt(samplingInterval).putLong(frameBytes);
+        header.clear();
+        while (header.hasRemaining()) channel.write(header);
+
+        current = free.poll();
+        writer = new Thread(this::writeLoop, "pso-trajectory-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Graba todas las iteraciones en {@code double}. */
+    public TrajectoryRecorder(Path file, int particles) throws IOException {
+        this(file, particles, Precision.FLOAT64, 1);
+    }
+
+    @Override
+    public void onIteration(int iteration, SwarmView swarm) {
+        if (failure != null) throw new UncheckedIOException("Fallo al grabar la trayectoria", failure);
+        if (closed || iteration % samplingInterval != 0) {
+            return;
+        }
+        if (swarm.size() != particles) {
+            throw new IllegalArgumentException("El enjambre tiene " + swarm.size() + " partículas, no " + particles);
+        }
+        if (current.remaining() < frameBytes) {
+            swap();
+        }
+        ByteBuffer b = current;
+        b.putInt(iteration).putInt(0).putDouble(swarm.bestX()).putDouble(swarm.bestY()).putDouble(swarm.bestValue());
+        int n = particles;
+        if (precision == Precision.FLOAT32) {
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.x(i));
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.y(i));
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.vx(i));
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.vy(i));
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.pbestX(i));
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.pbestY(i));
+            for (int i = 0; i < n; i++) b.putFloat((float) swarm.pbestValue(i));
+        } else {
+            for (int i = 0; i < n; i++) b.putDouble(swarm.x(i));
+            for (int i = 0; i < n; i++) b.putDouble(swarm.y(i));
+            for (int i = 0; i < n; i++) b.putDouble(swarm.vx(i));
+            for (int i = 0; i < n; i++) b.putDouble(swarm.vy(i));
+            for (int i = 0; i < n; i++) b.putDouble(swarm.pbestX(i));
+            for (int i = 0; i < n; i++) b.putDouble(swarm.pbestY(i));
+            for (int i = 0; i < n; i++) b.putDouble(swarm.pbestValue(i));
+        }
+        frames++;
+    }
+
+    /** Entrega el buffer lleno al hilo de escritura y toma el otro. */
+    private void swap() {
+        try {
+            current.flip();
+            full.put(current);
+            current = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrumpido al grabar la trayectoria"));
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer buffer;
+            try {
+                buffer = full.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            boolean last = buffer.capacity() == 0;
+            try {
+                if (!last && failure == null) {
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            if (last) return;
+            buffer.clear();
+            free.add(buffer);
+        }
+    }
+
+    /** Frames grabados hasta ahora (algunos pueden estar aún en memoria). */
+    public long frames() {
+        return frames;
+    }
+
+    /**
+     * Vuelca los frames pendientes y cierra el fichero.
+     *
+     * @throws IOException si falló alguna escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            current.flip();
+            full.put(current);
+            full.put(ByteBuffer.allocate(0)); // marca de fin
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrumpido al cerrar la trayectoria");
+        } finally {
+            channel.close();
+        }
+        if (failure != null) throw failure;
+    }
+}
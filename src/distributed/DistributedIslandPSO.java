@@ -0,0 +1,219 @@
+package distributed;
+
+import core.Particle;
+import core.Problem;
+import core.TieredProblem;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Isla de un PSO distribuido entre varios procesos.
+ * <p>
+ * Cada proceso ejecuta un enjambre con la regla de {@link core.SimplePSO} y, cada
+ * {@code migrationInterval} iteraciones, envía a sus pares (a través de un
+ * {@link PeerNode}) su mejor global y un lote con las mejores posiciones locales.
+ * Los mensajes recibidos se integran sin esperar: cada migrante sustituye a la peor
+ * partícula si la mejora, y un mejor global remoto se adopta como gbest. Si un par
+ * es lento o no está, la isla sigue optimizando sola.
+ * </p>
+ * <p>
+ * Uso: {@code java -cp out distributed.DistributedIslandPSO id escucha función partículas iteraciones [pares...]},
+ * por ejemplo {@code 0 127.0.0.1:7000 Function4 100 500 127.0.0.1:7001}. Ver {@link LocalCluster}
+ * para lanzar varias JVM en la misma máquina.
+ * </p>
+ */
+public class DistributedIslandPSO {
+    private final int id;
+    private final int numParticles;
+    private final int numIterations;
+    private final double w;
+    private final double c1;
+    private final double c2;
+    private final Problem problem;
+    private final PeerNode node;
+    private final int migrationInterval;
+    private final int migrantsPerMessage;
+    private final Random rand;
+    private int migrantsAccepted;
+
+    /**
+     * @param id identificador de este proceso
+     * @param numParticles número de partículas de la isla
+     * @param numIterations número de iteraciones
+     * @param w peso de inercia
+     * @param c1 coeficiente cognitivo (atracción a la mejor local)
+     * @param c2 coeficiente social (atracción a la mejor global)
+     * @param problem instancia de {@link Problem} que provee dominio y evaluación
+     * @param node nodo de comunicación con los pares
+     * @param migrationInterval iteraciones entre envíos (>= 1)
+     * @param migrantsPerMessage mejores posiciones locales enviadas en cada mensaje; se
+     *        limita al número de partículas y a {@link MigrationMessage#MAX_MIGRANTS}
+     * @param seed semilla del generador aleatorio de la isla
+     */
+    public DistributedIslandPSO(int id, int numParticles, int numIterations, double w, double c1, double c2,
+                                Problem problem, PeerNode node, int migrationInterval, int migrantsPerMessage,
+                                long seed) {
+        this.id = id;
+        this.numParticles = numParticles;
+        this.numIterations = numIterations;
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.problem = problem;
+        this.node = node;
+        this.migrationInterval = Math.max(1, migrationInterval);
+        this.migrantsPerMessage = Math.max(0, Math.min(migrantsPerMessage,
+                Math.min(numParticles, MigrationMessage.MAX_MIGRANTS)));
+        this.rand = new Random(seed);
+    }
+
+    /** Migrantes recibidos que mejoraron alguna partícula en la última ejecución. */
+    public int migrantsAccepted() {
+        return migrantsAccepted;
+    }
+
+    /**
+     * Ejecuta la isla.
+     *
+     * @return la mejor partícula encontrada (propia o recibida de un par)
+     */
+    public Particle run() {
+        int n = numParticles;
+        if (n == 0) return null;
+        double[] x = new double[n], y = new double[n], vx = new double[n], vy = new double[n];
+        double[] bestX = new double[n], bestY = new double[n], bestValue = new double[n];
+        Integer[] order = new Integer[n];
+        migrantsAccepted = 0;
+
+        double xMin = problem.xMin(), xMax = problem.xMax();
+        double yMin = problem.yMin(), yMax = problem.yMax();
+        double xrange = xMax - xMin, yrange = yMax - yMin;
+        double vmax = Math.max(xrange, yrange);
+        boolean approximated = TieredProblem.isApproximate(problem);
+
+        double gx = 0, gy = 0, gValue = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            x[i] = xMin + rand.nextDouble() * xrange;
+            y[i] = yMin + rand.nextDouble() * yrange;
+            vx[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            vy[i] = (rand.nextDouble() * 2.0 - 1.0) * vmax;
+            bestX[i] = x[i];
+            bestY[i] = y[i];
+            bestValue[i] = problem.evaluate(new Particle(x[i], y[i], vx[i], vy[i]));
+            if (bestValue[i] < gValue) {
+                gValue = bestValue[i];
+                gx = x[i]; gy = y[i];
+            }
+        }
+
+        for (int iters = 1; iters <= numIterations; iters++) {
+            approximated |= TieredProblem.isApproximate(problem);
+            for (int i = 0; i < n; i++) {
+                double r1 = rand.nextDouble();
+                double r2 = rand.nextDouble();
+                double px = x[i];
+                double py = y[i];
+                double nvx = w * vx[i] + c1 * r1 * (bestX[i] - px) + c2 * r2 * (gx - px);
+                double nvy = w * vy[i] + c1 * r1 * (bestY[i] - py) + c2 * r2 * (gy - py);
+                nvx = Math.max(-vmax, Math.min(vmax, nvx));
+                nvy = Math.max(-vmax, Math.min(vmax, nvy));
+                px = Math.max(xMin, Math.min(xMax, px + nvx));
+                py = Math.max(yMin, Math.min(yMax, py + nvy));
+                x[i] = px; y[i] = py; vx[i] = nvx; vy[i] = nvy;
+
+                double value = problem.evaluate(new Particle(px, py, nvx, nvy));
+                if (value < bestValue[i]) {
+                    bestX[i] = px;
+                    bestY[i] = py;
+                    bestValue[i] = value;
+                }
+                if (value < gValue) {
+                    gValue = value;
+                    gx = px; gy = py;
+                }
+            }
+
+            // Integrar lo recibido sin esperar a nadie
+            MigrationMessage in;
+            while ((in = node.poll()) != null) {
+                if (in.bestValue() < gValue) {
+                    gValue = in.bestValue();
+                    gx = in.bestX();
+                    gy = in.bestY();
+                }
+                double[] m = in.migrants();
+                for (int k = 0; k + 2 < m.length; k += 3) {
+                    int worst = 0;
+                    for (int i = 1; i < n; i++) {
+                        if (bestValue[i] > bestValue[worst]) worst = i;
+                    }
+                    if (m[k + 2] < bestValue[worst]) {
+                        x[worst] = bestX[worst] = m[k];
+                        y[worst] = bestY[worst] = m[k + 1];
+                        vx[worst] = 0;
+                        vy[worst] = 0;
+                        bestValue[worst] = m[k + 2];
+                        migrantsAccepted++;
+                    }
+                }
+            }
+
+            if (iters % migrationInterval == 0) {
+                // Lote con las mejores posiciones locales
+                for (int i = 0; i < n; i++) order[i] = i;
+                Arrays.sort(order, (a, b) -> Double.compare(bestValue[a], bestValue[b]));
+                double[] migrants = new double[3 * migrantsPerMessage];
+                for (int k = 0; k < migrantsPerMessage; k++) {
+                    int i = order[k];
+                    migrants[3 * k] = bestX[i];
+                    migrants[3 * k + 1] = bestY[i];
+                    migrants[3 * k + 2] = bestValue[i];
+                }
+                node.broadcast(new MigrationMessage(id, iters, gx, gy, gValue, migrants));
+            }
+        }
+
+        // Con evaluaciones aproximadas el mejor se elige de nuevo con precisión completa, entre
+        // los mejores locales y el mejor global (que puede venir de un par)
+        if (approximated) {
+            TieredProblem tiered = (TieredProblem) problem;
+            int b = TieredProblem.verifyBests(tiered, bestX, bestY, bestValue, n);
+            if (bestValue[b] < tiered.evaluateExact(new Particle(gx, gy, 0, 0))) {
+                gx = bestX[b];
+                gy = bestY[b];
+            }
+        }
+        return new Particle(gx, gy, 0, 0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Uso: DistributedIslandPSO id escucha función partículas iteraciones [pares...]");
+            System.exit(2);
+        }
+        int id = Integer.parseInt(args[0]);
+        String listen = args[1];
+        Problem problem = (Problem) Class.forName("functions." + args[2]).getDeclaredConstructor().newInstance();
+        int particles = Integer.parseInt(args[3]);
+        int iterations = Integer.parseInt(args[4]);
+        List<String> peers = Arrays.asList(args).subList(5, args.length);
+
+        try (PeerNode node = new PeerNode(listen, peers, 64)) {
+            DistributedIslandPSO pso = new DistributedIslandPSO(id, particles, iterations, 0.7, 1.4, 1.4,
+                    problem, node, 10, 5, 1000L + id);
+            long t0 = System.nanoTime();
+            Particle best = pso.run();
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+            // Una línea por proceso, en el mismo formato separado por ';' que el resto del tutorial
+            System.out.println(id + ";(" + best.x() + ", " + best.y() + ");" + problem.evaluate(best) + ";"
+                    + ms + " ms;recibidos=" + node.received() + ";enviados=" + node.sent()
+                    + ";descartados=" + node.dropped() + ";migrantes aceptados=" + pso.migrantsAccepted());
+        } catch (IOException e) {
+            System.err.println("Error de red: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package distributed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lanza varias JVM en la máquina local, cada una con un {@link DistributedIslandPSO}
+ * conectado a todas las demás, y muestra el resultado de cada proceso. Sirve para
+ * probar el modo distribuido sin ningún intermediario externo.
+ * <p>
+ * Uso: {@code java -cp out distributed.LocalCluster [procesos] [función] [partículas] [iteraciones] [tcp|unix]}
+ * </p>
+ */
+public class LocalCluster {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        String function = args.length > 1 ? args[1] : "Function4";
+        String particles = args.length > 2 ? args[2] : "50";
+        String iterations = args.length > 3 ? args[3] : "500";
+        boolean unix = args.length > 4 && args[4].equals("unix");
+
+        List<String> addresses = new ArrayList<>();
+        for (int k = 0; k < processes; k++) {
+            addresses.add(unix
+                    ? "unix:" + System.getProperty("java.io.tmpdir") + "/pso-island-" + ProcessHandle.current().pid() + "-" + k + ".sock"
+                    : "127.0.0.1:" + (47000 + k));
+        }
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        String classpath = System.getProperty("java.class.path");
+        List<Process> children = new ArrayList<>();
+        for (int k = 0; k < processes; k++) {
+            List<String> cmd = new ArrayList<>(List.of(java, "-cp", classpath,
+                    DistributedIslandPSO.class.getName(), String.valueOf(k), addresses.get(k), function, particles, iterations));
+            for (int j = 0; j < processes; j++) {
+                if (j != k) cmd.add(addresses.get(j));
+            }
+            children.add(new ProcessBuilder(cmd).redirectErrorStream(true).start());
+        }
+
+        System.out.println("Proceso;Mejor solución;Valor;Tiempo;Estadísticas");
+        for (Process child : children) {
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    System.out.println(line);
+                }
+            }
+            child.waitFor();
+        }
+    }
+}
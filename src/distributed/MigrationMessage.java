@@ -0,0 +1,98 @@
+package distributed;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Mensaje de migración entre procesos: el mejor global del emisor y un lote de
+ * migrantes (x, y, valor).
+ * <p>
+ * Formato binario (big-endian), precedido de su longitud en un {@code int}:
+ * {@code int magia "PSOM", byte versión, int emisor, int iteración,
+ * double x, double y, double valor, int n, n × (double x, double y, double valor)}.
+ * </p>
+ *
+ * @param sender identificador del proceso emisor
+ * @param iteration iteración del emisor al enviar
+ * @param bestX x del mejor global del emisor
+ * @param bestY y del mejor global del emisor
+ * @param bestValue valor del mejor global del emisor
+ * @param migrants migrantes consecutivos en tríos (x, y, valor)
+ */
+public record MigrationMessage(int sender, int iteration, double bestX, double bestY, double bestValue,
+                               double[] migrants) {
+    static final int MAGIC = 0x50534F4D; // "PSOM"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + 1 + 2 * Integer.BYTES + 3 * Double.BYTES + Integer.BYTES;
+    /** Tamaño máximo aceptado para un mensaje (protege frente a datos corruptos). */
+    static final int MAX_BYTES = 1 << 20;
+    /** Migrantes que caben en un mensaje de {@link #MAX_BYTES}. */
+    public static final int MAX_MIGRANTS = (MAX_BYTES - HEADER_BYTES) / (3 * Double.BYTES);
+
+    /**
+     * @throws IllegalArgumentException si los migrantes no van en tríos o no caben en
+     *         un mensaje (el receptor lo descartaría)
+     */
+    public MigrationMessage {
+        if (migrants.length % 3 != 0) {
+            throw new IllegalArgumentException("Los migrantes deben ir en tríos (x, y, valor)");
+        }
+        if (migrants.length / 3 > MAX_MIGRANTS) {
+            throw new IllegalArgumentException("Demasiados migrantes en un mensaje: " + migrants.length / 3
+                    + " (máximo " + MAX_MIGRANTS + ")");
+        }
+    }
+
+    /** Número de migrantes del lote. */
+    public int migrantCount() {
+        return migrants.length / 3;
+    }
+
+    /** Codifica el mensaje con su prefijo de longitud, listo para escribir en un canal. */
+    public ByteBuffer encode() {
+        int body = HEADER_BYTES + migrants.length * Double.BYTES;
+        ByteBuffer buf = ByteBuffer.allocate(Integer.BYTES + body);
+        buf.putInt(body);
+        buf.putInt(MAGIC);
+        buf.put(VERSION);
+        buf.putInt(sender);
+        buf.putInt(iteration);
+        buf.putDouble(bestX);
+        buf.putDouble(bestY);
+        buf.putDouble(bestValue);
+        buf.putInt(migrants.length / 3);
+        for (double v : migrants) {
+            buf.putDouble(v);
+        }
+        return buf.flip();
+    }
+
+    /**
+     * Decodifica el cuerpo de un mensaje (sin el prefijo de longitud).
+     *
+     * @throws IllegalArgumentException si el contenido no es un mensaje válido
+     */
+    public static MigrationMessage decode(ByteBuffer body) {
+        try {
+            if (body.getInt() != MAGIC) throw new IllegalArgumentException("Cabecera de mensaje no válida");
+            byte version = body.get();
+            if (version != VERSION) throw new IllegalArgumentException("Versión de protocolo no soportada: " + version);
+            int sender = body.getInt();
+            int iteration = body.getInt();
+            double x = body.getDouble();
+            double y = body.getDouble();
+            double value = body.getDouble();
+            int n = body.getInt();
+            if (n < 0 || n * 3L * Double.BYTES > body.remaining()) {
+                throw new IllegalArgumentException("Número de migrantes no válido: " + n);
+            }
+            double[] migrants = new double[n * 3];
+            for (int i = 0; i < migrants.length; i++) {
+                migrants[i] = body.getDouble();
+            }
+            return new MigrationMessage(sender, iteration, x, y, value, migrants);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Mensaje truncado", e);
+        }
+    }
+}
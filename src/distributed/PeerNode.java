@@ -0,0 +1,332 @@
+package distributed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Nodo de comunicación entre procesos basado en NIO no bloqueante.
+ * <p>
+ * Escucha en una dirección TCP o de socket Unix y mantiene una conexión de salida
+ * con cada par. Todo el tráfico lo gestiona un único hilo de E/S con un
+ * {@link Selector}; el optimizador solo encola mensajes con {@link #broadcast} y
+ * recoge los recibidos con {@link #poll()}, sin bloquearse nunca.
+ * </p>
+ * <p>
+ * Un par lento o ausente no detiene al resto: las conexiones fallidas se reintentan
+ * periódicamente y, si la cola de salida de un par supera {@code maxQueued}
+ * mensajes, se descartan los más antiguos (un migrante viejo vale menos que uno nuevo).
+ * </p>
+ */
+public class PeerNode implements Closeable {
+    private static final long RECONNECT_NANOS = 500_000_000L;
+
+    /** Conexión de salida hacia un par. */
+    private static final class Peer {
+        final SocketAddress address;
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        SocketChannel channel;
+        boolean connected;
+        long nextAttempt;
+        long dropped;
+
+        Peer(SocketAddress address) {
+            this.address = address;
+        }
+    }
+
+    /** Conexión de entrada: acumula bytes hasta completar mensajes. */
+    private static final class Inbound {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    }
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final SocketAddress listenAddress;
+    private final List<Peer> peers = new ArrayList<>();
+    private final ConcurrentLinkedQueue<MigrationMessage> inbox = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<ByteBuffer> outgoing = new ConcurrentLinkedQueue<>();
+    private final int maxQueued;
+    private final Thread ioThread;
+    private volatile boolean running = true;
+    private volatile long received;
+    private volatile long sent;
+
+    /**
+     * Abre el nodo y arranca su hilo de E/S.
+     *
+     * @param listen dirección propia ({@code host:puerto} o {@code unix:/ruta})
+     * @param peerAddresses direcciones de los pares con el mismo formato
+     * @param maxQueued mensajes pendientes como máximo por par antes de descartar
+     * @throws IOException si no se puede abrir la dirección de escucha
+     */
+    public PeerNode(String listen, List<String> peerAddresses, int maxQueued) throws IOException {
+        this.maxQueued = Math.max(1, maxQueued);
+        this.selector = Selector.open();
+        this.listenAddress = parseAddress(listen);
+        if (listenAddress instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            server = ServerSocketChannel.open();
+        }
+        server.bind(listenAddress);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        for (String address : peerAddresses) {
+            peers.add(new Peer(parseAddress(address)));
+        }
+        ioThread = new Thread(this::loop, "pso-peer-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    /**
+     * Interpreta una dirección {@code host:puerto} (TCP) o {@code unix:/ruta} (socket Unix).
+     */
+    public static SocketAddress parseAddress(String address) {
+        if (address.startsWith("unix:")) {
+            return UnixDomainSocketAddress.of(Path.of(address.substring("unix:".length())));
+        }
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("Dirección sin puerto: " + address);
+        return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    /** Encola un mensaje para todos los pares (no bloquea). */
+    public void broadcast(MigrationMessage message) {
+        outgoing.offer(message.encode());
+        selector.wakeup();
+    }
+
+    /** Devuelve el siguiente mensaje recibido, o null si no hay ninguno. */
+    public MigrationMessage poll() {
+        return inbox.poll();
+    }
+
+    /** Mensajes recibidos desde la apertura. */
+    public long received() {
+        return received;
+    }
+
+    /** Mensajes enviados por completo a algún par. */
+    public long sent() {
+        return sent;
+    }
+
+    /** Mensajes descartados porque la cola de algún par estaba llena. */
+    public long dropped() {
+        long total = 0;
+        synchronized (peers) {
+            for (Peer p : peers) total += p.dropped;
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        if (listenAddress instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+        }
+    }
+
+    // BUCLE DE E/S -------------------------------------------------------
+
+    private void loop() {
+        while (running) {
+            try {
+                long now = System.nanoTime();
+                connectPending(now);
+                distributeOutgoing();
+                selector.select(50);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    try {
+                        if (key.isAcceptable()) accept();
+                        else if (key.isConnectable()) finishConnect(key);
+                        else {
+                            if (key.isReadable()) read(key);
+                            if (key.isValid() && key.isWritable()) write(key);
+                        }
+                    } catch (IOException e) {
+                        drop(key);
+                    }
+                }
+                selector.selectedKeys().clear();
+            } catch (IOException e) {
+                // Error del selector: se reintenta en la siguiente vuelta
+            }
+        }
+    }
+
+    private void connectPending(long now) {
+        synchronized (peers) {
+            for (Peer p : peers) {
+                if (p.channel != null || now < p.nextAttempt) continue;
+                try {
+                    SocketChannel ch = p.address instanceof UnixDomainSocketAddress
+                            ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                            : SocketChannel.open();
+                    ch.configureBlocking(false);
+                    p.channel = ch;
+                    if (ch.connect(p.address)) {
+                        p.connected = true;
+                        ch.register(selector, p.out.isEmpty() ? 0 : SelectionKey.OP_WRITE, p);
+                    } else {
+                        ch.register(selector, SelectionKey.OP_CONNECT, p);
+                    }
+                } catch (IOException e) {
+                    closePeer(p, now);
+                }
+            }
+        }
+    }
+
+    private void distributeOutgoing() {
+        ByteBuffer msg;
+        while ((msg = outgoing.poll()) != null) {
+            synchronized (peers) {
+                for (Peer p : peers) {
+                    if (p.out.size() >= maxQueued) {
+                        // El par va retrasado: descartar el más antiguo
+                        ByteBuffer head = p.out.pollFirst();
+                        if (head.position() == 0) {
+                            p.dropped++;
+                        } else {
+                            // Está a medio enviar y hay que terminarlo: se descarta el siguiente
+                            if (p.out.pollFirst() != null) p.dropped++;
+                            p.out.addFirst(head);
+                        }
+                    }
+                    p.out.addLast(msg.duplicate());
+                    if (p.connected) {
+                        SelectionKey key = p.channel.keyFor(selector);
+                        if (key != null && key.isValid()) key.interestOps(SelectionKey.OP_WRITE);
+                    }
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch = server.accept();
+        if (ch == null) return;
+        ch.configureBlocking(false);
+        ch.register(selector, SelectionKey.OP_READ, new Inbound());
+    }
+
+    private void finishConnect(SelectionKey key) throws IOException {
+        Peer p = (Peer) key.attachment();
+        if (p.channel.finishConnect()) {
+            p.connected = true;
+            key.interestOps(p.out.isEmpty() ? 0 : SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Peer p = (Peer) key.attachment();
+        synchronized (peers) {
+            while (!p.out.isEmpty()) {
+                ByteBuffer head = p.out.peekFirst();
+                p.channel.write(head);
+                if (head.hasRemaining()) return; // el socket está lleno: esperar a OP_WRITE
+                p.out.pollFirst();
+                sent++;
+            }
+            key.interestOps(0);
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Inbound in = (Inbound) key.attachment();
+        SocketChannel ch = (SocketChannel) key.channel();
+        if (ch.read(in.buffer) < 0) {
+            drop(key);
+            return;
+        }
+        ByteBuffer buf = in.buffer.flip();
+        while (buf.remaining() >= Integer.BYTES) {
+            int length = buf.getInt(buf.position());
+            if (length <= 0 || length > MigrationMessage.MAX_BYTES) {
+                drop(key); // flujo corrupto
+                return;
+            }
+            if (buf.remaining() < Integer.BYTES + length) {
+                if (buf.capacity() < Integer.BYTES + length) {
+                    // Mensaje mayor que el buffer: ampliarlo
+                    ByteBuffer bigger = ByteBuffer.allocate(Integer.BYTES + length);
+                    bigger.put(buf);
+                    in.buffer = bigger;
+                    return;
+                }
+                break;
+            }
+            buf.position(buf.position() + Integer.BYTES);
+            ByteBuffer body = buf.slice(buf.position(), length);
+            buf.position(buf.position() + length);
+            try {
+                inbox.offer(MigrationMessage.decode(body));
+                received++;
+            } catch (IllegalArgumentException e) {
+                drop(key);
+                return;
+            }
+        }
+        buf.compact();
+    }
+
+    private void drop(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // ya cerrado
+        }
+        if (key.attachment() instanceof Peer p) {
+            synchronized (peers) {
+                closePeer(p, System.nanoTime());
+            }
+        }
+    }
+
+    private void closePeer(Peer p, long now) {
+        if (p.channel != null) {
+            try {
+                p.channel.close();
+            } catch (IOException ignored) {
+                // ya cerrado
+            }
+        }
+        p.channel = null;
+        p.connected = false;
+        // Un mensaje a medio enviar se repite entero: la nueva conexión empieza en un límite de trama
+        ByteBuffer head = p.out.peekFirst();
+        if (head != null) head.rewind();
+        p.nextAttempt = now + RECONNECT_NANOS;
+    }
+}
@@ -0,0 +1,226 @@
+package experiment;
+
+import core.Particle;
+import core.Problem;
+import core.SimplePSO;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ejecuta muchas ejecuciones independientes de {@link SimplePSO} (configuraciones ×
+ * semillas) en un pool con robo de trabajo y agrega los resultados en streaming.
+ * <p>
+ * Cada ejecución se identifica por su índice ({@code configuración * semillas + semilla})
+ * y se añade como una línea al CSV de resultados en cuanto termina. Las estadísticas
+ * por configuración ({@link RunningStats}) usan memoria constante con independencia
+ * del número de ejecuciones. Si el CSV ya existe, las ejecuciones que contiene se
+ * incorporan a las estadísticas y no se repiten, de modo que un barrido interrumpido
+ * se reanuda con la misma llamada.
+ * </p>
+ */
+public class ExperimentRunner {
+    private static final String RESULT_HEADER = "Índice;" + ParameterSet.CSV_HEADER + ";Semilla;Valor;x;y;ms";
+
+    private final List<ParameterSet> configs;
+    private final int seeds;
+    private final long baseSeed;
+    private final Map<String, Double> targets = new HashMap<>();
+    private final ForkJoinPool pool;
+
+    /**
+     * @param configs configuraciones a evaluar (su orden define los índices de ejecución)
+     * @param seeds número de semillas por configuración
+     * @param baseSeed semilla de la primera ejecución; la ejecución r usa {@code baseSeed + r}
+     * @param pool pool con robo de trabajo en el que se ejecutan las ejecuciones
+     */
+    public ExperimentRunner(List<ParameterSet> configs, int seeds, long baseSeed, ForkJoinPool pool) {
+        this.configs = List.copyOf(configs);
+        this.seeds = seeds;
+        this.baseSeed = baseSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Define el valor objetivo de una función para calcular la tasa de éxito.
+     *
+     * @param function nombre de la función ({@code FunctionN})
+     * @param target una ejecución tiene éxito si su valor final es menor o igual
+     */
+    public void setTarget(String function, double target) {
+        targets.put(function, target);
+    }
+
+    /**
+     * Ejecuta (o reanuda) el barrido.
+     *
+     * @param results CSV de resultados por ejecución; se crea o se amplía
+     * @param summary CSV de resumen por configuración; se sobrescribe al terminar
+     * @return estadísticas por configuración, en el mismo orden que las configuraciones
+     * @throws IOException si falla la lectura o escritura de los ficheros
+     */
+    public RunningStats[] run(Path results, Path summary) throws IOException {
+        RunningStats[] stats = new RunningStats[configs.size()];
+        for (int c = 0; c < stats.length; c++) {
+            stats[c] = new RunningStats(targets.getOrDefault(configs.get(c).function(), Double.NaN));
+        }
+        BitSet done = resume(results, stats);
+        Map<String, Problem> problems = new HashMap<>();
+        for (ParameterSet config : configs) {
+            problems.computeIfAbsent(config.function(), ExperimentRunner::createProblem);
+        }
+
+        boolean fresh = !Files.exists(results) || Files.size(results) == 0;
+        try (BufferedWriter out = Files.newBufferedWriter(results, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (fresh) {
+                out.write(RESULT_HEADER);
+                out.write('\n');
+            } else if (!endsWithNewline(results)) {
+                out.write('\n'); // la última línea quedó a medias: se cierra y se ignora al reanudar
+            }
+            out.flush();
+            pool.invoke(new Jobs(0, configs.size() * seeds, done, problems, stats, out));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(summary, StandardCharsets.UTF_8)) {
+            out.write(ParameterSet.CSV_HEADER + ";" + RunningStats.CSV_HEADER + "\n");
+            for (int c = 0; c < stats.length; c++) {
+                out.write(configs.get(c).toCsv() + ";" + stats[c].toCsv() + "\n");
+            }
+        }
+        return stats;
+    }
+
+    /** Lee las ejecuciones ya completadas del CSV y las añade a las estadísticas. */
+    private BitSet resume(Path results, RunningStats[] stats) throws IOException {
+        BitSet done = new BitSet(configs.size() * seeds);
+        if (!Files.exists(results)) return done;
+        try (BufferedReader in = Files.newBufferedReader(results, StandardCharsets.UTF_8)) {
+            String line = in.readLine(); // cabecera
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(";");
+                if (fields.length != 13) continue; // línea incompleta de una ejecución interrumpida
+                try {
+                    int index = Integer.parseInt(fields[0]);
+                    double value = Double.parseDouble(fields[9]);
+                    if (index < 0 || index >= configs.size() * seeds || done.get(index)) continue;
+                    done.set(index);
+                    stats[index / seeds].add(value);
+                } catch (NumberFormatException e) {
+                    // línea corrupta: se repetirá la ejecución
+                }
+            }
+        }
+        return done;
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            if (raf.length() == 0) return true;
+            raf.seek(raf.length() - 1);
+            return raf.read() == '\n';
+        }
+    }
+
+    private static Problem createProblem(String function) {
+        try {
+            return (Problem) Class.forName("functions." + function).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Función desconocida: " + function, e);
+        }
+    }
+
+    /** Rango de ejecuciones que se divide recursivamente para repartir el trabajo. */
+    private final class Jobs extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final BitSet done;
+        private final Map<String, Problem> problems;
+        private final RunningStats[] stats;
+        private final BufferedWriter out;
+
+        Jobs(int from, int to, BitSet done, Map<String, Problem> problems, RunningStats[] stats, BufferedWriter out) {
+            this.from = from;
+            this.to = to;
+            this.done = done;
+            this.problems = problems;
+            this.stats = stats;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Jobs(from, mid, done, problems, stats, out), new Jobs(mid, to, done, problems, stats, out));
+                return;
+            }
+            if (from >= to || done.get(from)) return;
+
+            int c = from / seeds;
+            ParameterSet config = configs.get(c);
+            Problem problem = problems.get(config.function());
+            long seed = baseSeed + from % seeds;
+            SimplePSO pso = new SimplePSO(config.particles(), config.iterations(), config.w(), config.c1(), config.c2(),
+                    config.vmax(), problem);
+            pso.setSeed(seed);
+            long t0 = System.nanoTime();
+            Particle best = pso.run();
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+            double value = problem.evaluate(best);
+
+            String line = from + ";" + config.toCsv() + ";" + seed + ";" + value + ";" + best.x() + ";" + best.y() + ";" + ms + "\n";
+            synchronized (stats[c]) {
+                stats[c].add(value);
+            }
+            synchronized (out) {
+                try {
+                    out.write(line);
+                    out.flush(); // cada resultado queda en disco en cuanto termina
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejemplo: barrido de w, c1 y c2 sobre Function2 y Function4.
+     * Uso: {@code java -cp out experiment.ExperimentRunner [resultados.csv] [semillas]}
+     */
+    public static void main(String[] args) throws IOException {
+        Path results = Path.of(args.length > 0 ? args[0] : "sweep.csv");
+        int seeds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        List<ParameterSet> configs = ParameterDesign.grid(
+                new String[] { "Function2", "Function4" },
+                new int[] { 20, 50 }, new int[] { 100 },
+                new double[] { 0.4, 0.7, 0.9 }, new double[] { 1.4, 2.0 }, new double[] { 1.4, 2.0 },
+                new double[] { Double.NaN });
+        ExperimentRunner runner = new ExperimentRunner(configs, seeds, 1L, ForkJoinPool.commonPool());
+        runner.setTarget("Function2", 1e-6);
+        runner.setTarget("Function4", 1e-6);
+        Path summary = results.resolveSibling(results.getFileName() + ".summary.csv");
+        RunningStats[] stats = runner.run(results, summary);
+        System.out.println(ParameterSet.CSV_HEADER + ";" + RunningStats.CSV_HEADER);
+        for (int c = 0; c < stats.length; c++) {
+            System.out.println(configs.get(c).toCsv() + ";" + stats[c].toCsv());
+        }
+    }
+}
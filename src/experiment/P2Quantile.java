@@ -0,0 +1,77 @@
+package experiment;
+
+import java.util.Arrays;
+
+/**
+ * Estimador de un cuantil en streaming con memoria constante (algoritmo P² de Jain y
+ * Chlamtac, 1985). Mantiene cinco marcadores cuyas alturas se ajustan con
+ * interpolación parabólica a medida que llegan observaciones.
+ */
+public class P2Quantile {
+    private final double p;
+    private final double[] q = new double[5];      // alturas de los marcadores
+    private final double[] n = new double[5];      // posiciones reales
+    private final double[] np = new double[5];     // posiciones deseadas
+    private final double[] dn = new double[5];     // incremento de las posiciones deseadas
+    private int count;
+
+    /** @param p cuantil a estimar, en (0, 1) */
+    public P2Quantile(double p) {
+        this.p = p;
+        dn[0] = 0; dn[1] = p / 2; dn[2] = p; dn[3] = (1 + p) / 2; dn[4] = 1;
+    }
+
+    public void add(double x) {
+        if (count < 5) {
+            q[count++] = x;
+            if (count == 5) {
+                Arrays.sort(q);
+                for (int i = 0; i < 5; i++) n[i] = i;
+                np[0] = 0; np[1] = 2 * p; np[2] = 4 * p; np[3] = 2 + 2 * p; np[4] = 4;
+            }
+            return;
+        }
+        count++;
+
+        int k;
+        if (x < q[0]) { q[0] = x; k = 0; }
+        else if (x >= q[4]) { q[4] = x; k = 3; }
+        else {
+            k = 0;
+            while (x >= q[k + 1]) k++;
+        }
+        for (int i = k + 1; i < 5; i++) n[i]++;
+        for (int i = 0; i < 5; i++) np[i] += dn[i];
+
+        for (int i = 1; i < 4; i++) {
+            double d = np[i] - n[i];
+            if ((d >= 1 && n[i + 1] - n[i] > 1) || (d <= -1 && n[i - 1] - n[i] < -1)) {
+                int s = d >= 0 ? 1 : -1;
+                double candidate = parabolic(i, s);
+                q[i] = (q[i - 1] < candidate && candidate < q[i + 1]) ? candidate : linear(i, s);
+                n[i] += s;
+            }
+        }
+    }
+
+    /** Estimación actual del cuantil (exacta con menos de cinco observaciones). */
+    public double quantile() {
+        if (count == 0) return Double.NaN;
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(q, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.round(p * (count - 1)))];
+        }
+        return q[2];
+    }
+
+    private double parabolic(int i, int s) {
+        return q[i] + s / (n[i + 1] - n[i - 1])
+                * ((n[i] - n[i - 1] + s) * (q[i + 1] - q[i]) / (n[i + 1] - n[i])
+                + (n[i + 1] - n[i] - s) * (q[i] - q[i - 1]) / (n[i] - n[i - 1]));
+    }
+
+    private double linear(int i, int s) {
+        return q[i] + s * (q[i + s] - q[i]) / (n[i + s] - n[i]);
+    }
+}
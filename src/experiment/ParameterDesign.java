@@ -0,0 +1,50 @@
+package experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generadores de configuraciones para un experimento: rejilla completa o diseño aleatorio.
+ */
+public final class ParameterDesign {
+    private ParameterDesign() { }
+
+    /**
+     * Producto cartesiano de todos los valores dados. El orden es estable, de modo que
+     * el índice de cada configuración se conserva entre ejecuciones (necesario para reanudar).
+     */
+    public static List<ParameterSet> grid(String[] functions, int[] particles, int[] iterations,
+                                          double[] w, double[] c1, double[] c2, double[] vmax) {
+        List<ParameterSet> sets = new ArrayList<>();
+        for (String f : functions)
+            for (int n : particles)
+                for (int it : iterations)
+                    for (double wi : w)
+                        for (double c1i : c1)
+                            for (double c2i : c2)
+                                for (double v : vmax)
+                                    sets.add(new ParameterSet(f, n, it, wi, c1i, c2i, v));
+        return sets;
+    }
+
+    /**
+     * Diseño aleatorio: {@code count} configuraciones por función con w, c1 y c2
+     * uniformes en los rangos dados y tamaño de enjambre e iteraciones fijos.
+     * Con la misma semilla genera siempre las mismas configuraciones.
+     */
+    public static List<ParameterSet> random(String[] functions, int count, int particles, int iterations,
+                                            double wMin, double wMax, double cMin, double cMax, long seed) {
+        Random rand = new Random(seed);
+        List<ParameterSet> sets = new ArrayList<>();
+        for (String f : functions) {
+            for (int k = 0; k < count; k++) {
+                double w = wMin + rand.nextDouble() * (wMax - wMin);
+                double c1 = cMin + rand.nextDouble() * (cMax - cMin);
+                double c2 = cMin + rand.nextDouble() * (cMax - cMin);
+                sets.add(new ParameterSet(f, particles, iterations, w, c1, c2, Double.NaN));
+            }
+        }
+        return sets;
+    }
+}
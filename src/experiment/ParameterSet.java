@@ -0,0 +1,24 @@
+package experiment;
+
+/**
+ * Una configuración del PSO dentro de un experimento.
+ *
+ * @param function nombre de la función de prueba ({@code Function1} ... {@code Function10})
+ * @param particles número de partículas
+ * @param iterations número de iteraciones
+ * @param w peso de inercia
+ * @param c1 coeficiente cognitivo
+ * @param c2 coeficiente social
+ * @param vmax velocidad máxima; NaN para derivarla del dominio
+ */
+public record ParameterSet(String function, int particles, int iterations, double w, double c1, double c2,
+                           double vmax) {
+
+    /** Campos separados por ';' en el mismo orden que la cabecera {@link #CSV_HEADER}. */
+    public String toCsv() {
+        return function + ";" + particles + ";" + iterations + ";" + w + ";" + c1 + ";" + c2 + ";" + vmax;
+    }
+
+    /** Cabecera CSV de los campos de la configuración. */
+    public static final String CSV_HEADER = "Función;Partículas;Iteraciones;w;c1;c2;vmax";
+}
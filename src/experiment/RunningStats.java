@@ -0,0 +1,57 @@
+package experiment;
+
+/**
+ * Estadísticas en streaming de memoria constante: media y varianza con el algoritmo
+ * de Welford, mínimo, máximo, mediana y percentil 90 (estimados con {@link P2Quantile})
+ * y tasa de éxito frente a un valor objetivo.
+ */
+public class RunningStats {
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long successes;
+    private final double target;
+    private final P2Quantile median = new P2Quantile(0.5);
+    private final P2Quantile p90 = new P2Quantile(0.9);
+
+    /**
+     * @param target una ejecución tiene éxito si su valor es menor o igual; NaN si no hay objetivo
+     */
+    public RunningStats(double target) {
+        this.target = target;
+    }
+
+    /** Añade una observación. */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        median.add(value);
+        p90.add(value);
+        if (value <= target) successes++;
+    }
+
+    public long count() { return count; }
+    public double mean() { return count == 0 ? Double.NaN : mean; }
+    /** Varianza muestral (n-1). */
+    public double variance() { return count < 2 ? Double.NaN : m2 / (count - 1); }
+    public double stdDev() { return Math.sqrt(variance()); }
+    public double min() { return min; }
+    public double max() { return max; }
+    public double median() { return median.quantile(); }
+    public double p90() { return p90.quantile(); }
+    /** Fracción de ejecuciones que alcanzan el objetivo (NaN si no hay objetivo). */
+    public double successRate() { return Double.isNaN(target) || count == 0 ? Double.NaN : (double) successes / count; }
+
+    /** Cabecera CSV de {@link #toCsv()}. */
+    public static final String CSV_HEADER = "Ejecuciones;Media;Desviación;Mínimo;Mediana;P90;Máximo;Éxito";
+
+    public String toCsv() {
+        return count + ";" + mean() + ";" + stdDev() + ";" + min + ";" + median() + ";" + p90() + ";" + max + ";" + successRate();
+    }
+}
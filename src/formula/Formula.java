@@ -0,0 +1,260 @@
+package formula;
+
+import core.Particle;
+import core.Problem;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fórmula en x e y escrita como texto, que se compila a una clase {@link Problem}.
+ * <p>
+ * Al analizarla se pliegan las constantes ({@code 2*pi*x} deja un único producto) y se
+ * comparten las subexpresiones repetidas, de modo que {@code sin(3x+1) + sin(3x+1)^2}
+ * calcula el seno una sola vez. {@link #compile} genera el bytecode de una clase que
+ * implementa {@link Problem} con la fórmula como un único método estático y la carga
+ * como clase oculta: el JIT la trata igual que una {@code FunctionN} escrita a mano
+ * (mismo rendimiento en {@code bench.FormulaBenchmark}), al contrario que un intérprete
+ * que recorre el árbol en cada evaluación ({@link #interpret}).
+ * </p>
+ * <p>
+ * Las simplificaciones no cambian ningún resultado: solo se eliminan operaciones
+ * exactas ({@code a*1}, {@code a-0}, {@code --a}, {@code a^1}, {@code a^2 = a*a}) y se
+ * pliegan subárboles constantes, sin reasociar sumas ni productos. Sintaxis:
+ * {@code + - * / ^} (o {@code **}), producto implícito ({@code 3x}, {@code 2pi y}),
+ * las constantes {@code pi} y {@code e} y las funciones de {@link Math} {@code sin cos tan
+ * asin acos atan sinh cosh tanh exp log (ln) log10 sqrt cbrt abs floor ceil signum (sign)
+ * pow atan2 hypot min max}.
+ * </p>
+ * <p>
+ * El árbol se recorre de forma recursiva al evaluarlo, imprimirlo y generar el
+ * bytecode, así que una fórmula puede encadenar como mucho {@value #MAX_DEPTH}
+ * operaciones (una suma de 1000 términos ya llega al límite) y anidar como mucho 200
+ * paréntesis, llamadas, signos o exponentes; por encima se rechaza con
+ * {@link IllegalArgumentException}.
+ * </p>
+ * <pre>
+ * Problem p = Formula.compile("f(x,y) = (x-3.14)^2 + (y-2.72)^2 + sin(3x+1.41) + sin(4y-1.73)", "[0,5]");
+ * </pre>
+ */
+public final class Formula {
+    /** Operaciones encadenadas (y niveles de anidamiento) como máximo en una fórmula. */
+    public static final int MAX_DEPTH = 1000;
+    private static final Pattern INTERVAL = Pattern.compile("\\[([^\\]]*)\\]");
+
+    private final String source;
+    private final Node root;
+    private final int operations;
+
+    private Formula(String source, Node root, int operations) {
+        this.source = source;
+        this.root = root;
+        this.operations = operations;
+    }
+
+    /**
+     * Analiza una fórmula en x e y (con o sin el prefijo {@code f(x,y) =}).
+     *
+     * @throws IllegalArgumentException si la fórmula no es válida
+     */
+    public static Formula parse(String expression) {
+        Builder builder = new Builder();
+        Node root = new Parser(expression, builder).parse();
+        return new Formula(expression, root, builder.operations(root));
+    }
+
+    /**
+     * Analiza la fórmula y el dominio y devuelve la clase compilada.
+     *
+     * @param expression fórmula en x e y
+     * @param domain {@code "[a,b]"} para ambas variables o {@code "[a,b] x [c,d]"}
+     *               (también {@code "x in [a,b], y in [c,d]"}); los extremos pueden ser
+     *               expresiones constantes como {@code -2*pi}
+     * @throws IllegalArgumentException si la fórmula o el dominio no son válidos
+     */
+    public static Problem compile(String expression, String domain) {
+        double[] d = parseDomain(domain);
+        return parse(expression).compile(d[0], d[1], d[2], d[3]);
+    }
+
+    /**
+     * Genera y carga una clase {@link Problem} que evalúa la fórmula en el dominio dado.
+     * Cada llamada define una clase oculta nueva, que se descarga cuando deja de usarse.
+     */
+    public Problem compile(double xMin, double xMax, double yMin, double yMax) {
+        checkDomain(xMin, xMax, yMin, yMax);
+        return ProblemClassWriter.define(root, new double[] { xMin, xMax, yMin, yMax }, toString());
+    }
+
+    /**
+     * {@link Problem} que recorre el árbol de la fórmula en cada evaluación. Es mucho más
+     * lento que {@link #compile}; sirve como referencia para comprobar resultados.
+     */
+    public Problem interpret(double xMin, double xMax, double yMin, double yMax) {
+        checkDomain(xMin, xMax, yMin, yMax);
+        Node node = root;
+        return new Problem() {
+            @Override public double evaluate(Particle p) { return node.eval(p.x(), p.y()); }
+            @Override public double xMin() { return xMin; }
+            @Override public double xMax() { return xMax; }
+            @Override public double yMin() { return yMin; }
+            @Override public double yMax() { return yMax; }
+            @Override public String toString() { return Formula.this.toString(); }
+        };
+    }
+
+    /** Evalúa la fórmula recorriendo el árbol (mismo resultado que la clase compilada). */
+    public double evaluate(double x, double y) {
+        return root.eval(x, y);
+    }
+
+    /** Operaciones distintas que quedan tras plegar constantes y compartir subexpresiones. */
+    public int operations() {
+        return operations;
+    }
+
+    /** Texto original de la fórmula. */
+    public String source() {
+        return source;
+    }
+
+    /** Fórmula simplificada, con todos los paréntesis. */
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    /**
+     * Lee un dominio {@code "[a,b]"} o {@code "[a,b] x [c,d]"}.
+     *
+     * @return {xMin, xMax, yMin, yMax}
+     */
+    static double[] parseDomain(String domain) {
+        Matcher m = INTERVAL.matcher(domain);
+        double[] d = new double[4];
+        int intervals = 0;
+        while (m.find()) {
+            if (intervals == 2) throw new IllegalArgumentException("Dominio con más de dos intervalos: " + domain);
+            String[] bounds = m.group(1).split(",");
+            if (bounds.length != 2) throw new IllegalArgumentException("Intervalo mal formado [" + m.group(1) + "]");
+            d[2 * intervals] = constant(bounds[0]);
+            d[2 * intervals + 1] = constant(bounds[1]);
+            intervals++;
+        }
+        if (intervals == 0) throw new IllegalArgumentException("Dominio sin intervalos: " + domain);
+        if (intervals == 1) {
+            d[2] = d[0];
+            d[3] = d[1];
+        }
+        checkDomain(d[0], d[1], d[2], d[3]);
+        return d;
+    }
+
+    private static double constant(String text) {
+        Node n = new Parser(text.trim(), new Builder()).parse();
+        if (!n.isConst()) throw new IllegalArgumentException("El extremo del dominio no es constante: " + text.trim());
+        return n.value;
+    }
+
+    private static void checkDomain(double xMin, double xMax, double yMin, double yMax) {
+        if (!(xMin < xMax) || !(yMin < yMax) || Double.isInfinite(xMax - xMin) || Double.isInfinite(yMax - yMin)) {
+            throw new IllegalArgumentException("Dominio vacío o no finito: [" + xMin + ", " + xMax + "] x ["
+                    + yMin + ", " + yMax + "]");
+        }
+    }
+
+    /**
+     * Crea los nodos de una fórmula: pliega constantes, aplica las simplificaciones exactas
+     * y devuelve el nodo ya existente si la misma operación sobre los mismos operandos se
+     * creó antes (eliminación de subexpresiones comunes).
+     */
+    static final class Builder {
+        private final Map<Node, Node> nodes = new HashMap<>();
+        private final Node x = intern(Node.Op.X, 0, null, null, null);
+        private final Node y = intern(Node.Op.Y, 0, null, null, null);
+
+        Node x() { return x; }
+        Node y() { return y; }
+
+        Node constant(double v) {
+            return intern(Node.Op.CONST, v, null, null, null);
+        }
+
+        Node add(Node a, Node b) {
+            if (a.isConst() && b.isConst()) return constant(a.value + b.value);
+            if (b.isConst(-0.0)) return a;
+            if (a.isConst(-0.0)) return b;
+            if (b.op == Node.Op.NEG) return sub(a, b.a);
+            if (a.op == Node.Op.NEG) return sub(b, a.a);
+            return commutative(Node.Op.ADD, a, b);
+        }
+
+        Node sub(Node a, Node b) {
+            if (a.isConst() && b.isConst()) return constant(a.value - b.value);
+            if (b.isConst(0.0)) return a;
+            if (b.op == Node.Op.NEG) return add(a, b.a);
+            return intern(Node.Op.SUB, 0, null, a, b);
+        }
+
+        Node mul(Node a, Node b) {
+            if (a.isConst() && b.isConst()) return constant(a.value * b.value);
+            if (b.isConst(1.0)) return a;
+            if (a.isConst(1.0)) return b;
+            return commutative(Node.Op.MUL, a, b);
+        }
+
+        Node div(Node a, Node b) {
+            if (a.isConst() && b.isConst()) return constant(a.value / b.value);
+            if (b.isConst(1.0)) return a;
+            return intern(Node.Op.DIV, 0, null, a, b);
+        }
+
+        Node neg(Node a) {
+            if (a.isConst()) return constant(-a.value);
+            if (a.op == Node.Op.NEG) return a.a;
+            return intern(Node.Op.NEG, 0, null, a, null);
+        }
+
+        Node call(Node.Fn fn, Node a, Node b) {
+            if (fn.arity() == 1) {
+                if (a.isConst()) return constant(fn.unary.applyAsDouble(a.value));
+                return intern(Node.Op.CALL, 0, fn, a, null);
+            }
+            if (a.isConst() && b.isConst()) return constant(fn.binary.applyAsDouble(a.value, b.value));
+            if (fn == Node.Fn.POW) {
+                // Math.pow(a, 1) es a y Math.pow(a, 2) es a*a, exactamente
+                if (b.isConst(1.0)) return a;
+                if (b.isConst(2.0)) return mul(a, a);
+            }
+            return intern(Node.Op.CALL, 0, fn, a, b);
+        }
+
+        /** La suma y el producto en coma flotante son conmutativos: se ordenan los operandos. */
+        private Node commutative(Node.Op op, Node a, Node b) {
+            return a.id <= b.id ? intern(op, 0, null, a, b) : intern(op, 0, null, b, a);
+        }
+
+        private Node intern(Node.Op op, double value, Node.Fn fn, Node a, Node b) {
+            Node n = new Node(op, value, fn, a, b, nodes.size());
+            if (n.depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Fórmula demasiado larga: encadena más de " + MAX_DEPTH + " operaciones");
+            }
+            Node existing = nodes.putIfAbsent(n, n);
+            return existing != null ? existing : n;
+        }
+
+        /** Operaciones distintas alcanzables desde la raíz. */
+        int operations(Node root) {
+            return count(root, new HashSet<>());
+        }
+
+        private int count(Node n, Set<Node> seen) {
+            if (n == null || n.isLeaf() || !seen.add(n)) return 0;
+            return 1 + count(n.a, seen) + count(n.b, seen);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package formula;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Nodo del grafo de una fórmula. Los nodos se crean siempre con {@link Formula.Builder},
+ * que los comparte: dos subexpresiones iguales son el mismo objeto, así que
+ * {@code equals} y {@code hashCode} comparan los hijos por identidad.
+ */
+final class Node {
+
+    enum Op { CONST, X, Y, ADD, SUB, MUL, DIV, NEG, CALL }
+
+    /** Funciones de {@link Math} que se pueden usar en una fórmula. */
+    enum Fn {
+        SIN("sin", Math::sin), COS("cos", Math::cos), TAN("tan", Math::tan),
+        ASIN("asin", Math::asin), ACOS("acos", Math::acos), ATAN("atan", Math::atan),
+        SINH("sinh", Math::sinh), COSH("cosh", Math::cosh), TANH("tanh", Math::tanh),
+        EXP("exp", Math::exp), LOG("log", Math::log), LOG10("log10", Math::log10),
+        SQRT("sqrt", Math::sqrt), CBRT("cbrt", Math::cbrt), ABS("abs", Math::abs),
+        FLOOR("floor", Math::floor), CEIL("ceil", Math::ceil), SIGNUM("signum", Math::signum),
+        POW("pow", Math::pow), ATAN2("atan2", Math::atan2), HYPOT("hypot", Math::hypot),
+        MIN("min", Math::min), MAX("max", Math::max);
+
+        /** Nombre del método estático de {@link Math}. */
+        final String method;
+        final DoubleUnaryOperator unary;
+        final DoubleBinaryOperator binary;
+
+        Fn(String method, DoubleUnaryOperator f) {
+            this.method = method;
+            this.unary = f;
+            this.binary = null;
+        }
+
+        Fn(String method, DoubleBinaryOperator f) {
+            this.method = method;
+            this.unary = null;
+            this.binary = f;
+        }
+
+        int arity() {
+            return unary != null ? 1 : 2;
+        }
+
+        String descriptor() {
+            return unary != null ? "(D)D" : "(DD)D";
+        }
+    }
+
+    final Op op;
+    final double value;
+    final Fn fn;
+    final Node a, b;
+    /** Orden de creación: sirve para ordenar los operandos de las operaciones conmutativas. */
+    final int id;
+    /** Operaciones encadenadas hasta la hoja más lejana (0 en las hojas). */
+    final int depth;
+
+    Node(Op op, double value, Fn fn, Node a, Node b, int id) {
+        this.op = op;
+        this.value = value;
+        this.fn = fn;
+        this.a = a;
+        this.b = b;
+        this.id = id;
+        this.depth = a == null ? 0 : 1 + Math.max(a.depth, b == null ? 0 : b.depth);
+    }
+
+    boolean isConst() {
+        return op == Op.CONST;
+    }
+
+    boolean isConst(double v) {
+        return op == Op.CONST && Double.doubleToLongBits(value) == Double.doubleToLongBits(v);
+    }
+
+    /** Hojas: se cargan directamente y nunca se guardan en una variable temporal. */
+    boolean isLeaf() {
+        return op == Op.CONST || op == Op.X || op == Op.Y;
+    }
+
+    double eval(double x, double y) {
+        return switch (op) {
+            case CONST -> value;
+            case X -> x;
+            case Y -> y;
+            case ADD -> a.eval(x, y) + b.eval(x, y);
+            case SUB -> a.eval(x, y) - b.eval(x, y);
+            case MUL -> a.eval(x, y) * b.eval(x, y);
+            case DIV -> a.eval(x, y) / b.eval(x, y);
+            case NEG -> -a.eval(x, y);
+            case CALL -> fn.unary != null ? fn.unary.applyAsDouble(a.eval(x, y))
+                    : fn.binary.applyAsDouble(a.eval(x, y), b.eval(x, y));
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Node n && n.op == op && n.fn == fn && n.a == a && n.b == b
+                && Double.doubleToLongBits(n.value) == Double.doubleToLongBits(value);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = op.hashCode() * 31 + (fn == null ? 0 : fn.hashCode());
+        h = h * 31 + System.identityHashCode(a);
+        h = h * 31 + System.identityHashCode(b);
+        return h * 31 + Double.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        append(sb);
+        return sb.toString();
+    }
+
+    /** Escribe el texto con un StringBuilder compartido: un marco de pila pequeño por nivel. */
+    private void append(StringBuilder sb) {
+        switch (op) {
+            case CONST -> sb.append(value);
+            case X -> sb.append('x');
+            case Y -> sb.append('y');
+            case ADD -> infix(sb, " + ");
+            case SUB -> infix(sb, " - ");
+            case MUL -> infix(sb, " * ");
+            case DIV -> infix(sb, " / ");
+            case NEG -> {
+                sb.append('-');
+                a.append(sb);
+            }
+            case CALL -> {
+                sb.append(fn.method).append('(');
+                a.append(sb);
+                if (b != null) {
+                    sb.append(", ");
+                    b.append(sb);
+                }
+                sb.append(')');
+            }
+        }
+    }
+
+    private void infix(StringBuilder sb, String operator) {
+        sb.append('(');
+        a.append(sb);
+        sb.append(operator);
+        b.append(sb);
+        sb.append(')');
+    }
+}
@@ -0,0 +1,195 @@
+package formula;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Analizador descendente recursivo de fórmulas en x e y.
+ * <pre>
+ * expr    := term (('+' | '-') term)*
+ * term    := unary (('*' | '/') unary | power)*        (3x, 2pi x, 4(y-1): producto implícito)
+ * unary   := ('+' | '-') unary | power
+ * power   := primary (('^' | '**') unary)?            (asocia por la derecha: -x^2 = -(x^2))
+ * primary := número | x | y | pi | e | función '(' expr (',' expr)? ')' | '(' expr ')'
+ * </pre>
+ * Se acepta un prefijo {@code f(x,y) =} y se ignora. Los errores se señalan con
+ * {@link IllegalArgumentException} indicando la posición. Cada paréntesis, llamada,
+ * signo o exponente anidado ocupa varios marcos de pila, así que el anidamiento se
+ * limita a {@value #MAX_NESTING} niveles.
+ */
+final class Parser {
+    static final int MAX_NESTING = 200;
+
+    private final String text;
+    private final Formula.Builder builder;
+    private int pos;
+    // Paréntesis, llamadas, signos y exponentes abiertos
+    private int depth;
+
+    Parser(String text, Formula.Builder builder) {
+        this.text = text;
+        this.builder = builder;
+    }
+
+    /** Analiza el texto completo. */
+    Node parse() {
+        skipDefinition();
+        Node n = expr();
+        skipSpaces();
+        if (pos < text.length()) throw error("Símbolo inesperado '" + text.charAt(pos) + "'");
+        return n;
+    }
+
+    /** Salta un prefijo {@code nombre(x,y) =} si lo hay. */
+    private void skipDefinition() {
+        int eq = text.indexOf('=');
+        if (eq >= 0 && text.substring(0, eq).matches("\\s*\\w*\\s*(\\(\\s*x\\s*,\\s*y\\s*\\))?\\s*")) {
+            pos = eq + 1;
+        }
+    }
+
+    private Node expr() {
+        Node n = term();
+        while (true) {
+            if (accept('+')) n = builder.add(n, term());
+            else if (accept('-')) n = builder.sub(n, term());
+            else return n;
+        }
+    }
+
+    private Node term() {
+        Node n = unary();
+        while (true) {
+            skipSpaces();
+            if (peek('*') && !peek("**")) {
+                pos++;
+                n = builder.mul(n, unary());
+            } else if (accept('/')) {
+                n = builder.div(n, unary());
+            } else if (pos < text.length() && (Character.isLetter(text.charAt(pos)) || text.charAt(pos) == '(')) {
+                n = builder.mul(n, power());
+            } else {
+                return n;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept('-')) return builder.neg(nested(this::unary));
+        if (accept('+')) return nested(this::unary);
+        return power();
+    }
+
+    private Node power() {
+        Node base = primary();
+        skipSpaces();
+        if (accept('^')) return builder.call(Node.Fn.POW, base, nested(this::unary));
+        if (peek("**")) {
+            pos += 2;
+            return builder.call(Node.Fn.POW, base, nested(this::unary));
+        }
+        return base;
+    }
+
+    private Node primary() {
+        skipSpaces();
+        if (pos >= text.length()) throw error("Fórmula incompleta");
+        char c = text.charAt(pos);
+        if (accept('(')) {
+            Node n = nested(this::expr);
+            expect(')');
+            return n;
+        }
+        if (Character.isDigit(c) || c == '.') return builder.constant(number());
+        if (!Character.isLetter(c)) throw error("Símbolo inesperado '" + c + "'");
+
+        // x e y son de una letra, para poder escribir "xy" o "3xy"; el resto son palabras
+        if (c == 'x' || c == 'y') {
+            pos++;
+            return c == 'x' ? builder.x() : builder.y();
+        }
+        int start = pos;
+        while (pos < text.length() && Character.isLetterOrDigit(text.charAt(pos))) pos++;
+        String name = text.substring(start, pos).toLowerCase(Locale.ROOT);
+        if (name.equals("pi")) return builder.constant(Math.PI);
+        if (name.equals("e")) return builder.constant(Math.E);
+        Node.Fn fn = function(name, start);
+        expect('(');
+        Node a = nested(this::expr);
+        Node b = null;
+        if (fn.arity() == 2) {
+            expect(',');
+            b = nested(this::expr);
+        }
+        expect(')');
+        return builder.call(fn, a, b);
+    }
+
+    /** Analiza un nivel anidado, comprobando el límite de anidamiento. */
+    private Node nested(Supplier<Node> rule) {
+        if (++depth > MAX_NESTING) {
+            throw error("Fórmula demasiado anidada (más de " + MAX_NESTING + " niveles)");
+        }
+        Node n = rule.get();
+        depth--;
+        return n;
+    }
+
+    private Node.Fn function(String name, int start) {
+        if (name.equals("ln")) return Node.Fn.LOG;
+        if (name.equals("sign")) return Node.Fn.SIGNUM;
+        for (Node.Fn fn : Node.Fn.values()) {
+            if (fn.method.equals(name)) return fn;
+        }
+        pos = start;
+        throw error("Identificador desconocido '" + name + "'");
+    }
+
+    private double number() {
+        int start = pos;
+        while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) pos++;
+        // Exponente solo si detrás de la 'e' hay dígitos: "2e3" es 2000, "2e" es 2·e
+        if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            int p = pos + 1;
+            if (p < text.length() && (text.charAt(p) == '+' || text.charAt(p) == '-')) p++;
+            if (p < text.length() && Character.isDigit(text.charAt(p))) {
+                pos = p;
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) pos++;
+            }
+        }
+        try {
+            return Double.parseDouble(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("Número mal formado");
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+    }
+
+    private boolean peek(char c) {
+        skipSpaces();
+        return pos < text.length() && text.charAt(pos) == c;
+    }
+
+    private boolean peek(String s) {
+        skipSpaces();
+        return text.startsWith(s, pos);
+    }
+
+    private boolean accept(char c) {
+        if (!peek(c)) return false;
+        pos++;
+        return true;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) throw error("Se esperaba '" + c + "'");
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " en la posición " + (pos + 1) + ": " + text);
+    }
+}
@@ -0,0 +1,333 @@
+package formula;
+
+import core.Problem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Genera el fichero de clase de una fórmula y lo carga como clase oculta
+ * ({@link MethodHandles.Lookup#defineHiddenClass}). La clase equivale a:
+ * <pre>
+ * public final class CompiledFormula implements Problem {
+ *     public static double value(double x, double y) { return ...; }
+ *     public double evaluate(Particle p) { return value(p.x(), p.y()); }
+ *     public void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+ *         for (; from &lt; to; from++) out[from] = value(xs[from], ys[from]);
+ *     }
+ *     public double xMin() { return ...; }  // y xMax, yMin, yMax
+ *     public String toString() { return "..."; }
+ * }
+ * </pre>
+ * Las subexpresiones compartidas se calculan la primera vez que aparecen, se guardan en
+ * una variable local y después se leen de ella. Se usa la versión 49 del formato (Java 5),
+ * que no necesita tablas de marcos de pila para el bucle; el verificador la sigue
+ * comprobando al cargarla.
+ */
+final class ProblemClassWriter {
+    private static final String NAME = "formula/CompiledFormula";
+    private static final String PROBLEM = "core/Problem";
+    private static final String PARTICLE = "core/Particle";
+
+    // Códigos de operación usados
+    private static final int DCONST_0 = 0x0e, DCONST_1 = 0x0f, LDC_W = 0x13, LDC2_W = 0x14;
+    private static final int ILOAD = 0x15, DLOAD = 0x18, ALOAD_0 = 0x2a, ALOAD_1 = 0x2b, ALOAD_2 = 0x2c,
+            ALOAD_3 = 0x2d, DALOAD = 0x31, DSTORE = 0x39, DASTORE = 0x52, DUP2 = 0x5c;
+    private static final int DADD = 0x63, DSUB = 0x67, DMUL = 0x6b, DDIV = 0x6f, DNEG = 0x77, IINC = 0x84;
+    private static final int IF_ICMPGE = 0xa2, GOTO = 0xa7, DRETURN = 0xaf, ARETURN = 0xb0, RETURN = 0xb1;
+    private static final int INVOKEVIRTUAL = 0xb6, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8, WIDE = 0xc4;
+
+    private final ConstantPool pool = new ConstantPool();
+    private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+    private int methodCount;
+
+    private ProblemClassWriter() { }
+
+    /** Genera, carga e instancia la clase de la fórmula. */
+    static Problem define(Node root, double[] domain, String text) {
+        byte[] bytes = new ProblemClassWriter().write(root, domain, text);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (Problem) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("No se pudo cargar la clase generada para " + text, e);
+        }
+    }
+
+    private byte[] write(Node root, double[] domain, String text) {
+        int value = pool.method(NAME, "value", "(DD)D");
+
+        Code init = new Code();
+        init.op(ALOAD_0).op(INVOKESPECIAL).u2(pool.method("java/lang/Object", "<init>", "()V")).op(RETURN);
+        method(0x0001, "<init>", "()V", init, 1, 1);
+
+        Code body = new Code();
+        ExpressionEmitter emitter = new ExpressionEmitter(body, root);
+        emitter.emit(root);
+        body.op(DRETURN);
+        method(0x0009, "value", "(DD)D", body, emitter.maxStack, emitter.nextSlot);
+
+        Code single = new Code();
+        int x = pool.method(PARTICLE, "x", "()D");
+        int y = pool.method(PARTICLE, "y", "()D");
+        single.op(ALOAD_1).op(INVOKEVIRTUAL).u2(x).op(ALOAD_1).op(INVOKEVIRTUAL).u2(y)
+                .op(INVOKESTATIC).u2(value).op(DRETURN);
+        method(0x0001, "evaluate", "(L" + PARTICLE + ";)D", single, 4, 2);
+
+        // Locales: this, xs, ys, out, from (contador), to
+        Code batch = new Code();
+        int loop = batch.length();
+        batch.op(ILOAD).u1(4).op(ILOAD).u1(5).op(IF_ICMPGE);
+        int exitJump = batch.length();
+        batch.u2(0);
+        batch.op(ALOAD_3).op(ILOAD).u1(4)
+                .op(ALOAD_1).op(ILOAD).u1(4).op(DALOAD)
+                .op(ALOAD_2).op(ILOAD).u1(4).op(DALOAD)
+                .op(INVOKESTATIC).u2(value).op(DASTORE)
+                .op(IINC).u1(4).u1(1)
+                .op(GOTO).u2(loop - batch.length() + 1);
+        batch.patch(exitJump, batch.length() - exitJump + 1);
+        batch.op(RETURN);
+        method(0x0001, "evaluate", "([D[D[DII)V", batch, 6, 6);
+
+        String[] bounds = { "xMin", "xMax", "yMin", "yMax" };
+        for (int i = 0; i < 4; i++) {
+            Code c = new Code();
+            c.op(LDC2_W).u2(pool.doubleConstant(domain[i])).op(DRETURN);
+            method(0x0001, bounds[i], "()D", c, 2, 1);
+        }
+
+        Code string = new Code();
+        string.op(LDC_W).u2(pool.string(text)).op(ARETURN);
+        method(0x0001, "toString", "()Ljava/lang/String;", string, 1, 1);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            int thisClass = pool.classRef(NAME);
+            int superClass = pool.classRef("java/lang/Object");
+            int problem = pool.classRef(PROBLEM);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49);
+            pool.writeTo(out);
+            out.writeShort(0x0031); // public final super
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(problem);
+            out.writeShort(0); // campos
+            out.writeShort(methodCount);
+            methods.writeTo(out);
+            out.writeShort(0); // atributos
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void method(int access, String name, String descriptor, Code code, int maxStack, int maxLocals) {
+        if (code.length() > 65535) throw new IllegalArgumentException("Fórmula demasiado larga");
+        int codeAttribute = pool.utf8("Code");
+        DataOutputStream out = new DataOutputStream(methods);
+        try {
+            out.writeShort(access);
+            out.writeShort(pool.utf8(name));
+            out.writeShort(pool.utf8(descriptor));
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + code.length());
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length());
+            code.writeTo(out);
+            out.writeShort(0); // tabla de excepciones
+            out.writeShort(0); // atributos
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        methodCount++;
+    }
+
+    /** Genera el cuerpo de {@code value(x, y)} y lleva la cuenta de la pila y las variables. */
+    private final class ExpressionEmitter {
+        private final Code code;
+        // Usos de cada nodo dentro del grafo; los que se usan más de una vez van a una variable
+        private final Map<Node, Integer> uses = new IdentityHashMap<>();
+        private final Map<Node, Integer> slots = new IdentityHashMap<>();
+        int nextSlot = 4; // x en 0-1, y en 2-3
+        int maxStack;
+        private int stack;
+
+        ExpressionEmitter(Code code, Node root) {
+            this.code = code;
+            count(root);
+        }
+
+        private void count(Node n) {
+            if (n == null) return;
+            if (uses.merge(n, 1, Integer::sum) == 1) {
+                count(n.a);
+                count(n.b);
+            }
+        }
+
+        void emit(Node n) {
+            Integer slot = slots.get(n);
+            if (slot != null) {
+                load(DLOAD, slot);
+                push();
+                return;
+            }
+            switch (n.op) {
+                case CONST -> {
+                    if (n.isConst(0.0)) code.op(DCONST_0);
+                    else if (n.isConst(1.0)) code.op(DCONST_1);
+                    else code.op(LDC2_W).u2(pool.doubleConstant(n.value));
+                    push();
+                }
+                case X -> { load(DLOAD, 0); push(); }
+                case Y -> { load(DLOAD, 2); push(); }
+                case ADD -> binary(n, DADD);
+                case SUB -> binary(n, DSUB);
+                case MUL -> binary(n, DMUL);
+                case DIV -> binary(n, DDIV);
+                case NEG -> { emit(n.a); code.op(DNEG); }
+                case CALL -> {
+                    emit(n.a);
+                    if (n.b != null) emit(n.b);
+                    code.op(INVOKESTATIC).u2(pool.method("java/lang/Math", n.fn.method, n.fn.descriptor()));
+                    if (n.b != null) stack -= 2;
+                }
+            }
+            if (!n.isLeaf() && uses.get(n) > 1) {
+                code.op(DUP2);
+                push();
+                slot = nextSlot;
+                nextSlot += 2;
+                load(DSTORE, slot);
+                stack -= 2;
+                slots.put(n, slot);
+            }
+        }
+
+        private void binary(Node n, int op) {
+            emit(n.a);
+            emit(n.b);
+            code.op(op);
+            stack -= 2;
+        }
+
+        private void load(int op, int slot) {
+            if (slot > 255) code.op(WIDE).op(op).u2(slot);
+            else code.op(op).u1(slot);
+        }
+
+        private void push() {
+            stack += 2;
+            maxStack = Math.max(maxStack, stack);
+        }
+    }
+
+    /** Bytecode de un método. */
+    private static final class Code {
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        Code op(int op) {
+            return u1(op);
+        }
+
+        Code u1(int v) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2);
+            bytes[length++] = (byte) v;
+            return this;
+        }
+
+        Code u2(int v) {
+            return u1(v >>> 8).u1(v);
+        }
+
+        /** Escribe un desplazamiento de salto relativo a la instrucción (un byte antes). */
+        void patch(int at, int offset) {
+            bytes[at] = (byte) (offset >>> 8);
+            bytes[at + 1] = (byte) offset;
+        }
+
+        int length() {
+            return length;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.write(bytes, 0, length);
+        }
+    }
+
+    /** Tabla de constantes con entradas únicas. */
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int next = 1;
+
+        int utf8(String s) {
+            return entry("U" + s, 1, o -> { o.writeByte(1); o.writeUTF(s); });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, 1, o -> { o.writeByte(7); o.writeShort(name); });
+        }
+
+        int string(String s) {
+            int utf = utf8(s);
+            return entry("S" + s, 1, o -> { o.writeByte(8); o.writeShort(utf); });
+        }
+
+        int doubleConstant(double v) {
+            long bits = Double.doubleToRawLongBits(v);
+            return entry("D" + bits, 2, o -> { o.writeByte(6); o.writeLong(bits); });
+        }
+
+        int method(String owner, String name, String descriptor) {
+            int c = classRef(owner);
+            int n = utf8(name);
+            int d = utf8(descriptor);
+            int nameAndType = entry("N" + name + descriptor, 1, o -> { o.writeByte(12); o.writeShort(n); o.writeShort(d); });
+            return entry("M" + owner + "." + name + descriptor, 1,
+                    o -> { o.writeByte(10); o.writeShort(c); o.writeShort(nameAndType); });
+        }
+
+        /** Índice de la entrada con esa clave, escribiéndola si es nueva (las double ocupan dos). */
+        private int entry(String key, int size, Writer writer) {
+            Integer index = entries.get(key);
+            if (index != null) return index;
+            try {
+                writer.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int i = next;
+            next += size;
+            if (next > 65535) throw new IllegalArgumentException("Fórmula demasiado larga");
+            entries.put(key, i);
+            return i;
+        }
+
+        void writeTo(DataOutputStream o) throws IOException {
+            o.writeShort(next);
+            bytes.writeTo(o);
+        }
+
+        private interface Writer {
+            void write(DataOutputStream out) throws IOException;
+        }
+    }
+}
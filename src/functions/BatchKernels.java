@@ -0,0 +1,31 @@
+package functions;
+
+/**
+ * Núcleos por lotes del nivel {@link core.EvaluationPrecision#EXACT} de las funciones con
+ * términos trascendentes.
+ * <p>
+ * La implementación con la Vector API ({@code jdk.incubator.vector}) está en el módulo
+ * Maven opcional {@code vector} (perfil {@code -Pvector}), porque el módulo incubador
+ * solo se resuelve si se pasa {@code --add-modules jdk.incubator.vector} al compilar y
+ * al ejecutar. Si la clase no está en el classpath o falta el módulo, {@link #VECTOR}
+ * es null y las funciones usan su bucle escalar.
+ * </p>
+ */
+interface BatchKernels {
+    /** Núcleos vectoriales, o null si no están disponibles. */
+    BatchKernels VECTOR = load();
+
+    void function1(double[] xs, double[] ys, double[] out, int from, int to);
+
+    void function4(double[] xs, double[] ys, double[] out, int from, int to);
+
+    void function5(double[] xs, double[] ys, double[] out, int from, int to);
+
+    private static BatchKernels load() {
+        try {
+            return (BatchKernels) Class.forName("functions.VectorKernels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null; // sin el módulo vector o sin --add-modules jdk.incubator.vector
+        }
+    }
+}
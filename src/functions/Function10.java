@@ -13,8 +13,17 @@ import core.Problem;
 public class Function10 implements Problem {
     @Override
     public double evaluate(Particle p) {
-        double x = p.x();
-        double y = p.y();
+        return value(p.x(), p.y());
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = value(xs[i], ys[i]);
+        }
+    }
+
+    static double value(double x, double y) {
         double term1 = (4.0 - 2.1 * x * x + (x * x * x * x) / 3.0) * x * x;
         double term2 = x * y;
         double term3 = (-4.0 + 4.0 * y * y) * y * y;
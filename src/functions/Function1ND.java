@@ -0,0 +1,36 @@
+package functions;
+
+import core.ProblemND;
+
+/**
+ * Function1ND: paraboloide perturbado de {@link Function1} generalizado a n dimensiones.
+ * Las coordenadas pares usan los términos de x y las impares los de y:
+ * f(z) = sum (z_i - c_i)^2 + sum sin(a_i*z_i + b_i), con (c, a, b) = (3.14, 3, 1.41) en
+ * las pares y (2.72, 4, -1.73) en las impares.
+ * Domain: [0,5]^n
+ */
+public class Function1ND implements ProblemND {
+    private final int dimension;
+
+    public Function1ND(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public double evaluate(double[] z, int offset) {
+        double squares = 0.0;
+        double sines = 0.0;
+        for (int d = 0; d < dimension; d++) {
+            double v = z[offset + d];
+            boolean even = (d & 1) == 0;
+            double t = v - (even ? 3.14 : 2.72);
+            squares += t*t;
+            sines += even ? Math.sin(3*v + 1.41) : Math.sin(4*v - 1.73);
+        }
+        return squares + sines;
+    }
+
+    @Override public int dimension() { return dimension; }
+    @Override public double lower(int d) { return 0.0; }
+    @Override public double upper(int d) { return 5.0; }
+}
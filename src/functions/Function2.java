@@ -12,8 +12,17 @@ import core.Problem;
 public class Function2 implements Problem {
     @Override
     public double evaluate(Particle p) {
-        double x = p.x();
-        double y = p.y();
+        return value(p.x(), p.y());
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = value(xs[i], ys[i]);
+        }
+    }
+
+    static double value(double x, double y) {
         return x*x + y*y;
     }
 
@@ -0,0 +1,31 @@
+package functions;
+
+import core.ProblemND;
+
+/**
+ * Function2ND: Sphere function (n-D)
+ * f(z) = sum z_i^2
+ * Global minimum at the origin with f=0.
+ * Domain typically: [-5.12, 5.12]^n
+ */
+public class Function2ND implements ProblemND {
+    private final int dimension;
+
+    public Function2ND(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public double evaluate(double[] z, int offset) {
+        double sum = 0.0;
+        for (int d = 0; d < dimension; d++) {
+            double v = z[offset + d];
+            sum += v*v;
+        }
+        return sum;
+    }
+
+    @Override public int dimension() { return dimension; }
+    @Override public double lower(int d) { return -5.12; }
+    @Override public double upper(int d) { return 5.12; }
+}
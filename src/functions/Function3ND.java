@@ -0,0 +1,34 @@
+package functions;
+
+import core.ProblemND;
+
+/**
+ * Function3ND: Rosenbrock function (n-D)
+ * f(z) = sum_{i<n-1} (1 - z_i)^2 + 100*(z_{i+1} - z_i^2)^2
+ * Global minimum at (1,...,1) with f=0.
+ * Domain: [-5,5]^n, como {@link Function3}
+ */
+public class Function3ND implements ProblemND {
+    private final int dimension;
+
+    public Function3ND(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public double evaluate(double[] z, int offset) {
+        double a = 1.0;
+        double b = 100.0;
+        double sum = 0.0;
+        for (int d = 0; d < dimension - 1; d++) {
+            double x = z[offset + d];
+            double y = z[offset + d + 1];
+            sum += (a - x)*(a - x) + b * (y - x*x)*(y - x*x);
+        }
+        return sum;
+    }
+
+    @Override public int dimension() { return dimension; }
+    @Override public double lower(int d) { return -5; }
+    @Override public double upper(int d) { return 5; }
+}
@@ -1,23 +1,79 @@
 package functions;
 
+import core.EvaluationPrecision;
 import core.Particle;
-import core.Problem;
+import core.TieredProblem;
 
 /**
  * Function4: Rastrigin function (2D)
  * f(x,y) = 20 + x^2 + y^2 - 10*(cos(2*pi*x) + cos(2*pi*y))
  * Global minimum at (0,0) with f=0.
  * Domain typically: [-5.12, 5.12]
+ * <p>
+ * Con {@link EvaluationPrecision#FAST} los cosenos usan {@link FastMath#cosTurns}
+ * (x ya está en vueltas, así que ni siquiera se redondea 2*pi*x): diferencia con
+ * {@link EvaluationPrecision#EXACT} ≤ 1e-13 en todo el dominio y 2.4 veces más rápido
+ * ({@code bench.PrecisionReport}).
+ * </p>
+ * <p>
+ * La evaluación por lotes con {@link EvaluationPrecision#EXACT} usa los núcleos de la
+ * Vector API si están disponibles (perfil Maven {@code vector}): 8.7 veces
+ * más rápida que punto a punto con AVX-512 ({@code bench.BatchEvaluation}) y con
+ * diferencias de un ulp como mucho.
+ * </p>
  */
-public class Function4 implements Problem {
+public class Function4 implements TieredProblem {
+    private final EvaluationPrecision precision;
+
+    public Function4() {
+        this(EvaluationPrecision.EXACT);
+    }
+
+    /** @param precision nivel fijo de {@link #evaluate(Particle)} y de la evaluación por lotes */
+    public Function4(EvaluationPrecision precision) {
+        this.precision = precision;
+    }
+
     @Override
-    public double evaluate(Particle p) {
-        double x = p.x();
-        double y = p.y();
+    public double evaluate(Particle p, EvaluationPrecision level) {
+        if (level == EvaluationPrecision.FAST) return fast(p.x(), p.y());
+        if (level == EvaluationPrecision.STRICT) return strict(p.x(), p.y());
+        return value(p.x(), p.y());
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to, EvaluationPrecision level) {
+        if (level == EvaluationPrecision.FAST) {
+            for (int i = from; i < to; i++) out[i] = fast(xs[i], ys[i]);
+        } else if (level == EvaluationPrecision.STRICT) {
+            for (int i = from; i < to; i++) out[i] = strict(xs[i], ys[i]);
+        } else if (BatchKernels.VECTOR != null) {
+            BatchKernels.VECTOR.function4(xs, ys, out, from, to);
+        } else {
+            for (int i = from; i < to; i++) out[i] = value(xs[i], ys[i]);
+        }
+    }
+
+    @Override
+    public EvaluationPrecision precision() {
+        return precision;
+    }
+
+    static double value(double x, double y) {
         double A = 10.0;
         return 2*A + (x*x - A * Math.cos(2*Math.PI*x)) + (y*y - A * Math.cos(2*Math.PI*y));
     }
 
+    static double strict(double x, double y) {
+        double A = 10.0;
+        return 2*A + (x*x - A * StrictMath.cos(2*Math.PI*x)) + (y*y - A * StrictMath.cos(2*Math.PI*y));
+    }
+
+    static double fast(double x, double y) {
+        double A = 10.0;
+        return 2*A + (x*x - A * FastMath.cosTurns(x)) + (y*y - A * FastMath.cosTurns(y));
+    }
+
     @Override public double xMin() { return -5.12; }
     @Override public double xMax() { return 5.12; }
     @Override public double yMin() { return -5.12; }
@@ -0,0 +1,32 @@
+package functions;
+
+import core.ProblemND;
+
+/**
+ * Function4ND: Rastrigin function (n-D)
+ * f(z) = 10*n + sum (z_i^2 - 10*cos(2*pi*z_i))
+ * Global minimum at the origin with f=0.
+ * Domain typically: [-5.12, 5.12]^n
+ */
+public class Function4ND implements ProblemND {
+    private final int dimension;
+
+    public Function4ND(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public double evaluate(double[] z, int offset) {
+        double A = 10.0;
+        double sum = A * dimension;
+        for (int d = 0; d < dimension; d++) {
+            double v = z[offset + d];
+            sum += v*v - A * Math.cos(2*Math.PI*v);
+        }
+        return sum;
+    }
+
+    @Override public int dimension() { return dimension; }
+    @Override public double lower(int d) { return -5.12; }
+    @Override public double upper(int d) { return 5.12; }
+}
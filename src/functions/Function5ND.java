@@ -0,0 +1,35 @@
+package functions;
+
+import core.ProblemND;
+
+/**
+ * Function5ND: Ackley function (n-D)
+ * f(z) = -20*exp(-0.2*sqrt(sum z_i^2 / n)) - exp(sum cos(2*pi*z_i) / n) + e + 20
+ * Global minimum at the origin with f=0.
+ * Domain typically: [-5, 5]^n
+ */
+public class Function5ND implements ProblemND {
+    private final int dimension;
+
+    public Function5ND(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public double evaluate(double[] z, int offset) {
+        double sumSq = 0.0;
+        double sumCos = 0.0;
+        for (int d = 0; d < dimension; d++) {
+            double v = z[offset + d];
+            sumSq += v*v;
+            sumCos += Math.cos(2*Math.PI*v);
+        }
+        double term1 = -20.0 * Math.exp(-0.2 * Math.sqrt(sumSq / dimension));
+        double term2 = -Math.exp(sumCos / dimension);
+        return term1 + term2 + Math.E + 20.0;
+    }
+
+    @Override public int dimension() { return dimension; }
+    @Override public double lower(int d) { return -5.0; }
+    @Override public double upper(int d) { return 5.0; }
+}
@@ -12,8 +12,17 @@ import core.Problem;
 public class Function7 implements Problem {
     @Override
     public double evaluate(Particle p) {
-        double x = p.x();
-        double y = p.y();
+        return value(p.x(), p.y());
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = value(xs[i], ys[i]);
+        }
+    }
+
+    static double value(double x, double y) {
         double t1 = 1.5 - x + x*y;
         double t2 = 2.25 - x + x*y*y;
         double t3 = 2.625 - x + x*y*y*y;
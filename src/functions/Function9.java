@@ -12,8 +12,17 @@ import core.Problem;
 public class Function9 implements Problem {
     @Override
     public double evaluate(Particle p) {
-        double x = p.x();
-        double y = p.y();
+        return value(p.x(), p.y());
+    }
+
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = value(xs[i], ys[i]);
+        }
+    }
+
+    static double value(double x, double y) {
         double term1 = 100.0 * Math.sqrt(Math.abs(y - 0.01 * x * x));
         double term2 = 0.01 * Math.abs(x + 10.0);
         return term1 + term2;
@@ -0,0 +1,302 @@
+package ui;
+
+import core.SimplePSO;
+import core.SwarmFrame;
+import core.SwarmView;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Graba una ejecución como animación (GIF animado o secuencia de PNG numerados) a
+ * medida que avanza, sin guardar los frames en memoria.
+ * <p>
+ * Se registra como {@link SimplePSO.PSOListener}. En cada iteración muestreada el
+ * optimizador solo copia las posiciones en uno de los {@code buffers} frames
+ * preasignados ({@link SwarmFrame}, arrays primitivos) y lo encola; un hilo propio
+ * compone la imagen con {@link FunctionPlotter} (fondo en caché más partículas),
+ * la codifica y devuelve el frame al pool. La memoria es la misma grabe diez
+ * iteraciones o un millón: los frames del pool, una imagen de trabajo y el estado
+ * del codificador.
+ * </p>
+ * <p>
+ * Si el codificador va más lento que el optimizador y no queda ningún frame libre,
+ * se aplica la {@link Backpressure} configurada: esperar (se graban todas las
+ * iteraciones muestreadas, a costa de frenar la optimización) o descartar frames (el
+ * optimizador no espera nunca). Un error de escritura se relanza en la siguiente
+ * iteración y en {@link #close()}.
+ * </p>
+ */
+public class AnimationExporter implements SimplePSO.PSOListener, AutoCloseable {
+
+    /** Formato de salida. */
+    public enum Format {
+        /** Un único GIF animado que se repite indefinidamente. */
+        GIF,
+        /** Un directorio con {@code frame_000000.png}, {@code frame_000001.png}, ... */
+        PNG_SEQUENCE
+    }
+
+    /** Qué hacer cuando no queda ningún frame libre en el pool. */
+    public enum Backpressure {
+        /** Esperar a que el codificador libere un frame: no se pierde ninguno. */
+        BLOCK,
+        /** Descartar el frame nuevo: la animación salta hacia delante. */
+        DROP_NEWEST,
+        /**
+         * Descartar el frame pendiente más antiguo y grabar el nuevo en su lugar. Si no hay
+         * ninguno pendiente (con un solo frame, que tiene el codificador), se descarta el nuevo.
+         */
+        DROP_OLDEST
+    }
+
+    // Marca de fin para el hilo codificador
+    private static final SwarmFrame END = new SwarmFrame();
+
+    private final FunctionPlotter plotter;
+    private final Path target;
+    private final Format format;
+    private final Backpressure backpressure;
+    private final int samplingInterval;
+    private final int frameDelayMillis;
+    private final ArrayBlockingQueue<SwarmFrame> free;
+    private final ArrayBlockingQueue<SwarmFrame> pending;
+    private final BufferedImage canvas;
+    private final Thread encoder;
+
+    // Estado del GIF (solo lo usa el hilo codificador)
+    private ImageWriter gifWriter;
+    private ImageOutputStream gifOut;
+    private IIOMetadata gifMetadata;
+
+    private volatile Throwable failure;
+    private volatile long written;
+    private volatile long dropped;
+    private volatile long blockedNanos;
+    private boolean closed;
+
+    /**
+     * Exportador con 4 frames en el pool que espera al codificador, graba todas las
+     * iteraciones y reproduce a 10 frames por segundo.
+     *
+     * @param plotter visualizador con el mapa de calor ya renderizado (o que se renderizará)
+     * @param target fichero GIF o directorio de la secuencia PNG
+     * @param format formato de salida
+     * @param width ancho de cada frame en píxeles (márgenes incluidos)
+     * @param height alto de cada frame en píxeles (márgenes incluidos)
+     * @throws IOException si no se puede crear el fichero o el directorio
+     */
+    public AnimationExporter(FunctionPlotter plotter, Path target, Format format, int width, int height)
+            throws IOException {
+        this(plotter, target, format, width, height, 4, Backpressure.BLOCK, 1, 100);
+    }
+
+    /**
+     * @param plotter visualizador con el mapa de calor ya renderizado (o que se renderizará)
+     * @param target fichero GIF o directorio de la secuencia PNG
+     * @param format formato de salida
+     * @param width ancho de cada frame en píxeles (márgenes incluidos)
+     * @param height alto de cada frame en píxeles (márgenes incluidos)
+     * @param buffers frames preasignados entre el optimizador y el codificador (>= 1)
+     * @param backpressure política cuando no queda ningún frame libre
+     * @param samplingInterval grabar solo una de cada N iteraciones (>= 1)
+     * @param frameDelayMillis duración de cada frame del GIF en milisegundos
+     * @throws IOException si no se puede crear el fichero o el directorio
+     */
+    public AnimationExporter(FunctionPlotter plotter, Path target, Format format, int width, int height,
+                             int buffers, Backpressure backpressure, int samplingInterval, int frameDelayMillis)
+            throws IOException {
+        if (buffers < 1) throw new IllegalArgumentException("buffers debe ser >= 1");
+        if (samplingInterval < 1) throw new IllegalArgumentException("samplingInterval debe ser >= 1");
+        this.plotter = plotter;
+        this.target = target;
+        this.format = format;
+        this.backpressure = backpressure;
+        this.samplingInterval = samplingInterval;
+        this.frameDelayMillis = frameDelayMillis;
+        this.free = new ArrayBlockingQueue<>(buffers);
+        this.pending = new ArrayBlockingQueue<>(buffers + 1); // + la marca de fin
+        for (int i = 0; i < buffers; i++) {
+            free.add(new SwarmFrame());
+        }
+        this.canvas = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_RGB);
+
+        if (format == Format.GIF) {
+            gifWriter = ImageIO.getImageWritersByFormatName("gif").next();
+            Files.deleteIfExists(target);
+            gifOut = ImageIO.createImageOutputStream(target.toFile());
+            if (gifOut == null) throw new IOException("No se puede escribir en " + target);
+            gifWriter.setOutput(gifOut);
+            gifWriter.prepareWriteSequence(null);
+        } else {
+            Files.createDirectories(target);
+        }
+
+        encoder = new Thread(this::encodeLoop, "pso-animation-encoder");
+        encoder.setDaemon(true);
+        encoder.start();
+    }
+
+    @Override
+    public void onIteration(int iteration, SwarmView swarm) {
+        Throwable error = failure;
+        if (error != null) {
+            throw new UncheckedIOException("Fallo al grabar la animación", asIOException(error));
+        }
+        if (closed || iteration % samplingInterval != 0) {
+            return;
+        }
+        SwarmFrame frame = acquire();
+        if (frame == null) {
+            dropped = dropped + 1; // solo escribe el productor
+            return;
+        }
+        frame.copyFrom(swarm);
+        pending.add(frame); // siempre cabe: hay tantos huecos como frames
+    }
+
+    /** Toma un frame libre según la política; null si hay que descartar el nuevo. */
+    private SwarmFrame acquire() {
+        SwarmFrame frame = free.poll();
+        if (frame != null || backpressure == Backpressure.DROP_NEWEST) {
+            return frame;
+        }
+        if (backpressure == Backpressure.DROP_OLDEST) {
+            frame = pending.poll();
+            if (frame != null) {
+                dropped = dropped + 1;
+            }
+            // Si no hay pendientes, el codificador tiene el único frame (buffers == 1): para no
+            // esperar se devuelve null y se descarta el nuevo, como en DROP_NEWEST
+            return frame;
+        }
+        long t0 = System.nanoTime();
+        try {
+            return free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            blockedNanos = blockedNanos + (System.nanoTime() - t0);
+        }
+    }
+
+    private void encodeLoop() {
+        while (true) {
+            SwarmFrame frame;
+            try {
+                frame = pending.take();
+            } catch (InterruptedException e) {
+                failure = e;
+                return;
+            }
+            if (frame == END) break;
+            try {
+                // Tras un error se siguen devolviendo frames al pool para no bloquear al optimizador
+                if (failure == null) encode(frame);
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            } finally {
+                free.add(frame);
+            }
+        }
+        if (gifWriter != null) {
+            try {
+                if (failure == null) gifWriter.endWriteSequence();
+                gifOut.close();
+            } catch (IOException | RuntimeException e) {
+                if (failure == null) failure = e;
+            } finally {
+                gifWriter.dispose();
+            }
+        }
+    }
+
+    private void encode(SwarmFrame frame) throws IOException {
+        plotter.renderFrame(frame, canvas);
+        if (format == Format.GIF) {
+            if (gifMetadata == null) gifMetadata = gifMetadata();
+            gifWriter.writeToSequence(new IIOImage(canvas, null, gifMetadata), null);
+        } else {
+            ImageIO.write(canvas, "png", target.resolve(String.format("frame_%06d.png", written)).toFile());
+        }
+        written = written + 1; // solo escribe el codificador
+    }
+
+    /** Metadatos de cada frame: duración y, en la extensión NETSCAPE2.0, repetición infinita. */
+    private IIOMetadata gifMetadata() throws IOException {
+        IIOMetadata metadata = gifWriter.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(canvas), null);
+        String name = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(name);
+
+        IIOMetadataNode control = new IIOMetadataNode("GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", Integer.toString(Math.max(1, frameDelayMillis / 10)));
+        control.setAttribute("transparentColorIndex", "0");
+        root.appendChild(control);
+
+        IIOMetadataNode application = new IIOMetadataNode("ApplicationExtension");
+        application.setAttribute("applicationID", "NETSCAPE");
+        application.setAttribute("authenticationCode", "2.0");
+        application.setUserObject(new byte[] { 1, 0, 0 });
+        IIOMetadataNode applications = new IIOMetadataNode("ApplicationExtensions");
+        applications.appendChild(application);
+        root.appendChild(applications);
+
+        metadata.setFromTree(name, root);
+        return metadata;
+    }
+
+    /** Frames ya escritos en disco. */
+    public long framesWritten() {
+        return written;
+    }
+
+    /** Frames descartados por la política de contrapresión. */
+    public long framesDropped() {
+        return dropped;
+    }
+
+    /** Tiempo total que el optimizador ha esperado por un frame libre, en nanosegundos. */
+    public long blockedNanos() {
+        return blockedNanos;
+    }
+
+    /**
+     * Espera a que se codifiquen los frames pendientes y cierra el fichero.
+     *
+     * @throws IOException si falló alguna escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                pending.put(END);
+                encoder.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrumpido al cerrar la animación");
+            }
+        }
+        if (failure != null) throw asIOException(failure);
+    }
+
+    private static IOException asIOException(Throwable error) {
+        return error instanceof IOException io ? io : new IOException(error);
+    }
+}
@@ -1,13 +1,22 @@
 package ui;
 
 import core.Particle;
+import core.SwarmFrame;
+import core.SwarmFrameBuffer;
+import core.SwarmView;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -21,6 +30,8 @@ import javax.swing.JPanel;
  * - Renderiza un BufferedImage con la evaluación sobre una rejilla (width x height).
  * - Normaliza los valores para mapearlos a un gradiente de color.
  * - Puede mostrar el resultado en una ventana Swing o guardarlo como PNG.
+ * - Para resoluciones que no caben en el heap, {@link #renderToGrid(MappedValueGrid, int)}
+ *   guarda los valores en disco y muestra una versión reducida.
  */
 public class FunctionPlotter {
 
@@ -34,18 +45,45 @@ public class FunctionPlotter {
     private final double xMin, xMax, yMin, yMax;
     private final int width, height;
     private double[][] values; // cache de evaluaciones
+    private MappedValueGrid grid; // alternativa fuera del heap (renderToGrid)
     private double vmin, vmax;
     private BufferedImage image;
     private int minI = -1, minJ = -1; // índice de la celda con valor mínimo
+    // Paradas del gradiente de color (azul, cyan, green, yellow, red) como RGB empaquetado
+    private static final int[] STOPS = { 0x000080, 0x0080FF, 0x00FF80, 0xFFFF00, 0xC80000 };
+    // Lado de las teselas del renderizado progresivo y paso de su vista previa (px)
+    private static final int TILE = 128;
+    private static final int PREVIEW_STEP = 8;
+    // Puntos de sondeo de la huella de la función en las claves de la caché de teselas
+    private static final int FINGERPRINT_PROBES = 64;
+    // Valores por franja de filas en renderToGrid (8 MiB en double)
+    private static final int STRIP_VALUES = 1 << 20;
     // Margen en píxeles para dejar espacio a etiquetas/ticks
     private final int leftMargin = 70;
     private final int rightMargin = 20;
     private final int topMargin = 20;
     private final int bottomMargin = 50;
 
-    // Overlay para visualización de partículas
-    private Particle[] overlayParticles = new Particle[0];
-    private Particle overlayGlobalBest = null;
+    // Colores fijos del fondo y de las partículas (sin crear objetos Color en cada frame)
+    private static final Color AXIS_COLOR = new Color(0, 0, 0, 180);
+    private static final Color GRID_COLOR = new Color(0, 0, 0, 60);
+    private static final int PARTICLE_ALPHA = 180;
+    private static final int BEST_RGB = Color.MAGENTA.getRGB() & 0xFFFFFF;
+    // Píxeles cubiertos por una partícula (fillOval 6x6) y por el mejor global (fillOval 12x12), relativos al centro
+    private static final int[] PARTICLE_MASK = ovalMask(3, new Color(0, 0, 0, PARTICLE_ALPHA));
+    private static final int[] BEST_MASK = ovalMask(6, Color.MAGENTA);
+
+    // Overlay para visualización de partículas (arrays primitivos reutilizados entre frames)
+    private final SwarmFrame overlay = new SwarmFrame();
+    // Versión del mapa de calor y del mínimo: cambia al renderizar y hace reconstruir el fondo
+    private final AtomicInteger backgroundVersion = new AtomicInteger();
+    // Generación del renderizado en curso: cada render la incrementa y las teselas de una
+    // generación anterior no se pintan. Se lee y se escribe con tileLock.
+    private final Object tileLock = new Object();
+    private int renderGeneration;
+    // Un compositor para la ventana (hilo de Swing) y otro para exportar, cada uno con sus buffers
+    private final Compositor screen = new Compositor();
+    private final Compositor export = new Compositor();
     // Componentes Swing que se guardan al mostrar para permitir repintado externo
     private javax.swing.JFrame frame = null;
     private javax.swing.JPanel panel = null;
@@ -70,86 +108,435 @@ public class FunctionPlotter {
         this.height = Math.max(2, height);
     }
 
-    /** Evalúa la función en la rejilla y genera la imagen en memoria. */
+    /**
+     * Evalúa la función en la rejilla y genera la imagen en memoria. Las filas se
+     * evalúan y colorean en paralelo; el mínimo y el máximo se reducen por filas y se
+     * combinan en orden, así que el resultado (incluida la celda del mínimo en caso de
+     * empate) es el mismo que con un recorrido secuencial.
+     */
     public void render() {
-        values = new double[height][width];
-        vmin = Double.POSITIVE_INFINITY;
-        vmax = Double.NEGATIVE_INFINITY;
-        minI = -1; minJ = -1;
-        for (int j = 0; j < height; j++) {
-            double y = yMax - j * (yMax - yMin) / (height - 1); // invertir Y para que origin esté abajo
+        nextGeneration();
+        grid = null;
+        if (values == null) values = new double[height][width];
+        IntStream.range(0, height).parallel().forEach(j -> {
+            double[] row = values[j];
             for (int i = 0; i < width; i++) {
-                double x = xMin + i * (xMax - xMin) / (width - 1);
-                double v;
-                try {
-                    v = function.eval(x, y);
-                } catch (Exception e) {
-                    v = Double.NaN; // si la función lanza, ponemos NaN
+                row[i] = evaluate(i, j);
+            }
+        });
+        finish();
+    }
+
+    /**
+     * Renderizado progresivo por teselas. Primero calcula de forma síncrona una vista
+     * previa gruesa (un valor cada 8 píxeles), de modo que
+     * {@link #show(String)} puede abrir la ventana enseguida; después evalúa en segundo
+     * plano teselas de 128×128 píxeles y repinta tras cada una. Al
+     * terminar recalcula el rango de color con todos los valores, y la imagen final es
+     * idéntica a la de {@link #render()}.
+     * <p>
+     * Si se pasa una {@link TileCache}, las teselas ya calculadas para la misma función,
+     * dominio y resolución se leen de disco, y volver a abrir una visualización es casi
+     * instantáneo. La clave incluye, además de {@code functionId}, una huella con los
+     * valores de la función en {@value #FINGERPRINT_PROBES} puntos del dominio: si cambia
+     * la definición de la función o su precisión ({@link core.EvaluationPrecision}), las
+     * teselas guardadas dejan de coincidir y se recalculan.
+     * </p>
+     * <p>
+     * Cada llamada a este método, a {@link #render()} o a
+     * {@link #renderToGrid(MappedValueGrid, int)} deja obsoleto el renderizado progresivo
+     * anterior: sus teselas pendientes no se calculan, las que estaban en marcha no se
+     * pintan y su futuro se completa sin tocar la imagen.
+     * </p>
+     *
+     * @param cache caché de teselas, o null para no usarla
+     * @param functionId identidad de la función (por ejemplo el nombre de su clase)
+     * @return futuro que se completa cuando la imagen está terminada
+     */
+    public CompletableFuture<Void> renderProgressive(TileCache cache, String functionId) {
+        int generation = nextGeneration();
+        grid = null;
+        if (values == null) values = new double[height][width];
+        renderPreview();
+        String prefix = cache == null ? null : functionId + "|" + fingerprint();
+        double lo = vmin, span = vmax - vmin;
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        int tilesX = (width + TILE - 1) / TILE, tilesY = (height + TILE - 1) / TILE;
+        CompletableFuture<?>[] tiles = new CompletableFuture<?>[tilesX * tilesY];
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int i0 = tx * TILE, j0 = ty * TILE;
+                String key = cache == null ? null : tileKey(prefix, tx, ty);
+                tiles[ty * tilesX + tx] = CompletableFuture.runAsync(() -> {
+                    if (renderTile(generation, i0, j0, cache, key, lo, span, pixels)) refresh();
+                }, ForkJoinPool.commonPool()); // explícito: con un solo núcleo runAsync crearía un hilo por tarea
+            }
+        }
+        return CompletableFuture.allOf(tiles).thenRun(() -> {
+            synchronized (tileLock) {
+                if (generation != renderGeneration) return;
+                finish();
+            }
+            refresh();
+        });
+    }
+
+    /**
+     * Renderizado para resoluciones muy grandes. Evalúa la rejilla por franjas de filas
+     * (las filas de cada franja en paralelo) y guarda los valores en {@code grid}, fuera
+     * del heap; en memoria solo quedan la franja actual y una imagen reducida, cuyo lado
+     * mayor es {@code viewSize}, que es la que se muestra en la ventana y se usa en
+     * {@link #savePNG(File)}. La imagen a resolución completa se escribe con
+     * {@link #saveHeatmapPNG(File)}.
+     * <p>
+     * El mínimo, el máximo y la celda del mínimo se calculan como en {@link #render()},
+     * con los valores en {@code double} antes de guardarlos.
+     * </p>
+     *
+     * @param grid rejilla de las mismas dimensiones que el plotter
+     * @param viewSize lado mayor de la imagen reducida, en píxeles
+     */
+    public void renderToGrid(MappedValueGrid grid, int viewSize) {
+        if (grid.width() != width || grid.height() != height) {
+            throw new IllegalArgumentException("La rejilla debe ser de " + width + "x" + height);
+        }
+        nextGeneration();
+        values = null;
+        double scale = Math.min(1.0, (double) viewSize / Math.max(width, height));
+        int viewW = Math.max(2, (int) Math.round(width * scale));
+        int viewH = Math.max(2, (int) Math.round(height * scale));
+        double[] view = new double[viewW * viewH];
+
+        int stripRows = Math.max(1, Math.min(height, STRIP_VALUES / width));
+        double[][] strip = new double[stripRows][width];
+        double[] rowMin = new double[stripRows];
+        double[] rowMax = new double[stripRows];
+        int[] rowMinI = new int[stripRows];
+        double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+        int loI = -1, loJ = -1;
+        int v = 0; // siguiente fila de la imagen reducida
+        for (int j0 = 0; j0 < height; j0 += stripRows) {
+            int first = j0, rows = Math.min(stripRows, height - j0);
+            IntStream.range(0, rows).parallel().forEach(r -> {
+                double[] row = strip[r];
+                double rlo = Double.POSITIVE_INFINITY, rhi = Double.NEGATIVE_INFINITY;
+                int rloI = -1;
+                for (int i = 0; i < width; i++) {
+                    double value = evaluate(i, first + r);
+                    row[i] = value;
+                    if (!Double.isFinite(value)) continue;
+                    if (value < rlo) { rlo = value; rloI = i; }
+                    if (value > rhi) rhi = value;
+                }
+                grid.writeRow(first + r, row);
+                rowMin[r] = rlo;
+                rowMax[r] = rhi;
+                rowMinI[r] = rloI;
+            });
+            // Reducción en orden de filas, igual que en finish()
+            for (int r = 0; r < rows; r++) {
+                if (rowMin[r] < lo) { lo = rowMin[r]; loI = rowMinI[r]; loJ = first + r; }
+                if (rowMax[r] > hi) hi = rowMax[r];
+            }
+            // Muestreo de las filas de la imagen reducida que caen en esta franja
+            for (; v < viewH; v++) {
+                int j = (int) ((long) v * (height - 1) / (viewH - 1));
+                if (j >= first + rows) break;
+                double[] row = strip[j - first];
+                for (int vi = 0; vi < viewW; vi++) {
+                    view[v * viewW + vi] = row[(int) ((long) vi * (width - 1) / (viewW - 1))];
                 }
-                values[j][i] = v;
+            }
+        }
+        setRange(lo, hi);
+
+        BufferedImage img = new BufferedImage(viewW, viewH, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+        double from = vmin, span = vmax - vmin;
+        for (int k = 0; k < view.length; k++) {
+            pixels[k] = valueToRGB(view[k], from, span);
+        }
+        minI = loI;
+        minJ = loJ;
+        image = img;
+        this.grid = grid;
+        backgroundVersion.incrementAndGet();
+    }
+
+    /**
+     * Guarda el mapa de calor a resolución completa (sin ejes ni márgenes) como PNG,
+     * fila a fila: los valores se leen de la rejilla en memoria o de la de
+     * {@link #renderToGrid(MappedValueGrid, int)}, y nunca se crea la imagen entera.
+     */
+    public void saveHeatmapPNG(File outFile) throws IOException {
+        if (grid == null && values == null) render();
+        double[] row = new double[width];
+        int[] rgb = new int[width];
+        double from = vmin, span = vmax - vmin;
+        try (PngStripWriter png = new PngStripWriter(outFile.toPath(), width, height)) {
+            for (int j = 0; j < height; j++) {
+                double[] source = row;
+                if (grid != null) {
+                    grid.readRow(j, row);
+                } else {
+                    source = values[j];
+                }
+                for (int i = 0; i < width; i++) {
+                    rgb[i] = valueToRGB(source[i], from, span);
+                }
+                png.writeRow(rgb);
+            }
+        }
+    }
+
+    /** Vista previa: evalúa un punto de cada bloque y pinta el bloque entero de ese color. */
+    private void renderPreview() {
+        int cols = (width + PREVIEW_STEP - 1) / PREVIEW_STEP, rows = (height + PREVIEW_STEP - 1) / PREVIEW_STEP;
+        double[] coarse = new double[cols * rows];
+        double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                double v = evaluate(c * PREVIEW_STEP, r * PREVIEW_STEP);
+                coarse[r * cols + c] = v;
                 if (!Double.isFinite(v)) continue;
-                if (v < vmin) { vmin = v; minI = i; minJ = j; }
-                if (v > vmax) vmax = v;
+                if (v < lo) lo = v;
+                if (v > hi) hi = v;
             }
         }
+        setRange(lo, hi);
+        minI = -1; minJ = -1; // aún no se conoce la celda exacta del mínimo
+
+        // Un color por bloque, copiado a todos sus píxeles
+        double span = vmax - vmin;
+        int[] colors = new int[coarse.length];
+        for (int k = 0; k < coarse.length; k++) colors[k] = valueToRGB(coarse[k], vmin, span);
+        if (!fullSize(image)) image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int j = 0; j < height; j++) {
+            int r = j / PREVIEW_STEP;
+            for (int c = 0; c < cols; c++) {
+                int from = j * width + c * PREVIEW_STEP;
+                Arrays.fill(pixels, from, from + Math.min(PREVIEW_STEP, width - c * PREVIEW_STEP), colors[r * cols + c]);
+            }
+        }
+        backgroundVersion.incrementAndGet();
+    }
 
-        // Si todos son NaN o iguales, ajustar rango
-        if (vmin == Double.POSITIVE_INFINITY || vmax == Double.NEGATIVE_INFINITY) {
-            vmin = 0;
-            vmax = 1;
-        } else if (vmin == vmax) {
-            vmin -= 1.0;
-            vmax += 1.0;
+    private int nextGeneration() {
+        synchronized (tileLock) {
+            return ++renderGeneration;
         }
+    }
 
-        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    private boolean isCurrent(int generation) {
+        synchronized (tileLock) {
+            return generation == renderGeneration;
+        }
+    }
+
+    /**
+     * Calcula (o lee de la caché) una tesela y la pinta con el rango provisional.
+     *
+     * @return false si la tesela pertenece a un renderizado obsoleto y no se ha pintado
+     */
+    private boolean renderTile(int generation, int i0, int j0, TileCache cache, String key, double lo, double span,
+                               int[] pixels) {
+        if (!isCurrent(generation)) return false;
+        int w = Math.min(TILE, width - i0), h = Math.min(TILE, height - j0);
+        double[] tile = cache == null ? null : cache.get(key, w * h);
+        if (tile == null) {
+            tile = new double[w * h];
+            for (int dj = 0; dj < h; dj++) {
+                for (int di = 0; di < w; di++) {
+                    tile[dj * w + di] = evaluate(i0 + di, j0 + dj);
+                }
+            }
+            if (cache != null) cache.put(key, tile);
+        }
+        synchronized (tileLock) {
+            if (generation != renderGeneration) return false;
+            for (int dj = 0; dj < h; dj++) {
+                int j = j0 + dj;
+                System.arraycopy(tile, dj * w, values[j], i0, w);
+                for (int di = 0; di < w; di++) {
+                    pixels[j * width + i0 + di] = valueToRGB(tile[dj * w + di], lo, span);
+                }
+            }
+        }
+        backgroundVersion.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Huella de la función: hash de sus valores en puntos repartidos por el dominio
+     * (sucesión de Kronecker con las razones del número plástico), que no suelen
+     * coincidir con la rejilla.
+     */
+    private String fingerprint() {
+        double a1 = 0.7548776662466927, a2 = 0.5698402909980532;
+        long h = 0x9E3779B97F4A7C15L;
+        for (int k = 1; k <= FINGERPRINT_PROBES; k++) {
+            double x = xMin + (k * a1 % 1.0) * (xMax - xMin);
+            double y = yMin + (k * a2 % 1.0) * (yMax - yMin);
+            double v;
+            try {
+                v = function.eval(x, y);
+            } catch (Exception e) {
+                v = Double.NaN;
+            }
+            h = (h ^ Double.doubleToLongBits(v)) * 0x100000001B3L;
+            h ^= h >>> 29;
+        }
+        return Long.toHexString(h);
+    }
+
+    private String tileKey(String prefix, int tx, int ty) {
+        return prefix + "|" + xMin + "|" + xMax + "|" + yMin + "|" + yMax + "|" + width + "x" + height
+                + "|" + TILE + "|" + tx + "," + ty;
+    }
+
+    /** Valor de la función en la celda (i, j) de la rejilla (NaN si la función lanza). */
+    private double evaluate(int i, int j) {
+        double x = xMin + i * (xMax - xMin) / (width - 1);
+        double y = yMax - j * (yMax - yMin) / (height - 1); // invertir Y para que origin esté abajo
+        try {
+            return function.eval(x, y);
+        } catch (Exception e) {
+            return Double.NaN; // si la función lanza, ponemos NaN
+        }
+    }
+
+    /**
+     * Con la rejilla de valores completa, calcula mínimo, máximo y celda del mínimo, y
+     * colorea la imagen escribiendo los píxeles empaquetados directamente en el buffer
+     * del raster.
+     */
+    private void finish() {
+        double[] rowMin = new double[height];
+        double[] rowMax = new double[height];
+        int[] rowMinI = new int[height];
+        IntStream.range(0, height).parallel().forEach(j -> {
+            double[] row = values[j];
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            int loI = -1;
+            for (int i = 0; i < width; i++) {
+                double v = row[i];
+                if (!Double.isFinite(v)) continue;
+                if (v < lo) { lo = v; loI = i; }
+                if (v > hi) hi = v;
+            }
+            rowMin[j] = lo;
+            rowMax[j] = hi;
+            rowMinI[j] = loI;
+        });
+
+        // Reducción en orden de filas: el primer mínimo estricto gana, como en el recorrido secuencial
+        double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+        int loI = -1, loJ = -1;
         for (int j = 0; j < height; j++) {
+            if (rowMin[j] < lo) { lo = rowMin[j]; loI = rowMinI[j]; loJ = j; }
+            if (rowMax[j] > hi) hi = rowMax[j];
+        }
+        setRange(lo, hi);
+
+        BufferedImage img = fullSize(image) ? image : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+        double from = vmin, span = vmax - vmin;
+        IntStream.range(0, height).parallel().forEach(j -> {
+            double[] row = values[j];
+            int offset = j * width;
             for (int i = 0; i < width; i++) {
-                double v = values[j][i];
-                int rgb = valueToRGB(v);
-                image.setRGB(i, j, rgb);
+                pixels[offset + i] = valueToRGB(row[i], from, span);
             }
+        });
+        minI = loI;
+        minJ = loJ;
+        image = img;
+        backgroundVersion.incrementAndGet();
+    }
+
+    /** True si la imagen existe y tiene la resolución completa (no la reducida de renderToGrid). */
+    private boolean fullSize(BufferedImage img) {
+        return img != null && img.getWidth() == width && img.getHeight() == height;
+    }
+
+    /** Fija el rango de color; si todos son NaN o iguales, lo ajusta. */
+    private void setRange(double lo, double hi) {
+        if (lo == Double.POSITIVE_INFINITY || hi == Double.NEGATIVE_INFINITY) {
+            lo = 0;
+            hi = 1;
+        } else if (lo == hi) {
+            lo -= 1.0;
+            hi += 1.0;
         }
+        vmin = lo;
+        vmax = hi;
     }
 
     /** Actualiza la overlay de partículas (usado para visualización dinámica). */
     public synchronized void updateParticles(Particle[] particles, Particle globalBest) {
-        if (particles == null) this.overlayParticles = new Particle[0];
-        else this.overlayParticles = particles;
-        this.overlayGlobalBest = globalBest;
+        overlay.copyFrom(particles, globalBest);
     }
 
-    /** Mapea un valor numérico a un color (gradiente azul->cyan->green->yellow->red). */
-    private int valueToRGB(double v) {
-        if (!Double.isFinite(v)) return Color.BLACK.getRGB();
-        double t = (v - vmin) / (vmax - vmin);
+    /** Actualiza la overlay copiando el estado de una vista del enjambre. */
+    public synchronized void updateParticles(SwarmView swarm) {
+        overlay.copyFrom(swarm);
+    }
+
+    /**
+     * Sigue un {@link SwarmFrameBuffer} a su propio ritmo: un temporizador de Swing lee
+     * un frame y repinta {@code fps} veces por segundo, sin que el optimizador espere.
+     * Debe llamarse desde el hilo de Swing después de {@link #show(String)}.
+     *
+     * @param frames buffer en el que publica el optimizador
+     * @param fps frames por segundo de la visualización
+     * @param everyFrame true para reproducir todos los frames en orden; false para mostrar siempre el último
+     * @return el temporizador ya arrancado (se puede detener con {@code stop()})
+     */
+    public javax.swing.Timer follow(SwarmFrameBuffer frames, int fps, boolean everyFrame) {
+        javax.swing.Timer timer = new javax.swing.Timer(Math.max(1, 1000 / Math.max(1, fps)), e -> {
+            boolean updated;
+            synchronized (this) {
+                updated = everyFrame ? frames.poll(overlay) : frames.readLatest(overlay);
+            }
+            if (updated && panel != null) panel.repaint();
+        });
+        timer.start();
+        return timer;
+    }
+
+    /**
+     * Mapea un valor numérico a un color RGB empaquetado (gradiente
+     * azul->cyan->green->yellow->red), interpolando entre las paradas de {@link #STOPS}.
+     */
+    private static int valueToRGB(double v, double vmin, double span) {
+        if (!Double.isFinite(v)) return 0x000000;
+        double t = (v - vmin) / span;
         t = Math.max(0.0, Math.min(1.0, t));
-        // usar una rampa suave: azul(0) -> cyan -> green -> yellow -> red(1)
-        Color c;
+        int s;
+        double u;
         if (t < 0.25) {
-            double u = t / 0.25;
-            c = lerpColor(new Color(0, 0, 128), new Color(0, 128, 255), u);
+            s = 0; u = t / 0.25;
         } else if (t < 0.5) {
-            double u = (t - 0.25) / 0.25;
-            c = lerpColor(new Color(0, 128, 255), new Color(0, 255, 128), u);
+            s = 1; u = (t - 0.25) / 0.25;
         } else if (t < 0.75) {
-            double u = (t - 0.5) / 0.25;
-            c = lerpColor(new Color(0, 255, 128), new Color(255, 255, 0), u);
+            s = 2; u = (t - 0.5) / 0.25;
         } else {
-            double u = (t - 0.75) / 0.25;
-            c = lerpColor(new Color(255, 255, 0), new Color(200, 0, 0), u);
+            s = 3; u = (t - 0.75) / 0.25;
         }
-        return c.getRGB();
+        int a = STOPS[s], b = STOPS[s + 1];
+        int r = lerp(a >> 16, b >> 16, u);
+        int g = lerp((a >> 8) & 0xFF, (b >> 8) & 0xFF, u);
+        int bl = lerp(a & 0xFF, b & 0xFF, u);
+        return (r << 16) | (g << 8) | bl;
     }
 
-    private Color lerpColor(Color a, Color b, double t) {
-        int r = (int) (a.getRed() + t * (b.getRed() - a.getRed()));
-        int g = (int) (a.getGreen() + t * (b.getGreen() - a.getGreen()));
-        int bl = (int) (a.getBlue() + t * (b.getBlue() - a.getBlue()));
-        return new Color(clamp(r,0,255), clamp(g,0,255), clamp(bl,0,255));
+    private static int lerp(int a, int b, double t) {
+        return clamp((int) (a + t * (b - a)), 0, 255);
     }
 
-    private int clamp(int v, int lo, int hi) {
+    private static int clamp(int v, int lo, int hi) {
         if (v < lo) return lo;
         if (v > hi) return hi;
         return v;
@@ -161,115 +548,17 @@ public class FunctionPlotter {
         JFrame frame = new JFrame(title == null ? "Function Plot" : title);
         JPanel panel = new JPanel() {
             @Override
-            protected void paintComponent(Graphics gg) {
-                super.paintComponent(gg);
-                Graphics g = gg.create();
-                int w = getWidth();
-                int h = getHeight();
-                // Area donde se pinta la imagen (dejando márgenes para etiquetas)
-                int ix = leftMargin;
-                int iy = topMargin;
-                int iw = Math.max(10, w - leftMargin - rightMargin);
-                int ih = Math.max(10, h - topMargin - bottomMargin);
-                // Dibujar fondo blanco
-                g.setColor(Color.WHITE);
-                g.fillRect(0, 0, w, h);
-                // Dibujar la imagen escalada al interior
-                if (image != null) {
-                    g.drawImage(image, ix, iy, iw, ih, null);
-                }
-
-                // Dibujar rejilla y ejes
-                g.setColor(new Color(0,0,0,180));
-                // Ejes en coordenadas: si 0 está en dominio, colocarlos en la posición correcta
-                double tx0 = (0 - xMin) / (xMax - xMin);
-                double ty0 = (yMax - 0) / (yMax - yMin);
-                int axisX = (xMin <= 0 && 0 <= xMax) ? ix + (int)Math.round(tx0 * (iw - 1)) : ix;
-                int axisY = (yMin <= 0 && 0 <= yMax) ? iy + (int)Math.round(ty0 * (ih - 1)) : iy + ih - 1;
-                g.drawLine(axisX, iy, axisX, iy + ih - 1);
-                g.drawLine(ix, axisY, ix + iw - 1, axisY);
-
-                // Grid
-                g.setColor(new Color(0,0,0,60));
-                int ticks = 8;
-                for (int t = 0; t <= ticks; t++) {
-                    int xi = ix + (int) Math.round((double) t / ticks * (iw - 1));
-                    g.drawLine(xi, iy, xi, iy + ih - 1);
-                }
-                for (int t = 0; t <= ticks; t++) {
-                    int yj = iy + (int) Math.round((double) t / ticks * (ih - 1));
-                    g.drawLine(ix, yj, ix + iw - 1, yj);
-                }
-
-                // Ticks y etiquetas (más margen para etiquetas X)
-                g.setColor(Color.BLACK);
-                int labelTicks = 5;
-                for (int t = 0; t <= labelTicks; t++) {
-                    double tx = (double) t / labelTicks;
-                    int xi = ix + (int) Math.round(tx * (iw - 1));
-                    double xv = xMin + tx * (xMax - xMin);
-                    g.drawLine(xi, axisY - 4, xi, axisY + 4);
-                    String label = String.format("%.2f", xv);
-                    // Centrar etiqueta
-                    int strW = g.getFontMetrics().stringWidth(label);
-                    g.drawString(label, xi - strW/2, iy + ih + 20);
-                }
-                for (int t = 0; t <= labelTicks; t++) {
-                    double ty = (double) t / labelTicks;
-                    int yj = iy + (int) Math.round(ty * (ih - 1));
-                    double yv = yMax - ty * (yMax - yMin);
-                    g.drawLine(axisX - 4, yj, axisX + 4, yj);
-                    String label = String.format("%.2f", yv);
-                    g.drawString(label, 2, yj + 4);
-                }
-
-                // Dibujar mínimo en coordenadas escala internas
-                if (minI >= 0 && minJ >= 0) {
-                    double minX = xMin + (double) minI * (xMax - xMin) / (width - 1);
-                    double minY = yMax - (double) minJ * (yMax - yMin) / (height - 1);
-                    int px = ix + (int) Math.round((minX - xMin) / (xMax - xMin) * (iw - 1));
-                    int py = iy + (int) Math.round((yMax - minY) / (yMax - yMin) * (ih - 1));
-                    g.setColor(Color.WHITE);
-                    int r = Math.max(4, Math.min(iw, ih) / 100);
-                    g.fillOval(px - r, py - r, 2*r, 2*r);
-                    g.setColor(Color.RED);
-                    g.drawOval(px - r, py - r, 2*r, 2*r);
-                    String info = String.format("min: (%.3f, %.3f)=%.4f", minX, minY, vmin);
-                    g.setColor(Color.BLACK);
-                    g.drawString(info, Math.min(ix + iw - 4 - g.getFontMetrics().stringWidth(info), px + r + 4), Math.max(12, py - r - 4));
-                }
-
-                // Dibujar partículas overlay
-                synchronized (FunctionPlotter.this) {
-                    if (overlayParticles != null) {
-                        for (Particle p : overlayParticles) {
-                            double px = (p.x() - xMin) / (xMax - xMin);
-                            double py = (yMax - p.y()) / (yMax - yMin);
-                            int xi = ix + (int)Math.round(px * (iw - 1));
-                            int yj = iy + (int)Math.round(py * (ih - 1));
-                            g.setColor(new Color(0,0,0,180));
-                            g.fillOval(xi-3, yj-3, 6, 6);
-                        }
-                    }
-                    if (overlayGlobalBest != null) {
-                        double px = (overlayGlobalBest.x() - xMin) / (xMax - xMin);
-                        double py = (yMax - overlayGlobalBest.y()) / (yMax - yMin);
-                        int xi = ix + (int)Math.round(px * (iw - 1));
-                        int yj = iy + (int)Math.round(py * (ih - 1));
-                        g.setColor(Color.MAGENTA);
-                        int r = 6;
-                        g.fillOval(xi-r, yj-r, 2*r, 2*r);
-                    }
-                }
-
-                g.dispose();
+            protected void paintComponent(Graphics g) {
+                // El fondo solo se reconstruye si cambia el tamaño o el mapa de calor
+                g.drawImage(screen.compose(null, getWidth(), getHeight()), 0, 0, null);
             }
 
             @Override
             public Dimension getPreferredSize() {
-                return new Dimension(width + leftMargin + rightMargin, height + topMargin + bottomMargin);
+                return new Dimension(image.getWidth() + leftMargin + rightMargin, image.getHeight() + topMargin + bottomMargin);
             }
         };
+        panel.setOpaque(true);
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         frame.getContentPane().add(panel, BorderLayout.CENTER);
         frame.pack();
@@ -287,114 +576,226 @@ public class FunctionPlotter {
         javax.swing.SwingUtilities.invokeLater(() -> panel.repaint());
     }
 
-    /** Genera una imagen completa (mapa de calor + ejes + rejilla + overlays) */
-    private BufferedImage renderFullImage() {
+    /**
+     * Compone un frame completo (mapa de calor, ejes, rejilla, mínimo y partículas) del
+     * tamaño dado, por el mismo camino que la ventana. La imagen devuelta se reutiliza en
+     * la siguiente llamada: hay que copiarla si se quiere conservar.
+     *
+     * @param w ancho en píxeles
+     * @param h alto en píxeles
+     */
+    public BufferedImage renderFrame(int w, int h) {
+        return renderFrame(null, w, h);
+    }
+
+    /**
+     * Como {@link #renderFrame(int, int)}, pero dibuja las partículas de {@code swarm} en
+     * lugar de las de la overlay (por ejemplo frames guardados para una animación).
+     *
+     * @param swarm partículas a dibujar (null = la overlay actual)
+     * @param w ancho en píxeles
+     * @param h alto en píxeles
+     */
+    public BufferedImage renderFrame(SwarmView swarm, int w, int h) {
+        if (image == null) render();
+        synchronized (export) {
+            return export.compose(swarm, w, h);
+        }
+    }
+
+    /** Compone un frame del tamaño de {@code into} y copia sus píxeles (TYPE_INT_RGB) en ella. */
+    void renderFrame(SwarmView swarm, BufferedImage into) {
         if (image == null) render();
-        int outW = width + leftMargin + rightMargin;
-        int outH = height + topMargin + bottomMargin;
-        BufferedImage outImg = new BufferedImage(outW, outH, BufferedImage.TYPE_INT_RGB);
-        Graphics g0 = outImg.getGraphics();
-        // Reproducir la lógica de paintComponent en show()
-        // Dibujar fondo blanco
-        g0.setColor(Color.WHITE);
-        g0.fillRect(0, 0, outW, outH);
+        synchronized (export) {
+            BufferedImage frame = export.compose(swarm, into.getWidth(), into.getHeight());
+            int[] src = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+            int[] dst = ((DataBufferInt) into.getRaster().getDataBuffer()).getData();
+            System.arraycopy(src, 0, dst, 0, dst.length);
+        }
+    }
+
+    /**
+     * Capa de fondo en caché más buffer del frame. El fondo (mapa de calor escalado,
+     * ejes, rejilla, etiquetas y mínimo) se dibuja con Java2D solo cuando cambia el tamaño
+     * o la versión del mapa de calor; en cada frame se copia al buffer del frame y las
+     * partículas se estampan directamente en su {@code int[]}, mezclando el negro
+     * semitransparente en aritmética entera.
+     */
+    private final class Compositor {
+        private BufferedImage background, composed;
+        private int[] backgroundPixels, composedPixels;
+        private int version = -1;
+
+        BufferedImage compose(SwarmView swarm, int w, int h) {
+            w = Math.max(1, w);
+            h = Math.max(1, h);
+            int current = backgroundVersion.get();
+            if (background == null || background.getWidth() != w || background.getHeight() != h) {
+                background = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+                composed = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+                backgroundPixels = ((DataBufferInt) background.getRaster().getDataBuffer()).getData();
+                composedPixels = ((DataBufferInt) composed.getRaster().getDataBuffer()).getData();
+                version = -1;
+            }
+            if (version != current) {
+                Graphics g = background.getGraphics();
+                drawBackground(g, w, h);
+                g.dispose();
+                version = current;
+            }
+            System.arraycopy(backgroundPixels, 0, composedPixels, 0, composedPixels.length);
+            if (swarm != null) {
+                drawParticles(swarm, composedPixels, w, h);
+            } else {
+                synchronized (FunctionPlotter.this) {
+                    drawParticles(overlay, composedPixels, w, h);
+                }
+            }
+            return composed;
+        }
+    }
+
+    /** Dibuja la parte estática: fondo blanco, mapa de calor escalado, ejes, rejilla, etiquetas y mínimo. */
+    private void drawBackground(Graphics g, int w, int h) {
+        // Area donde se pinta la imagen (dejando márgenes para etiquetas)
         int ix = leftMargin;
         int iy = topMargin;
-        int iw = Math.max(10, outW - leftMargin - rightMargin);
-        int ih = Math.max(10, outH - topMargin - bottomMargin);
-        // Dibujar la imagen escalada
-        g0.drawImage(image, ix, iy, iw, ih, null);
+        int iw = Math.max(10, w - leftMargin - rightMargin);
+        int ih = Math.max(10, h - topMargin - bottomMargin);
+        // Dibujar fondo blanco
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, w, h);
+        // Dibujar la imagen escalada al interior
+        if (image != null) {
+            g.drawImage(image, ix, iy, iw, ih, null);
+        }
 
         // Dibujar rejilla y ejes
-        g0.setColor(new Color(0,0,0,180));
+        g.setColor(AXIS_COLOR);
+        // Ejes en coordenadas: si 0 está en dominio, colocarlos en la posición correcta
         double tx0 = (0 - xMin) / (xMax - xMin);
         double ty0 = (yMax - 0) / (yMax - yMin);
         int axisX = (xMin <= 0 && 0 <= xMax) ? ix + (int)Math.round(tx0 * (iw - 1)) : ix;
         int axisY = (yMin <= 0 && 0 <= yMax) ? iy + (int)Math.round(ty0 * (ih - 1)) : iy + ih - 1;
-        g0.drawLine(axisX, iy, axisX, iy + ih - 1);
-        g0.drawLine(ix, axisY, ix + iw - 1, axisY);
+        g.drawLine(axisX, iy, axisX, iy + ih - 1);
+        g.drawLine(ix, axisY, ix + iw - 1, axisY);
 
-        g0.setColor(new Color(0,0,0,60));
+        // Grid
+        g.setColor(GRID_COLOR);
         int ticks = 8;
         for (int t = 0; t <= ticks; t++) {
             int xi = ix + (int) Math.round((double) t / ticks * (iw - 1));
-            g0.drawLine(xi, iy, xi, iy + ih - 1);
+            g.drawLine(xi, iy, xi, iy + ih - 1);
         }
         for (int t = 0; t <= ticks; t++) {
             int yj = iy + (int) Math.round((double) t / ticks * (ih - 1));
-            g0.drawLine(ix, yj, ix + iw - 1, yj);
+            g.drawLine(ix, yj, ix + iw - 1, yj);
         }
 
-        // Ticks y etiquetas
-        g0.setColor(Color.BLACK);
+        // Ticks y etiquetas (más margen para etiquetas X)
+        g.setColor(Color.BLACK);
         int labelTicks = 5;
         for (int t = 0; t <= labelTicks; t++) {
             double tx = (double) t / labelTicks;
             int xi = ix + (int) Math.round(tx * (iw - 1));
             double xv = xMin + tx * (xMax - xMin);
-            g0.drawLine(xi, axisY - 4, xi, axisY + 4);
+            g.drawLine(xi, axisY - 4, xi, axisY + 4);
             String label = String.format("%.2f", xv);
-            int strW = g0.getFontMetrics().stringWidth(label);
-            g0.drawString(label, xi - strW/2, iy + ih + 20);
+            // Centrar etiqueta
+            int strW = g.getFontMetrics().stringWidth(label);
+            g.drawString(label, xi - strW/2, iy + ih + 20);
         }
         for (int t = 0; t <= labelTicks; t++) {
             double ty = (double) t / labelTicks;
             int yj = iy + (int) Math.round(ty * (ih - 1));
             double yv = yMax - ty * (yMax - yMin);
-            g0.drawLine(axisX - 4, yj, axisX + 4, yj);
+            g.drawLine(axisX - 4, yj, axisX + 4, yj);
             String label = String.format("%.2f", yv);
-            g0.drawString(label, 2, yj + 4);
+            g.drawString(label, 2, yj + 4);
         }
 
-        // Dibujar mínimo
+        // Dibujar mínimo en coordenadas escala internas
         if (minI >= 0 && minJ >= 0) {
             double minX = xMin + (double) minI * (xMax - xMin) / (width - 1);
             double minY = yMax - (double) minJ * (yMax - yMin) / (height - 1);
             int px = ix + (int) Math.round((minX - xMin) / (xMax - xMin) * (iw - 1));
             int py = iy + (int) Math.round((yMax - minY) / (yMax - yMin) * (ih - 1));
-            g0.setColor(Color.WHITE);
+            g.setColor(Color.WHITE);
             int r = Math.max(4, Math.min(iw, ih) / 100);
-            g0.fillOval(px - r, py - r, 2*r, 2*r);
-            g0.setColor(Color.RED);
-            g0.drawOval(px - r, py - r, 2*r, 2*r);
+            g.fillOval(px - r, py - r, 2*r, 2*r);
+            g.setColor(Color.RED);
+            g.drawOval(px - r, py - r, 2*r, 2*r);
             String info = String.format("min: (%.3f, %.3f)=%.4f", minX, minY, vmin);
-            g0.setColor(Color.BLACK);
-            int infoX = Math.min(ix + iw - 4 - g0.getFontMetrics().stringWidth(info), px + r + 4);
-            int infoY = Math.max(12, py - r - 4);
-            g0.drawString(info, infoX, infoY);
+            g.setColor(Color.BLACK);
+            g.drawString(info, Math.min(ix + iw - 4 - g.getFontMetrics().stringWidth(info), px + r + 4), Math.max(12, py - r - 4));
         }
+    }
 
-        // Dibujar overlays de partículas
-        synchronized (this) {
-            if (overlayParticles != null) {
-                for (Particle p : overlayParticles) {
-                    double px = (p.x() - xMin) / (xMax - xMin);
-                    double py = (yMax - p.y()) / (yMax - yMin);
-                    int xi = ix + (int)Math.round(px * (iw - 1));
-                    int yj = iy + (int)Math.round(py * (ih - 1));
-                    g0.setColor(new Color(0,0,0,180));
-                    g0.fillOval(xi-3, yj-3, 6, 6);
-                }
+    /** Estampa las partículas y el mejor global de la vista en los píxeles del frame. */
+    private void drawParticles(SwarmView swarm, int[] pixels, int w, int h) {
+        int ix = leftMargin;
+        int iy = topMargin;
+        int iw = Math.max(10, w - leftMargin - rightMargin);
+        int ih = Math.max(10, h - topMargin - bottomMargin);
+        for (int k = 0; k < swarm.size(); k++) {
+            int xi = ix + (int) Math.round((swarm.x(k) - xMin) / (xMax - xMin) * (iw - 1));
+            int yj = iy + (int) Math.round((yMax - swarm.y(k)) / (yMax - yMin) * (ih - 1));
+            if (xi < -3 || yj < -3 || xi > w + 3 || yj > h + 3) continue;
+            for (int m = 0; m < PARTICLE_MASK.length; m += 2) {
+                int px = xi + PARTICLE_MASK[m], py = yj + PARTICLE_MASK[m + 1];
+                if (px < 0 || py < 0 || px >= w || py >= h) continue;
+                int c = pixels[py * w + px];
+                // Negro con alfa 180 sobre el fondo: cada canal se multiplica por (255-180)/255
+                int r = (((c >> 16) & 0xFF) * (255 - PARTICLE_ALPHA) + 127) / 255;
+                int gr = (((c >> 8) & 0xFF) * (255 - PARTICLE_ALPHA) + 127) / 255;
+                int b = ((c & 0xFF) * (255 - PARTICLE_ALPHA) + 127) / 255;
+                pixels[py * w + px] = (r << 16) | (gr << 8) | b;
             }
-            if (overlayGlobalBest != null) {
-                double px = (overlayGlobalBest.x() - xMin) / (xMax - xMin);
-                double py = (yMax - overlayGlobalBest.y()) / (yMax - yMin);
-                int xi = ix + (int)Math.round(px * (iw - 1));
-                int yj = iy + (int)Math.round(py * (ih - 1));
-                g0.setColor(Color.MAGENTA);
-                int r = 6;
-                g0.fillOval(xi-r, yj-r, 2*r, 2*r);
+        }
+        if (!Double.isNaN(swarm.bestX())) {
+            int xi = ix + (int) Math.round((swarm.bestX() - xMin) / (xMax - xMin) * (iw - 1));
+            int yj = iy + (int) Math.round((yMax - swarm.bestY()) / (yMax - yMin) * (ih - 1));
+            for (int m = 0; m < BEST_MASK.length; m += 2) {
+                int px = xi + BEST_MASK[m], py = yj + BEST_MASK[m + 1];
+                if (px >= 0 && py >= 0 && px < w && py < h) pixels[py * w + px] = BEST_RGB;
             }
         }
+    }
 
-        g0.dispose();
-        return outImg;
+    /**
+     * Desplazamientos (dx, dy) de los píxeles que pinta {@code fillOval(-r, -r, 2r, 2r)}.
+     * Java2D rellena de forma algo distinta con colores opacos y translúcidos, así que la
+     * máscara se obtiene con el mismo color con que se pintaba.
+     */
+    private static int[] ovalMask(int r, Color color) {
+        // Lienzo con margen: el óvalo dibujado pegado al borde perdería píxeles
+        int c = 2 * r;
+        BufferedImage sprite = new BufferedImage(2 * c + 1, 2 * c + 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics g = sprite.getGraphics();
+        g.setColor(color);
+        g.fillOval(c - r, c - r, 2 * r, 2 * r);
+        g.dispose();
+        int[] mask = new int[2 * sprite.getWidth() * sprite.getHeight()];
+        int n = 0;
+        for (int y = 0; y < sprite.getHeight(); y++) {
+            for (int x = 0; x < sprite.getWidth(); x++) {
+                if ((sprite.getRGB(x, y) >>> 24) != 0) {
+                    mask[n++] = x - c;
+                    mask[n++] = y - c;
+                }
+            }
+        }
+        return Arrays.copyOf(mask, n);
     }
 
     /** Guarda la imagen renderizada como PNG en el fichero dado. */
     public void savePNG(File outFile) throws IOException {
-        BufferedImage outImg = renderFullImage();
-        ImageIO.write(outImg, "png", outFile);
+        synchronized (export) {
+            if (image == null) render();
+            BufferedImage outImg = renderFrame(image.getWidth() + leftMargin + rightMargin,
+                    image.getHeight() + topMargin + bottomMargin);
+            ImageIO.write(outImg, "png", outFile);
+        }
     }
 
     /** Devuelve el buffered image renderizado (null si no se ha renderizado). */
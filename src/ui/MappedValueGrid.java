@@ -0,0 +1,175 @@
+package ui;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Rejilla de valores de {@link FunctionPlotter} fuera del heap, en un fichero proyectado
+ * en memoria.
+ * <p>
+ * A resoluciones muy grandes (20 000 × 20 000 son 3,2 GB en {@code double}) la rejilla
+ * no cabe en el heap. Aquí los valores se guardan por filas en un fichero, en
+ * {@code float} (4 bytes, unos 7 dígitos significativos, suficiente para colorear) o en
+ * {@code double}, y el sistema operativo decide qué páginas están en RAM. Como un
+ * {@link MappedByteBuffer} no puede pasar de 2 GiB, el fichero se proyecta en varios
+ * tramos de filas completas.
+ * </p>
+ * <p>
+ * El fichero no tiene cabecera: es un almacén temporal, en little-endian, que se
+ * sobrescribe al crearlo. Distintos hilos pueden leer y escribir filas distintas a la
+ * vez. Java 17 no permite liberar una proyección explícitamente: tras {@link #close()}
+ * la memoria se libera cuando el recolector reclama los buffers.
+ * </p>
+ */
+public final class MappedValueGrid implements AutoCloseable {
+
+    /** Precisión con que se guarda cada valor. */
+    public enum Precision {
+        FLOAT32(Float.BYTES),
+        FLOAT64(Double.BYTES);
+
+        final int bytes;
+
+        Precision(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    // Tamaño máximo de cada tramo proyectado
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final Path file;
+    private final boolean deleteOnClose;
+    private final int width, height;
+    private final Precision precision;
+    private final long rowBytes;
+    private final int rowsPerChunk;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Crea (o sobrescribe) la rejilla en el fichero dado.
+     *
+     * @param file fichero de respaldo
+     * @param width columnas
+     * @param height filas
+     * @param precision precisión de los valores
+     * @throws IOException si no se puede crear o proyectar el fichero
+     */
+    public MappedValueGrid(Path file, int width, int height, Precision precision) throws IOException {
+        this(file, width, height, precision, false);
+    }
+
+    private MappedValueGrid(Path file, int width, int height, Precision precision, boolean deleteOnClose)
+            throws IOException {
+        if (width < 1 || height < 1) throw new IllegalArgumentException("La rejilla debe tener al menos una celda");
+        this.file = file;
+        this.deleteOnClose = deleteOnClose;
+        this.width = width;
+        this.height = height;
+        this.precision = precision;
+        this.rowBytes = (long) width * precision.bytes;
+        if (rowBytes > MAX_CHUNK_BYTES) throw new IllegalArgumentException("Fila demasiado larga: " + width);
+        this.rowsPerChunk = (int) Math.min(height, MAX_CHUNK_BYTES / rowBytes);
+
+        Set<StandardOpenOption> options = EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.channel = FileChannel.open(file, options);
+        try {
+            int count = (height + rowsPerChunk - 1) / rowsPerChunk;
+            chunks = new MappedByteBuffer[count];
+            for (int c = 0; c < count; c++) {
+                int rows = Math.min(rowsPerChunk, height - c * rowsPerChunk);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, c * rowsPerChunk * rowBytes, rows * rowBytes);
+                chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Rejilla en un fichero temporal que se borra al cerrarla.
+     *
+     * @param width columnas
+     * @param height filas
+     * @param precision precisión de los valores
+     * @throws IOException si no se puede crear o proyectar el fichero
+     */
+    public static MappedValueGrid createTemp(int width, int height, Precision precision) throws IOException {
+        Path file = Files.createTempFile("pso-grid", ".bin");
+        try {
+            return new MappedValueGrid(file, width, height, precision, true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public int width() { return width; }
+    public int height() { return height; }
+    public Precision precision() { return precision; }
+
+    /** Tamaño del fichero en bytes. */
+    public long sizeBytes() {
+        return rowBytes * height;
+    }
+
+    /** Valor de la celda (i, j). */
+    public double get(int i, int j) {
+        MappedByteBuffer chunk = chunks[j / rowsPerChunk];
+        int index = (int) ((j % rowsPerChunk) * rowBytes) + i * precision.bytes;
+        return precision == Precision.FLOAT32 ? chunk.getFloat(index) : chunk.getDouble(index);
+    }
+
+    /**
+     * Copia la fila {@code j} en {@code dst}.
+     *
+     * @param j fila
+     * @param dst destino, con al menos {@code width()} posiciones
+     */
+    public void readRow(int j, double[] dst) {
+        MappedByteBuffer chunk = chunks[j / rowsPerChunk];
+        int base = (int) ((j % rowsPerChunk) * rowBytes);
+        if (precision == Precision.FLOAT32) {
+            for (int i = 0; i < width; i++) dst[i] = chunk.getFloat(base + i * Float.BYTES);
+        } else {
+            for (int i = 0; i < width; i++) dst[i] = chunk.getDouble(base + i * Double.BYTES);
+        }
+    }
+
+    /**
+     * Guarda {@code src} como fila {@code j} (en {@code float}, si es la precisión elegida).
+     *
+     * @param j fila
+     * @param src valores, con al menos {@code width()} posiciones
+     */
+    public void writeRow(int j, double[] src) {
+        MappedByteBuffer chunk = chunks[j / rowsPerChunk];
+        int base = (int) ((j % rowsPerChunk) * rowBytes);
+        if (precision == Precision.FLOAT32) {
+            for (int i = 0; i < width; i++) chunk.putFloat(base + i * Float.BYTES, (float) src[i]);
+        } else {
+            for (int i = 0; i < width; i++) chunk.putDouble(base + i * Double.BYTES, src[i]);
+        }
+    }
+
+    /** Escribe en disco las páginas modificadas. */
+    public void force() {
+        for (MappedByteBuffer chunk : chunks) chunk.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        if (deleteOnClose) Files.deleteIfExists(file);
+    }
+}
@@ -16,9 +16,10 @@ public class PlotDemo {
         int width = 800, height = 600;
 
         FunctionPlotter plotter = new FunctionPlotter(f, xMin, xMax, yMin, yMax, width, height);
-        plotter.render();
 
         try {
+            // Las teselas ya calculadas en ejecuciones anteriores se leen de la caché en disco
+            plotter.renderProgressive(TileCache.openDefault(), problem.getClass().getName()).join();
             File out = new File("function_plot.png");
             plotter.savePNG(out);
             System.out.println("Saved PNG: " + out.getAbsolutePath());
@@ -0,0 +1,142 @@
+package ui;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Codificador PNG (RGB, 8 bits) que recibe la imagen fila a fila y la comprime según
+ * llega, sin tenerla entera en memoria. {@link javax.imageio.ImageIO} necesita una
+ * {@code RenderedImage} completa; aquí solo se guarda la fila actual.
+ * Cada fila se codifica con el filtro PNG "Sub", que en los degradados del mapa de
+ * calor deja muchos ceros y comprime bien.
+ */
+final class PngStripWriter implements Closeable {
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final DataOutputStream out;
+    private final int width, height;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final IdatStream chunks = new IdatStream();
+    private final DeflaterOutputStream idat;
+    private final byte[] row;
+    private int rows;
+
+    /**
+     * @param file fichero PNG de salida (se sobrescribe)
+     * @param width ancho en píxeles
+     * @param height alto en píxeles
+     * @throws IOException si no se puede crear el fichero
+     */
+    PngStripWriter(Path file, int width, int height) throws IOException {
+        this.width = width;
+        this.height = height;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), CHUNK_BYTES));
+        this.row = new byte[1 + 3 * width];
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bits por canal
+        header[9] = 2; // color RGB
+        chunk("IHDR", header, header.length);
+        idat = new DeflaterOutputStream(chunks, deflater, CHUNK_BYTES);
+    }
+
+    /**
+     * Añade la siguiente fila.
+     *
+     * @param rgb píxeles RGB empaquetados ({@code 0xRRGGBB}), al menos {@code width}
+     */
+    void writeRow(int[] rgb) throws IOException {
+        if (rows == height) throw new IllegalStateException("La imagen ya tiene " + height + " filas");
+        row[0] = 1; // filtro Sub: cada byte menos el del píxel anterior
+        int pr = 0, pg = 0, pb = 0;
+        for (int i = 0, k = 1; i < width; i++, k += 3) {
+            int c = rgb[i];
+            int r = (c >> 16) & 0xFF, g = (c >> 8) & 0xFF, b = c & 0xFF;
+            row[k] = (byte) (r - pr);
+            row[k + 1] = (byte) (g - pg);
+            row[k + 2] = (byte) (b - pb);
+            pr = r; pg = g; pb = b;
+        }
+        idat.write(row);
+        rows++;
+    }
+
+    /** Termina la compresión y escribe el final del fichero. */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows != height) throw new IOException("PNG incompleto: " + rows + " de " + height + " filas");
+            idat.finish();
+            chunks.flush();
+            chunk("IEND", new byte[0], 0);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void chunk(String type, byte[] data, int length) throws IOException {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(name);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] b, int at, int v) {
+        b[at] = (byte) (v >>> 24);
+        b[at + 1] = (byte) (v >>> 16);
+        b[at + 2] = (byte) (v >>> 8);
+        b[at + 3] = (byte) v;
+    }
+
+    /** Agrupa la salida comprimida en bloques IDAT de hasta 64 KiB. */
+    private final class IdatStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_BYTES];
+        private int size;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (size == buffer.length) flushChunk();
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (size == buffer.length) flushChunk();
+                int n = Math.min(len, buffer.length - size);
+                System.arraycopy(b, off, buffer, size, n);
+                size += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushChunk();
+        }
+
+        private void flushChunk() throws IOException {
+            if (size == 0) return;
+            chunk("IDAT", buffer, size);
+            size = 0;
+        }
+    }
+}
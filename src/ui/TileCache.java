@@ -0,0 +1,211 @@
+package ui;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Caché persistente en disco de teselas de valores de {@link FunctionPlotter}.
+ * <p>
+ * Cada tesela se guarda en su propio fichero, cuyo nombre es un hash de la clave
+ * (identidad y huella de la función, dominio, resolución y posición de la tesela). El formato
+ * es binario y compacto: la cabecera {@code PSOT}, la versión, la clave completa (para
+ * detectar colisiones del hash), el número de valores y los valores {@code double} en
+ * bruto, de modo que una imagen leída de la caché es idéntica a una recalculada.
+ * </p>
+ * <p>
+ * El tamaño total está acotado: al superar {@code maxBytes} se borran las teselas usadas
+ * hace más tiempo (la fecha de modificación se actualiza en cada lectura) hasta quedar
+ * por debajo del 90 % del límite. Los ficheros se escriben en uno temporal y se renombran,
+ * así que una escritura interrumpida nunca deja una tesela a medias.
+ * </p>
+ */
+public class TileCache {
+    private static final int MAGIC = 0x50534F54; // "PSOT"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".tile";
+
+    private final Path directory;
+    private final long maxBytes;
+    private long totalBytes;
+    private long hits, misses;
+
+    /**
+     * Abre (o crea) la caché en el directorio dado.
+     *
+     * @param directory directorio de la caché
+     * @param maxBytes tamaño máximo en disco, en bytes
+     * @throws IOException si no se puede crear o recorrer el directorio
+     */
+    public TileCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        for (Path file : tiles()) {
+            totalBytes += Files.size(file);
+        }
+    }
+
+    /** Caché por defecto en el directorio temporal del sistema, con un límite de 256 MiB. */
+    public static TileCache openDefault() throws IOException {
+        return new TileCache(Path.of(System.getProperty("java.io.tmpdir"), "pso-tile-cache"), 256L << 20);
+    }
+
+    /**
+     * Devuelve los valores de una tesela, o null si no está en la caché.
+     *
+     * @param key clave de la tesela
+     * @param length número de valores esperado
+     */
+    public double[] get(String key, int length) {
+        Path file = fileFor(key);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            miss();
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+                miss();
+                return null;
+            }
+            byte[] storedKey = new byte[in.getShort() & 0xFFFF];
+            in.get(storedKey);
+            int n = in.getInt();
+            if (n != length || !key.equals(new String(storedKey, StandardCharsets.UTF_8))
+                    || in.remaining() != n * Double.BYTES) {
+                miss();
+                return null;
+            }
+            double[] values = new double[n];
+            in.asDoubleBuffer().get(values);
+            synchronized (this) {
+                hits++;
+            }
+            return values;
+        } catch (RuntimeException e) {
+            miss(); // fichero truncado o corrupto: se recalcula
+            return null;
+        }
+    }
+
+    /**
+     * Guarda los valores de una tesela. Los errores de escritura se ignoran: la caché
+     * solo acelera, nunca es necesaria.
+     */
+    public void put(String key, double[] values) {
+        Path file = fileFor(key);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long size = 4 + 2 + 2 + keyBytes.length + 4 + (long) values.length * Double.BYTES;
+        try {
+            long previous = Files.exists(file) ? Files.size(file) : 0;
+            ByteBuffer out = ByteBuffer.allocate((int) size);
+            out.putInt(MAGIC).putShort((short) VERSION).putShort((short) keyBytes.length).put(keyBytes)
+                    .putInt(values.length);
+            out.asDoubleBuffer().put(values);
+            Path tmp = Files.createTempFile(directory, "tile", ".tmp");
+            try {
+                Files.write(tmp, out.array());
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    // Sin renombrado atómico un lector puede ver el fichero a medias; get lo trata como corrupto
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                // Si el movimiento falló, el temporal no debe quedar fuera de la contabilidad
+                Files.deleteIfExists(tmp);
+            }
+            synchronized (this) {
+                totalBytes += size - previous;
+                if (totalBytes > maxBytes) evict();
+            }
+        } catch (IOException e) {
+            // sin caché para esta tesela
+        }
+    }
+
+    /** Lecturas servidas por la caché. */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /** Lecturas que no encontraron la tesela. */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /** Bytes ocupados en disco. */
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    /** Borra todas las teselas. */
+    public synchronized void clear() throws IOException {
+        for (Path file : tiles()) {
+            Files.deleteIfExists(file);
+        }
+        totalBytes = 0;
+    }
+
+    private synchronized void miss() {
+        misses++;
+    }
+
+    /** Borra las teselas usadas hace más tiempo hasta bajar al 90 % del límite. */
+    private void evict() throws IOException {
+        record Entry(Path file, long modified, long size) { }
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : tiles()) {
+            try {
+                entries.add(new Entry(file, Files.getLastModifiedTime(file).toMillis(), Files.size(file)));
+            } catch (IOException e) {
+                // borrada entretanto
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::modified));
+        long total = 0;
+        for (Entry e : entries) total += e.size();
+        long limit = maxBytes / 10 * 9;
+        for (Entry e : entries) {
+            if (total <= limit) break;
+            Files.deleteIfExists(e.file());
+            total -= e.size();
+        }
+        totalBytes = total;
+    }
+
+    private List<Path> tiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : dir) files.add(file);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return files;
+    }
+
+    private Path fileFor(String key) {
+        // Hash de 64 bits de la clave (FNV-1a); la clave completa va en la cabecera
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return directory.resolve(String.format("%016x", h) + SUFFIX);
+    }
+}
@@ -0,0 +1,126 @@
+package ui;
+
+import core.TrajectoryFile;
+
+import javax.swing.Timer;
+
+/**
+ * Reproduce una trayectoria grabada ({@link TrajectoryFile}) sobre un
+ * {@link FunctionPlotter}, a cualquier velocidad y con saltos a cualquier frame o
+ * iteración.
+ * <p>
+ * Un temporizador de Swing repinta a 60 Hz como mucho; el frame que toca se calcula a
+ * partir del tiempo transcurrido y de la velocidad, de modo que a más de 60 frames por
+ * segundo se saltan frames en lugar de ir más lento. Cada frame se lee directamente
+ * del fichero proyectado, sin cargar la trayectoria en memoria. Todos los métodos
+ * deben llamarse desde el hilo de Swing.
+ * </p>
+ */
+public class TrajectoryPlayer {
+    private static final int TICK_MILLIS = 16;
+
+    private final TrajectoryFile file;
+    private final TrajectoryFile.Cursor cursor;
+    private final FunctionPlotter plotter;
+    private final Timer timer;
+    private double framesPerSecond = 30;
+    private boolean loop;
+    // Frame (fraccionario) y reloj en el último cambio de velocidad, salto o arranque
+    private double anchorFrame;
+    private long anchorNanos;
+
+    /**
+     * @param file trayectoria que se reproduce
+     * @param plotter visualizador en el que se dibujan las partículas
+     */
+    public TrajectoryPlayer(TrajectoryFile file, FunctionPlotter plotter) {
+        this.file = file;
+        this.cursor = file.cursor();
+        this.plotter = plotter;
+        this.timer = new Timer(TICK_MILLIS, e -> tick());
+    }
+
+    /** Empieza (o continúa) la reproducción desde el frame actual. */
+    public void play() {
+        if (file.frames() == 0 || timer.isRunning()) return;
+        anchorFrame = Math.max(0, cursor.frame());
+        anchorNanos = System.nanoTime();
+        timer.start();
+    }
+
+    /** Detiene la reproducción en el frame actual. */
+    public void pause() {
+        timer.stop();
+    }
+
+    public boolean isPlaying() {
+        return timer.isRunning();
+    }
+
+    /**
+     * Cambia la velocidad de reproducción.
+     *
+     * @param framesPerSecond frames de la trayectoria por segundo (negativo = hacia atrás)
+     */
+    public void setSpeed(double framesPerSecond) {
+        anchorFrame = position();
+        anchorNanos = System.nanoTime();
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /** Volver a empezar al llegar al final (o al principio, si se reproduce hacia atrás). */
+    public void setLoop(boolean loop) {
+        this.loop = loop;
+    }
+
+    /** Salta al frame dado y lo muestra. */
+    public void seek(int frame) {
+        if (file.frames() == 0) return;
+        frame = Math.max(0, Math.min(file.frames() - 1, frame));
+        anchorFrame = frame;
+        anchorNanos = System.nanoTime();
+        show(frame);
+    }
+
+    /** Salta al frame de la iteración dada (o al último anterior a ella) y lo muestra. */
+    public void seekIteration(int iteration) {
+        seek(Math.max(0, file.frameOf(iteration)));
+    }
+
+    /** Avanza (o retrocede) {@code frames} frames y los muestra. */
+    public void step(int frames) {
+        seek(cursor.frame() + frames);
+    }
+
+    /** Frame mostrado actualmente. */
+    public int frame() {
+        return cursor.frame();
+    }
+
+    private double position() {
+        if (!timer.isRunning()) return cursor.frame();
+        return anchorFrame + (System.nanoTime() - anchorNanos) * 1e-9 * framesPerSecond;
+    }
+
+    private void tick() {
+        int last = file.frames() - 1;
+        double position = position();
+        if (position > last || position < 0) {
+            if (!loop) {
+                show(position > last ? last : 0);
+                timer.stop();
+                return;
+            }
+            position = ((position % (last + 1)) + (last + 1)) % (last + 1);
+            anchorFrame = position;
+            anchorNanos = System.nanoTime();
+        }
+        int frame = (int) position;
+        if (frame != cursor.frame()) show(frame);
+    }
+
+    private void show(int frame) {
+        plotter.updateParticles(cursor.seek(frame));
+        plotter.refresh();
+    }
+}
@@ -0,0 +1,69 @@
+package functions;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BatchKernels} con la Vector API: cada iteración evalúa tantos puntos como
+ * carriles tiene el registro vectorial más ancho del procesador (4 con AVX2, 8 con
+ * AVX-512).
+ * <p>
+ * Las operaciones son las mismas y en el mismo orden que en {@code value} de cada
+ * función; solo cambian los senos, cosenos y exponenciales, que la Vector API calcula
+ * con sus propias rutinas vectoriales y el mismo margen de 1 ulp que {@link Math}, así
+ * que el resultado puede diferir del escalar en el último bit. Los puntos que no llenan
+ * un vector se evalúan con el código escalar, de modo que un lote más corto que el
+ * vector da exactamente lo mismo que {@code evaluate(Particle)}.
+ * </p>
+ */
+final class VectorKernels implements BatchKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double TWO_PI = 2 * Math.PI;
+
+    @Override
+    public void function1(double[] xs, double[] ys, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            DoubleVector dx = x.sub(3.14), dy = y.sub(2.72);
+            dx.mul(dx).add(dy.mul(dy))
+                    .add(x.mul(3).add(1.41).lanewise(VectorOperators.SIN))
+                    .add(y.mul(4).sub(1.73).lanewise(VectorOperators.SIN))
+                    .intoArray(out, i);
+        }
+        for (; i < to; i++) out[i] = Function1.value(xs[i], ys[i]);
+    }
+
+    @Override
+    public void function4(double[] xs, double[] ys, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            DoubleVector cx = x.mul(TWO_PI).lanewise(VectorOperators.COS);
+            DoubleVector cy = y.mul(TWO_PI).lanewise(VectorOperators.COS);
+            x.mul(x).sub(cx.mul(10.0)).add(20.0)
+                    .add(y.mul(y).sub(cy.mul(10.0)))
+                    .intoArray(out, i);
+        }
+        for (; i < to; i++) out[i] = Function4.value(xs[i], ys[i]);
+    }
+
+    @Override
+    public void function5(double[] xs, double[] ys, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            DoubleVector sumSq = x.mul(x).add(y.mul(y)).mul(0.5);
+            DoubleVector term1 = sumSq.sqrt().mul(-0.2).lanewise(VectorOperators.EXP).mul(-20.0);
+            DoubleVector cos = x.mul(TWO_PI).lanewise(VectorOperators.COS)
+                    .add(y.mul(TWO_PI).lanewise(VectorOperators.COS));
+            DoubleVector term2 = cos.mul(0.5).lanewise(VectorOperators.EXP).neg();
+            term1.add(term2).add(Math.E).add(20.0).intoArray(out, i);
+        }
+        for (; i < to; i++) out[i] = Function5.value(xs[i], ys[i]);
+    }
+}